@@ -0,0 +1,191 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de los árboles binarios ordenados. Cada operación procesa las n
+ * llaves, así que el tiempo reportado es por lote de n operaciones.
+ *
+ * El árbol ordenado sin balancear degenera en una lista con llaves
+ * ordenadas, y sus métodos son recursivos; por eso los tamaños
+ * predeterminados son moderados.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkArboles {
+
+    /**
+     * Enumeración para los árboles.
+     */
+    public enum Arbol {
+        /** {@link ArbolBinarioOrdenado}. */
+        ORDENADO,
+        /** {@link ArbolRojinegro}. */
+        ROJINEGRO,
+        /** {@link ArbolAVL}. */
+        AVL;
+
+        /* Regresa un árbol vacío del tipo. */
+        ArbolBinarioOrdenado<Integer> nuevo() {
+            switch (this) {
+            case ROJINEGRO: return new ArbolRojinegro<Integer>();
+            case AVL:       return new ArbolAVL<Integer>();
+            default:        return new ArbolBinarioOrdenado<Integer>();
+            }
+        }
+    }
+
+    /* El árbol. */
+    @Param({ "ROJINEGRO", "AVL", "ORDENADO" })
+    Arbol arbol;
+
+    /* Número de llaves. */
+    @Param({ "1000", "10000" })
+    int n;
+
+    /* La distribución de las llaves. */
+    @Param({ "ALEATORIA", "ORDENADA", "SESGADA" })
+    Llaves.Distribucion distribucion;
+
+    /* Las llaves. */
+    private Integer[] llaves;
+    /* Llaves que no están en el árbol. */
+    private Integer[] fallos;
+    /* Árbol con todas las llaves, para las búsquedas y recorridos. */
+    private ArbolBinarioOrdenado<Integer> lleno;
+
+    /**
+     * Genera las llaves y llena el árbol de búsquedas.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        llaves = Llaves.genera(distribucion, n);
+        fallos = Llaves.fallos(n);
+        lleno = llena();
+    }
+
+    /** Estado con el árbol que se vacía en {@link #elimina}. */
+    @State(Scope.Thread)
+    public static class PorVaciar {
+
+        /* El árbol por vaciar. */
+        ArbolBinarioOrdenado<Integer> arbol;
+
+        /**
+         * Llena el árbol antes de cada invocación.
+         * @param benchmark el estado con los elementos.
+         */
+        @Setup(Level.Invocation)
+        public void prepara(BenchmarkArboles benchmark) {
+            arbol = benchmark.llena();
+        }
+    }
+
+    /* Regresa un árbol nuevo con todas las llaves. */
+    private ArbolBinarioOrdenado<Integer> llena() {
+        ArbolBinarioOrdenado<Integer> a = arbol.nuevo();
+        for (Integer llave : llaves)
+            a.agrega(llave);
+        return a;
+    }
+
+    /**
+     * Agrega las n llaves a un árbol vacío.
+     * @return el árbol lleno.
+     */
+    @Benchmark
+    public ArbolBinarioOrdenado<Integer> agrega() {
+        return llena();
+    }
+
+    /**
+     * Busca las n llaves, que están todas en el árbol.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void contieneAcierto(Blackhole bh) {
+        for (Integer llave : llaves)
+            bh.consume(lleno.contiene(llave));
+    }
+
+    /**
+     * Busca n llaves que no están en el árbol.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void contieneFallo(Blackhole bh) {
+        for (Integer llave : fallos)
+            bh.consume(lleno.contiene(llave));
+    }
+
+    /**
+     * Elimina las n llaves del árbol.
+     * @param estado el estado con la estructura por vaciar.
+     * @return el árbol vacío.
+     */
+    @Benchmark
+    public ArbolBinarioOrdenado<Integer> elimina(PorVaciar estado) {
+        for (Integer llave : llaves)
+            estado.arbol.elimina(llave);
+        return estado.arbol;
+    }
+
+    /**
+     * Recorre el árbol in-order con su iterador.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void itera(Blackhole bh) {
+        for (Integer llave : lleno)
+            bh.consume(llave);
+    }
+
+    /**
+     * Obtiene los n elementos por su posición en el orden del árbol.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void seleccion(Blackhole bh) {
+        for (int k = 0; k < n; k++)
+            bh.consume(lleno.seleccion(k));
+    }
+
+    /**
+     * Calcula el rango de las n llaves.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void rango(Blackhole bh) {
+        for (Integer llave : llaves)
+            bh.consume(lleno.rango(llave));
+    }
+
+    /**
+     * Consulta la altura de cada vértice del árbol, como al dibujarlo.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void alturas(Blackhole bh) {
+        lleno.dfsPreOrder(v -> bh.consume(v.altura()));
+    }
+}
@@ -0,0 +1,83 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link Arreglos#ordenaParalelo(Comparable[])} contra {@link
+ * Arreglos#quickSort(Comparable[])}. Cada invocación ordena una copia nueva
+ * de las mismas n llaves aleatorias; la copia cuenta en ambos tiempos. Las
+ * llaves ordenadas no se prueban con QuickSort, porque su recursión desborda
+ * la pila.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkArreglos {
+
+    /* Número de elementos. */
+    @Param({ "100000", "1000000" })
+    int n;
+
+    /* Las llaves aleatorias. */
+    private Integer[] aleatorias;
+    /* Las llaves ordenadas. */
+    private Integer[] ordenadas;
+
+    /**
+     * Genera las llaves.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        aleatorias = Llaves.genera(Llaves.Distribucion.ALEATORIA, n);
+        ordenadas = Llaves.genera(Llaves.Distribucion.ORDENADA, n);
+    }
+
+    /**
+     * Ordena las llaves aleatorias con QuickSort.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark
+    public Integer[] quickSort() {
+        Integer[] a = aleatorias.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Ordena las llaves aleatorias en paralelo.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark
+    public Integer[] ordenaParalelo() {
+        Integer[] a = aleatorias.clone();
+        Arreglos.ordenaParalelo(a);
+        return a;
+    }
+
+    /**
+     * Ordena las llaves ya ordenadas en paralelo.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark
+    public Integer[] ordenaParaleloOrdenadas() {
+        Integer[] a = ordenadas.clone();
+        Arreglos.ordenaParalelo(a);
+        return a;
+    }
+}
@@ -0,0 +1,196 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaAcotada;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark de throughput de las colas entre hilos: un productor en otro
+ * hilo mete n elementos y el hilo del benchmark los saca. El tiempo
+ * reportado es por lote de n elementos. La referencia es una {@link Cola}
+ * con sus operaciones sincronizadas; las otras son {@link ColaConcurrente}
+ * y {@link ColaAcotada}. Con <code>bloquea</code> los hilos duermen cuando
+ * no pueden avanzar; sin él, ceden el procesador y vuelven a intentar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkColas {
+
+    /* Capacidad de la cola acotada. */
+    private static final int CAPACIDAD = 1024;
+
+    /* Interfaz para meter y sacar de cualquiera de las colas. */
+    private interface Canal {
+        /* Mete un elemento. */
+        void mete(Integer elemento) throws InterruptedException;
+        /* Saca un elemento. */
+        Integer saca() throws InterruptedException;
+    }
+
+    /* Cola ligada con sus operaciones sincronizadas. */
+    private static class ColaSincronizada implements Canal {
+
+        /* La cola. */
+        private final Cola<Integer> cola = new Cola<Integer>();
+        /* Si saca espera con wait en lugar de ceder el procesador. */
+        private final boolean bloquea;
+
+        /* Construye la cola. */
+        public ColaSincronizada(boolean bloquea) {
+            this.bloquea = bloquea;
+        }
+
+        /* Mete un elemento y avisa al consumidor. */
+        @Override public synchronized void mete(Integer elemento) {
+            cola.mete(elemento);
+            if (bloquea)
+                notify();
+        }
+
+        /* Saca un elemento, esperando a que haya uno. */
+        @Override public Integer saca() throws InterruptedException {
+            if (bloquea) {
+                synchronized (this) {
+                    while (cola.esVacia())
+                        wait();
+                    return cola.saca();
+                }
+            }
+            while (true) {
+                synchronized (this) {
+                    if (!cola.esVacia())
+                        return cola.saca();
+                }
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Enumeración para las colas.
+     */
+    public enum Tipo {
+        /** {@link Cola} sincronizada. */
+        SINCRONIZADA,
+        /** {@link ColaConcurrente}. */
+        CONCURRENTE,
+        /** {@link ColaAcotada}. */
+        ACOTADA;
+
+        /* Regresa una cola vacía del tipo. */
+        Canal nuevo(boolean bloquea) {
+            switch (this) {
+            case SINCRONIZADA:
+                return new ColaSincronizada(bloquea);
+            case CONCURRENTE:
+                ColaConcurrente<Integer> c = new ColaConcurrente<Integer>();
+                return new Canal() {
+                    public void mete(Integer e) {
+                        c.mete(e);
+                    }
+                    public Integer saca() throws InterruptedException {
+                        if (bloquea)
+                            return c.sacaEspera();
+                        Integer e;
+                        while ((e = c.intentaSaca()) == null)
+                            Thread.yield();
+                        return e;
+                    }
+                };
+            default:
+                ColaAcotada<Integer> a = new ColaAcotada<Integer>(CAPACIDAD);
+                return new Canal() {
+                    public void mete(Integer e) throws InterruptedException {
+                        if (bloquea)
+                            a.meteEspera(e);
+                        else
+                            while (!a.intentaMete(e))
+                                Thread.yield();
+                    }
+                    public Integer saca() throws InterruptedException {
+                        if (bloquea)
+                            return a.sacaEspera();
+                        Integer e;
+                        while ((e = a.intentaSaca()) == null)
+                            Thread.yield();
+                        return e;
+                    }
+                };
+            }
+        }
+    }
+
+    /* La cola. */
+    @Param({ "SINCRONIZADA", "CONCURRENTE", "ACOTADA" })
+    Tipo tipo;
+
+    /* Si los hilos duermen cuando no pueden avanzar. */
+    @Param({ "true", "false" })
+    boolean bloquea;
+
+    /* Número de elementos por lote. */
+    @Param({ "100000" })
+    int n;
+
+    /* Los elementos. */
+    private Integer[] llaves;
+    /* El hilo productor. */
+    private ExecutorService productor;
+
+    /**
+     * Genera los elementos y arranca el hilo productor.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        llaves = Llaves.genera(Llaves.Distribucion.ALEATORIA, n);
+        productor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Detiene el hilo productor.
+     */
+    @TearDown(Level.Trial)
+    public void termina() {
+        productor.shutdownNow();
+    }
+
+    /**
+     * Pasa los n elementos del hilo productor al hilo del benchmark.
+     * @param bh el hoyo negro.
+     * @throws Exception si el productor falla.
+     */
+    @Benchmark
+    public void transfiere(Blackhole bh) throws Exception {
+        Canal canal = tipo.nuevo(bloquea);
+        Future<?> f = productor.submit(() -> {
+                for (Integer llave : llaves)
+                    canal.mete(llave);
+                return null;
+        });
+        for (int i = 0; i < n; i++)
+            bh.consume(canal.saca());
+        f.get();
+    }
+}
@@ -0,0 +1,166 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link Diccionario}. Cada operación procesa las n llaves, así
+ * que el tiempo reportado es por lote de n operaciones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDiccionario {
+
+    /* Número de llaves. */
+    @Param({ "1000", "100000" })
+    int n;
+
+    /* La distribución de las llaves. */
+    @Param({ "ALEATORIA", "ORDENADA", "SESGADA" })
+    Llaves.Distribucion distribucion;
+
+    /* Si el diccionario crece de forma incremental. */
+    @Param({ "false", "true" })
+    boolean incremental;
+
+    /* Las llaves. */
+    private Integer[] llaves;
+    /* Llaves que no están en el diccionario. */
+    private Integer[] fallos;
+    /* Diccionario con todas las llaves, para las búsquedas y recorridos. */
+    private Diccionario<Integer, Integer> lleno;
+
+    /**
+     * Genera las llaves y llena el diccionario de búsquedas.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        llaves = Llaves.genera(distribucion, n);
+        fallos = Llaves.fallos(n);
+        lleno = llena();
+    }
+
+    /** Estado con el diccionario que se vacía en {@link #elimina}. */
+    @State(Scope.Thread)
+    public static class PorVaciar {
+
+        /* El diccionario por vaciar. */
+        Diccionario<Integer, Integer> diccionario;
+
+        /**
+         * Llena el diccionario antes de cada invocación.
+         * @param benchmark el estado con los elementos.
+         */
+        @Setup(Level.Invocation)
+        public void prepara(BenchmarkDiccionario benchmark) {
+            diccionario = benchmark.llena();
+        }
+    }
+
+    /* Regresa un diccionario nuevo, con la capacidad mínima, con todas las
+     * llaves. */
+    private Diccionario<Integer, Integer> llena() {
+        Diccionario<Integer, Integer> d =
+            new Diccionario<Integer, Integer>(0, llave -> llave.hashCode(),
+                                              incremental);
+        for (Integer llave : llaves)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    /**
+     * Agrega las n llaves a un diccionario vacío, que crece según se llena.
+     * @return el diccionario lleno.
+     */
+    @Benchmark
+    public Diccionario<Integer, Integer> agrega() {
+        return llena();
+    }
+
+    /**
+     * Agrega las n llaves de un solo lote a un diccionario vacío.
+     * @return el diccionario lleno.
+     */
+    @Benchmark
+    public Diccionario<Integer, Integer> agregaTodos() {
+        Diccionario<Integer, Integer> d =
+            new Diccionario<Integer, Integer>(0, llave -> llave.hashCode(),
+                                              incremental);
+        d.agregaTodos(llaves, llaves);
+        return d;
+    }
+
+    /**
+     * Obtiene de un solo lote el valor de las n llaves.
+     * @return los valores.
+     */
+    @Benchmark
+    public Integer[] getTodos() {
+        Integer[] valores = new Integer[n];
+        lleno.getTodos(llaves, valores);
+        return valores;
+    }
+
+    /**
+     * Obtiene el valor de las n llaves, que están todas en el diccionario.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void getAcierto(Blackhole bh) {
+        for (Integer llave : llaves)
+            bh.consume(lleno.get(llave));
+    }
+
+    /**
+     * Busca n llaves que no están en el diccionario.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void contieneFallo(Blackhole bh) {
+        for (Integer llave : fallos)
+            bh.consume(lleno.contiene(llave));
+    }
+
+    /**
+     * Elimina las n llaves del diccionario; las repetidas sólo la primera
+     * vez.
+     * @param estado el estado con la estructura por vaciar.
+     * @return el diccionario vacío.
+     */
+    @Benchmark
+    public Diccionario<Integer, Integer> elimina(PorVaciar estado) {
+        for (Integer llave : llaves)
+            if (estado.diccionario.contiene(llave))
+                estado.diccionario.elimina(llave);
+        return estado.diccionario;
+    }
+
+    /**
+     * Recorre las llaves del diccionario.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void itera(Blackhole bh) {
+        Iterator<Integer> iterador = lleno.iteradorLlaves();
+        while (iterador.hasNext())
+            bh.consume(iterador.next());
+    }
+}
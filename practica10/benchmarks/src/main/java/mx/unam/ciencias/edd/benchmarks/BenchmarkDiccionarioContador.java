@@ -0,0 +1,112 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioContador;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MultiDiccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de conteo de frecuencias e índices invertidos sobre n palabras
+ * sesgadas, como las de un texto: con {@link Diccionario} y
+ * <code>get</code>/<code>agrega</code>, y con {@link DiccionarioContador} y
+ * {@link MultiDiccionario}. El tiempo reportado es por lote de n palabras.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDiccionarioContador {
+
+    /* Número de palabras. */
+    @Param({ "1000", "100000" })
+    int n;
+
+    /* Las palabras. */
+    private String[] palabras;
+
+    /**
+     * Genera las palabras.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        Integer[] llaves = Llaves.genera(Llaves.Distribucion.SESGADA, n);
+        palabras = new String[n];
+        for (int i = 0; i < n; i++)
+            palabras[i] = "palabra" + llaves[i];
+    }
+
+    /**
+     * Cuenta las palabras con {@link Diccionario#get} y {@link
+     * Diccionario#agrega}.
+     * @return el diccionario con las cuentas.
+     */
+    @Benchmark
+    public Diccionario<String, Integer> cuentaDiccionario() {
+        Diccionario<String, Integer> d = new Diccionario<String, Integer>();
+        for (String palabra : palabras) {
+            Integer c = d.busca(palabra);
+            d.agrega(palabra, c == null ? 1 : c + 1);
+        }
+        return d;
+    }
+
+    /**
+     * Cuenta las palabras con {@link DiccionarioContador#incrementa}.
+     * @return el diccionario contador.
+     */
+    @Benchmark
+    public DiccionarioContador<String> cuentaContador() {
+        DiccionarioContador<String> d = new DiccionarioContador<String>();
+        for (String palabra : palabras)
+            d.incrementa(palabra);
+        return d;
+    }
+
+    /**
+     * Indexa la posición de cada palabra con un {@link Diccionario} de
+     * listas.
+     * @return el índice.
+     */
+    @Benchmark
+    public Diccionario<String, Lista<Integer>> indexaDiccionario() {
+        Diccionario<String, Lista<Integer>> d =
+            new Diccionario<String, Lista<Integer>>();
+        for (int i = 0; i < n; i++) {
+            Lista<Integer> l = d.busca(palabras[i]);
+            if (l == null) {
+                l = new Lista<Integer>();
+                d.agrega(palabras[i], l);
+            }
+            l.agrega(i);
+        }
+        return d;
+    }
+
+    /**
+     * Indexa la posición de cada palabra con un {@link MultiDiccionario}.
+     * @return el índice.
+     */
+    @Benchmark
+    public MultiDiccionario<String, Integer> indexaMulti() {
+        MultiDiccionario<String, Integer> d =
+            new MultiDiccionario<String, Integer>();
+        for (int i = 0; i < n; i++)
+            d.agrega(palabras[i], i);
+        return d;
+    }
+}
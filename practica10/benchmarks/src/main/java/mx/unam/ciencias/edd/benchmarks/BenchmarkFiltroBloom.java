@@ -0,0 +1,128 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ColeccionFiltrada;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.FiltroBloom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de búsquedas que fallan con y sin {@link FiltroBloom} al frente.
+ * Cada operación busca n llaves que no están, así que el tiempo reportado es
+ * por lote de n búsquedas. Al terminar cada prueba se imprime la tasa de
+ * falsos positivos medida y la esperada para los bits por elemento.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkFiltroBloom {
+
+    /* Número de llaves. */
+    @Param({ "1000", "100000" })
+    int n;
+
+    /* Bits (o contadores) por elemento de los filtros. */
+    @Param({ "4", "8", "12", "16" })
+    int bits;
+
+    /* Llaves que no están en las estructuras. */
+    private Integer[] fallos;
+    /* El filtro solo. */
+    private FiltroBloom<Integer> filtro;
+    /* Árbol con todas las llaves. */
+    private ArbolRojinegro<Integer> arbol;
+    /* El mismo árbol con un filtro al frente. */
+    private ColeccionFiltrada<Integer> filtrada;
+    /* Diccionario con todas las llaves. */
+    private Diccionario<Integer, Integer> diccionario;
+
+    /**
+     * Genera las llaves y llena las estructuras.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        Integer[] llaves = Llaves.genera(Llaves.Distribucion.ALEATORIA, n);
+        fallos = Llaves.fallos(n);
+        filtro = new FiltroBloom<Integer>(n, bits);
+        arbol = new ArbolRojinegro<Integer>();
+        diccionario = new Diccionario<Integer, Integer>();
+        for (Integer llave : llaves) {
+            filtro.agrega(llave);
+            arbol.agrega(llave);
+            diccionario.agrega(llave, llave);
+        }
+        filtrada = new ColeccionFiltrada<Integer>(arbol, bits);
+    }
+
+    /**
+     * Imprime la tasa de falsos positivos medida y la esperada.
+     */
+    @TearDown(Level.Trial)
+    public void reporta() {
+        int positivos = 0;
+        for (Integer llave : fallos)
+            if (filtro.contiene(llave))
+                positivos++;
+        System.out.printf("%n%d bits por elemento: falsos positivos %.4f " +
+                          "(esperados %.4f)%n", bits,
+                          (double)positivos / fallos.length,
+                          filtro.tasaFalsosPositivos());
+    }
+
+    /**
+     * Busca n llaves que no están en el filtro.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void filtro(Blackhole bh) {
+        for (Integer llave : fallos)
+            bh.consume(filtro.contiene(llave));
+    }
+
+    /**
+     * Busca n llaves que no están en el árbol.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void arbol(Blackhole bh) {
+        for (Integer llave : fallos)
+            bh.consume(arbol.contiene(llave));
+    }
+
+    /**
+     * Busca n llaves que no están en el árbol con el filtro al frente.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void arbolFiltrado(Blackhole bh) {
+        for (Integer llave : fallos)
+            bh.consume(filtrada.contiene(llave));
+    }
+
+    /**
+     * Busca n llaves que no están en el diccionario.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void diccionario(Blackhole bh) {
+        for (Integer llave : fallos)
+            bh.consume(diccionario.contiene(llave));
+    }
+}
@@ -0,0 +1,125 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import mx.unam.ciencias.edd.Grafica;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link Grafica}: construcción y recorridos BFS, DFS y
+ * paralelo de una gráfica aleatoria con n vértices y alrededor de {@link
+ * #GRADO} aristas por vértice.
+ *
+ * La gráfica busca sus vértices recorriendo la lista de ellos, así que
+ * construirla es cuadrático; por eso los tamaños predeterminados son
+ * pequeños.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkGrafica {
+
+    /** Número promedio de aristas por vértice. */
+    public static final int GRADO = 4;
+
+    /* Número de vértices. */
+    @Param({ "100", "1000" })
+    int n;
+
+    /* Los extremos de las aristas: la arista i va de a[i] a b[i]. */
+    private int[] a, b;
+    /* Gráfica con todas las aristas, para los recorridos. */
+    private Grafica<Integer> grafica;
+
+    /**
+     * Genera las aristas, con semilla fija, y construye la gráfica de
+     * recorridos.
+     */
+    @Setup
+    public void prepara() {
+        Random random = new Random(0x5eed);
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (int i = 0; i < n; i++)
+            g.agrega(i);
+        int m = GRADO * n / 2;
+        a = new int[m];
+        b = new int[m];
+        int k = 0;
+        // Un camino que garantiza que la gráfica sea conexa
+        for (int i = 1; i < n; i++) {
+            a[k] = i - 1;
+            b[k] = i;
+            g.conecta(a[k], b[k]);
+            k++;
+        }
+        while (k < m) {
+            int u = random.nextInt(n), v = random.nextInt(n);
+            if (u == v || g.sonVecinos(u, v))
+                continue;
+            a[k] = u;
+            b[k] = v;
+            g.conecta(u, v);
+            k++;
+        }
+        grafica = g;
+    }
+
+    /**
+     * Construye la gráfica desde cero.
+     * @return la gráfica construida.
+     */
+    @Benchmark
+    public Grafica<Integer> construye() {
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (int i = 0; i < n; i++)
+            g.agrega(i);
+        for (int i = 0; i < a.length; i++)
+            g.conecta(a[i], b[i]);
+        return g;
+    }
+
+    /**
+     * Recorre la gráfica con BFS desde el primer vértice.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void bfs(Blackhole bh) {
+        grafica.bfs(0, v -> bh.consume(v));
+    }
+
+    /**
+     * Recorre la gráfica con DFS desde el primer vértice.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void dfs(Blackhole bh) {
+        grafica.dfs(0, v -> bh.consume(v));
+    }
+
+    /**
+     * Recorre la gráfica en paralelo desde el primer vértice. La acción suma
+     * los elementos, porque el hoyo negro no debe usarse desde varios hilos.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void recorridoParalelo(Blackhole bh) {
+        LongAdder suma = new LongAdder();
+        grafica.recorridoParalelo(0, v -> suma.add(v.get()));
+        bh.consume(suma.sum());
+    }
+}
@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link Lista}. Las búsquedas y eliminaciones son lineales, así
+ * que sólo se hacen {@link #CONSULTAS} por invocación; agregar y recorrer
+ * procesan los n elementos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkLista {
+
+    /** Número de búsquedas o eliminaciones por invocación. */
+    public static final int CONSULTAS = 100;
+
+    /* Número de elementos. */
+    @Param({ "1000", "100000" })
+    int n;
+
+    /* La distribución de los elementos. */
+    @Param({ "ALEATORIA", "ORDENADA", "SESGADA" })
+    Llaves.Distribucion distribucion;
+
+    /* Los elementos. */
+    private Integer[] llaves;
+    /* Elementos que no están en la lista. */
+    private Integer[] fallos;
+    /* Lista con todos los elementos, para las búsquedas y recorridos. */
+    private Lista<Integer> llena;
+
+    /**
+     * Genera los elementos y llena la lista de búsquedas.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        llaves = Llaves.genera(distribucion, n);
+        fallos = Llaves.fallos(n);
+        llena = llena();
+    }
+
+    /** Estado con la lista de la que se elimina en {@link #elimina}. */
+    @State(Scope.Thread)
+    public static class PorVaciar {
+
+        /* La lista por vaciar. */
+        Lista<Integer> lista;
+
+        /**
+         * Llena la lista antes de cada invocación.
+         * @param benchmark el estado con los elementos.
+         */
+        @Setup(Level.Invocation)
+        public void prepara(BenchmarkLista benchmark) {
+            lista = benchmark.llena();
+        }
+    }
+
+    /* Regresa una lista nueva con todos los elementos. */
+    private Lista<Integer> llena() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer llave : llaves)
+            l.agregaFinal(llave);
+        return l;
+    }
+
+    /**
+     * Agrega los n elementos al final de una lista vacía.
+     * @return la lista llena.
+     */
+    @Benchmark
+    public Lista<Integer> agrega() {
+        return llena();
+    }
+
+    /**
+     * Busca {@link #CONSULTAS} elementos que están en la lista, repartidos a
+     * lo largo de ella.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void contieneAcierto(Blackhole bh) {
+        for (int i = 0; i < CONSULTAS; i++)
+            bh.consume(llena.contiene(llaves[(int)((long)i * n / CONSULTAS)]));
+    }
+
+    /**
+     * Busca {@link #CONSULTAS} elementos que no están en la lista.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void contieneFallo(Blackhole bh) {
+        for (int i = 0; i < CONSULTAS; i++)
+            bh.consume(llena.contiene(fallos[i % n]));
+    }
+
+    /**
+     * Elimina {@link #CONSULTAS} elementos repartidos a lo largo de la lista.
+     * @param estado el estado con la estructura por vaciar.
+     * @return la lista.
+     */
+    @Benchmark
+    public Lista<Integer> elimina(PorVaciar estado) {
+        for (int i = 0; i < CONSULTAS; i++)
+            estado.lista.elimina(llaves[(int)((long)i * n / CONSULTAS)]);
+        return estado.lista;
+    }
+
+    /**
+     * Recorre la lista con su iterador.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void itera(Blackhole bh) {
+        for (Integer llave : llena)
+            bh.consume(llave);
+    }
+}
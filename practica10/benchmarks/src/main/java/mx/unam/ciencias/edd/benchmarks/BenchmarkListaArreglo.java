@@ -0,0 +1,173 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.ListaArreglo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link ListaArreglo} contra {@link Lista}: cada operación
+ * tiene una versión para cada lista. El acceso por índice en {@link Lista} es
+ * lineal, así que sólo se hacen {@link BenchmarkLista#CONSULTAS} accesos por
+ * invocación; lo demás procesa los n elementos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkListaArreglo {
+
+    /* Número de elementos. */
+    @Param({ "1000", "100000" })
+    int n;
+
+    /* Los elementos. */
+    private Integer[] llaves;
+    /* Índices para los accesos por índice. */
+    private int[] indices;
+    /* Lista ligada con todos los elementos. */
+    private Lista<Integer> ligada;
+    /* Lista en arreglo con todos los elementos. */
+    private ListaArreglo<Integer> arreglo;
+
+    /**
+     * Genera los elementos y llena las listas.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        llaves = Llaves.genera(Llaves.Distribucion.ALEATORIA, n);
+        indices = new int[BenchmarkLista.CONSULTAS];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = llaves[i % n] % n;
+        ligada = agregaLigada();
+        arreglo = agregaArreglo();
+    }
+
+    /**
+     * Agrega los n elementos al final de una lista ligada vacía.
+     * @return la lista llena.
+     */
+    @Benchmark
+    public Lista<Integer> agregaLigada() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer llave : llaves)
+            l.agregaFinal(llave);
+        return l;
+    }
+
+    /**
+     * Agrega los n elementos al final de una lista en arreglo vacía.
+     * @return la lista llena.
+     */
+    @Benchmark
+    public ListaArreglo<Integer> agregaArreglo() {
+        ListaArreglo<Integer> l = new ListaArreglo<Integer>();
+        for (Integer llave : llaves)
+            l.agregaFinal(llave);
+        return l;
+    }
+
+    /**
+     * Agrega los n elementos al inicio de una lista ligada vacía y los saca
+     * por el final, como una cola.
+     * @return la lista vacía.
+     */
+    @Benchmark
+    public Lista<Integer> colaLigada() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer llave : llaves)
+            l.agregaInicio(llave);
+        while (!l.esVacia())
+            l.eliminaUltimo();
+        return l;
+    }
+
+    /**
+     * Agrega los n elementos al inicio de una lista en arreglo vacía y los
+     * saca por el final, como una cola.
+     * @return la lista vacía.
+     */
+    @Benchmark
+    public ListaArreglo<Integer> colaArreglo() {
+        ListaArreglo<Integer> l = new ListaArreglo<Integer>();
+        for (Integer llave : llaves)
+            l.agregaInicio(llave);
+        while (!l.esVacia())
+            l.eliminaUltimo();
+        return l;
+    }
+
+    /**
+     * Obtiene {@link BenchmarkLista#CONSULTAS} elementos por índice de la
+     * lista ligada.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void getLigada(Blackhole bh) {
+        for (int i : indices)
+            bh.consume(ligada.get(i));
+    }
+
+    /**
+     * Obtiene {@link BenchmarkLista#CONSULTAS} elementos por índice de la
+     * lista en arreglo.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void getArreglo(Blackhole bh) {
+        for (int i : indices)
+            bh.consume(arreglo.get(i));
+    }
+
+    /**
+     * Recorre la lista ligada con su iterador.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void iteraLigada(Blackhole bh) {
+        for (Integer llave : ligada)
+            bh.consume(llave);
+    }
+
+    /**
+     * Recorre la lista en arreglo con su iterador.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void iteraArreglo(Blackhole bh) {
+        for (Integer llave : arreglo)
+            bh.consume(llave);
+    }
+
+    /**
+     * Ordena una copia de la lista ligada.
+     * @return la copia ordenada.
+     */
+    @Benchmark
+    public Lista<Integer> mergeSortLigada() {
+        return Lista.mergeSort(ligada);
+    }
+
+    /**
+     * Ordena una copia de la lista en arreglo.
+     * @return la copia ordenada.
+     */
+    @Benchmark
+    public ListaArreglo<Integer> mergeSortArreglo() {
+        return ListaArreglo.mergeSort(arreglo);
+    }
+}
@@ -0,0 +1,109 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link MonticuloMinimo}. Cada operación procesa los n
+ * elementos, así que el tiempo reportado es por lote de n operaciones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMonticulo {
+
+    /* Número de elementos. */
+    @Param({ "1000", "100000" })
+    int n;
+
+    /* La distribución de los valores. */
+    @Param({ "ALEATORIA", "ORDENADA", "SESGADA" })
+    Llaves.Distribucion distribucion;
+
+    /* Los valores. */
+    private Integer[] llaves;
+    /* Montículo con todos los valores, para los recorridos. */
+    private MonticuloMinimo<ValorIndexable<Integer>> lleno;
+
+    /**
+     * Genera los valores y llena el montículo de recorridos.
+     */
+    @Setup(Level.Trial)
+    public void prepara() {
+        llaves = Llaves.genera(distribucion, n);
+        lleno = llena();
+    }
+
+    /** Estado con el montículo que se vacía en {@link #eliminaMinimos}. */
+    @State(Scope.Thread)
+    public static class PorVaciar {
+
+        /* El montículo por vaciar. */
+        MonticuloMinimo<ValorIndexable<Integer>> monticulo;
+
+        /**
+         * Llena el montículo antes de cada invocación.
+         * @param benchmark el estado con los elementos.
+         */
+        @Setup(Level.Invocation)
+        public void prepara(BenchmarkMonticulo benchmark) {
+            monticulo = benchmark.llena();
+        }
+    }
+
+    /* Regresa un montículo nuevo con todos los valores. */
+    private MonticuloMinimo<ValorIndexable<Integer>> llena() {
+        MonticuloMinimo<ValorIndexable<Integer>> m =
+            new MonticuloMinimo<ValorIndexable<Integer>>();
+        for (Integer llave : llaves)
+            m.agrega(new ValorIndexable<Integer>(llave, llave));
+        return m;
+    }
+
+    /**
+     * Agrega los n valores, uno por uno, a un montículo vacío.
+     * @return el montículo lleno.
+     */
+    @Benchmark
+    public MonticuloMinimo<ValorIndexable<Integer>> agrega() {
+        return llena();
+    }
+
+    /**
+     * Elimina el mínimo del montículo hasta vaciarlo.
+     * @param bh el hoyo negro.
+     * @param estado el estado con la estructura por vaciar.
+     */
+    @Benchmark
+    public void eliminaMinimos(Blackhole bh, PorVaciar estado) {
+        while (!estado.monticulo.esVacia())
+            bh.consume(estado.monticulo.elimina());
+    }
+
+    /**
+     * Recorre el montículo con su iterador.
+     * @param bh el hoyo negro.
+     */
+    @Benchmark
+    public void itera(Blackhole bh) {
+        for (ValorIndexable<Integer> v : lleno)
+            bh.consume(v);
+    }
+}
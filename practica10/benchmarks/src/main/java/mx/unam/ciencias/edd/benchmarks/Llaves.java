@@ -0,0 +1,72 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Clase para generar las llaves de los benchmarks. Las llaves se generan con
+ * una semilla fija, para que todas las estructuras reciban exactamente las
+ * mismas.
+ */
+public class Llaves {
+
+    /**
+     * Enumeración para las distribuciones de llaves.
+     */
+    public enum Distribucion {
+        /** Llaves aleatorias uniformes, casi sin repeticiones. */
+        ALEATORIA,
+        /** Llaves en orden creciente; el peor caso de los árboles sin
+         *  balancear. */
+        ORDENADA,
+        /** Llaves sesgadas: unas pocas llaves aparecen muchas veces. */
+        SESGADA;
+    }
+
+    /* Semilla de las llaves. */
+    private static final long SEMILLA = 0x5eed;
+
+    /* Constructor privado para evitar instanciación. */
+    private Llaves() {}
+
+    /**
+     * Genera n llaves con la distribución recibida. Todas las llaves están en
+     * el intervalo [0, 4n).
+     * @param distribucion la distribución de las llaves.
+     * @param n el número de llaves.
+     * @return un arreglo con las llaves.
+     */
+    public static Integer[] genera(Distribucion distribucion, int n) {
+        Random random = new Random(SEMILLA);
+        Integer[] llaves = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            switch (distribucion) {
+            case ALEATORIA:
+                llaves[i] = random.nextInt(4 * n);
+                break;
+            case ORDENADA:
+                llaves[i] = 4 * i;
+                break;
+            case SESGADA:
+                // El cubo de un uniforme se amontona cerca de 0
+                double u = random.nextDouble();
+                llaves[i] = (int)(4 * n * u * u * u);
+                break;
+            }
+        }
+        return llaves;
+    }
+
+    /**
+     * Genera n llaves que no están en ningún arreglo regresado por {@link
+     * #genera} con el mismo n.
+     * @param n el número de llaves.
+     * @return un arreglo con las llaves.
+     */
+    public static Integer[] fallos(int n) {
+        Random random = new Random(SEMILLA + 1);
+        Integer[] llaves = new Integer[n];
+        for (int i = 0; i < n; i++)
+            llaves[i] = 4 * n + random.nextInt(4 * n);
+        return llaves;
+    }
+}
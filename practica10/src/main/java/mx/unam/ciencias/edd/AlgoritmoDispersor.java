@@ -9,5 +9,11 @@ public enum AlgoritmoDispersor {
     /** Algoritmo de Bob Jenkins para cadenas. */
     BJ_STRING,
     /** Algoritmo de Daniel J. Bernstein para cadenas. */
-    DJB_STRING;
+    DJB_STRING,
+    /** Algoritmo MurmurHash3 (x64 de 128 bits) para cadenas. */
+    MURMUR3_STRING,
+    /** Algoritmo xxHash64 para cadenas. */
+    XX64_STRING,
+    /** Algoritmo SipHash-2-4 para cadenas; siempre lleva llave. */
+    SIP_STRING;
 }
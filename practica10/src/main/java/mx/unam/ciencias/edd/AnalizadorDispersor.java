@@ -0,0 +1,315 @@
+package mx.unam.ciencias.edd;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Clase para analizar la calidad de un dispersor sobre un conjunto de
+ * llaves. Las llaves se dispersan una sola vez al construir el analizador, y
+ * después se puede medir cómo se reparten en tablas de distintas capacidades
+ * (potencias de 2, que es como las usa {@link Diccionario}):</p>
+ *
+ * <ul>
+ *   <li>{@link #histograma}: cuántas cubetas tienen 0, 1, 2... llaves.</li>
+ *   <li>{@link #jiCuadrada}: la estadística χ² de uniformidad; con un
+ *   dispersor ideal su valor esperado es el número de cubetas menos uno, con
+ *   desviación estándar la raíz del doble de eso.</li>
+ *   <li>{@link #sondeoEncadenado} y {@link #sondeoLineal}: el número promedio
+ *   de llaves que hay que revisar para encontrar una llave, con cubetas
+ *   encadenadas (como {@link Diccionario}) o con sondeo lineal (como {@link
+ *   DiccionarioEntero}).</li>
+ * </ul>
+ *
+ * <p>Para dispersores de cadenas, {@link #avalancha} mide qué tanto cambia la
+ * dispersión al cambiar un solo bit de la llave.</p>
+ *
+ * <p>Como programa, lee llaves de la entrada estándar (una por renglón) y
+ * reporta todo lo anterior para cada {@link AlgoritmoDispersor}.</p>
+ */
+public class AnalizadorDispersor<K> {
+
+    /* Bits de cada carácter que cambia la prueba de avalancha; con 7 un
+     * carácter ASCII sigue siendo ASCII. */
+    private static final int BITS_CARACTER = 7;
+    /* Caracteres de cada llave que cambia la prueba de avalancha. */
+    private static final int CARACTERES_AVALANCHA = 16;
+
+    /* Las dispersiones de las llaves. */
+    private int[] dispersiones;
+
+    /**
+     * Construye un analizador para el dispersor y las llaves recibidas. Las
+     * llaves deberían ser distintas; las repetidas cuentan como colisiones.
+     *
+     * @param dispersor el dispersor a analizar.
+     * @param llaves las llaves.
+     * @throws IllegalArgumentException si el dispersor, las llaves o alguna
+     *         llave son nulos, o si no hay llaves.
+     */
+    public AnalizadorDispersor(Dispersor<K> dispersor, Iterable<K> llaves) {
+        if (dispersor == null || llaves == null)
+            throw new IllegalArgumentException("Parámetros inválidos");
+        int n = 0;
+        for (K llave : llaves)
+            n++;
+        if (n == 0)
+            throw new IllegalArgumentException("No hay llaves");
+        dispersiones = new int[n];
+        int i = 0;
+        for (K llave : llaves) {
+            if (llave == null)
+                throw new IllegalArgumentException("Llave inválida");
+            dispersiones[i++] = dispersor.dispersa(llave);
+        }
+    }
+
+    /**
+     * Regresa el número de llaves.
+     *
+     * @return el número de llaves.
+     */
+    public int getElementos() {
+        return dispersiones.length;
+    }
+
+    /* Regresa cuántas llaves caen en cada cubeta. */
+    private int[] longitudes(int cubetas) {
+        if (cubetas < 1 || Integer.bitCount(cubetas) != 1)
+            throw new IllegalArgumentException("El número de cubetas debe " +
+                                               "ser una potencia de 2");
+        int[] longitudes = new int[cubetas];
+        for (int d : dispersiones)
+            longitudes[d & (cubetas - 1)]++;
+        return longitudes;
+    }
+
+    /**
+     * Regresa el histograma de las longitudes de las cubetas: la entrada
+     * <em>i</em> es el número de cubetas con exactamente <em>i</em> llaves.
+     * La última entrada es la de la cubeta más larga.
+     *
+     * @param cubetas el número de cubetas.
+     * @return el histograma de las longitudes de las cubetas.
+     * @throws IllegalArgumentException si el número de cubetas no es una
+     *         potencia de 2.
+     */
+    public int[] histograma(int cubetas) {
+        int[] longitudes = longitudes(cubetas);
+        int maxima = 0;
+        for (int l : longitudes)
+            maxima = Math.max(maxima, l);
+        int[] histograma = new int[maxima + 1];
+        for (int l : longitudes)
+            histograma[l]++;
+        return histograma;
+    }
+
+    /**
+     * Regresa la estadística χ² de uniformidad de las llaves en las cubetas.
+     * Con un dispersor ideal, su valor esperado es <code>cubetas - 1</code>;
+     * un valor varias veces <code>sqrt(2 (cubetas - 1))</code> por encima
+     * indica que las llaves se amontonan.
+     *
+     * @param cubetas el número de cubetas.
+     * @return la estadística χ².
+     * @throws IllegalArgumentException si el número de cubetas no es una
+     *         potencia de 2.
+     */
+    public double jiCuadrada(int cubetas) {
+        double esperadas = (double)dispersiones.length / cubetas;
+        double ji = 0.0;
+        for (int l : longitudes(cubetas))
+            ji += (l - esperadas) * (l - esperadas);
+        return ji / esperadas;
+    }
+
+    /**
+     * Regresa cuántas llaves hay que revisar en promedio para encontrar una
+     * llave con cubetas encadenadas: si una cubeta tiene <em>l</em> llaves,
+     * encontrarlas a todas cuesta <em>l(l+1)/2</em>. Con un dispersor ideal es
+     * alrededor de <code>1 + llaves / (2 cubetas)</code>.
+     *
+     * @param cubetas el número de cubetas.
+     * @return el costo promedio de una búsqueda exitosa.
+     * @throws IllegalArgumentException si el número de cubetas no es una
+     *         potencia de 2.
+     */
+    public double sondeoEncadenado(int cubetas) {
+        long costo = 0;
+        for (long l : longitudes(cubetas))
+            costo += l * (l + 1) / 2;
+        return (double)costo / dispersiones.length;
+    }
+
+    /**
+     * Regresa cuántas posiciones hay que revisar en promedio para encontrar
+     * una llave con direccionamiento abierto y sondeo lineal, agregando las
+     * llaves en orden a una tabla del tamaño recibido.
+     *
+     * @param cubetas el número de posiciones de la tabla.
+     * @return el costo promedio de una búsqueda exitosa.
+     * @throws IllegalArgumentException si el número de posiciones no es una
+     *         potencia de 2 mayor que el número de llaves.
+     */
+    public double sondeoLineal(int cubetas) {
+        if (cubetas <= dispersiones.length || Integer.bitCount(cubetas) != 1)
+            throw new IllegalArgumentException("El número de cubetas debe " +
+                                               "ser una potencia de 2 mayor " +
+                                               "que el de llaves");
+        boolean[] ocupadas = new boolean[cubetas];
+        int mascara = cubetas - 1;
+        long costo = 0;
+        for (int d : dispersiones) {
+            int i = d & mascara;
+            int sondeo = 1;
+            while (ocupadas[i]) {
+                i = (i + 1) & mascara;
+                sondeo++;
+            }
+            ocupadas[i] = true;
+            costo += sondeo;
+        }
+        return (double)costo / dispersiones.length;
+    }
+
+    /**
+     * Regresa un reporte del análisis para cada número de cubetas recibido.
+     *
+     * @param cubetas los números de cubetas.
+     * @return un reporte del análisis.
+     * @throws IllegalArgumentException si algún número de cubetas no es una
+     *         potencia de 2.
+     */
+    public String reporte(int... cubetas) {
+        StringBuilder sb = new StringBuilder();
+        for (int m : cubetas) {
+            double ji = jiCuadrada(m);
+            double z = (ji - (m - 1)) / Math.sqrt(2.0 * Math.max(m - 1, 1));
+            sb.append(String.format("    %8d cubetas: ji cuadrada %.1f (z = %+.2f), " +
+                                    "sondeo encadenado %.3f", m, ji, z,
+                                    sondeoEncadenado(m)));
+            if (m > dispersiones.length)
+                sb.append(String.format(", lineal %.3f", sondeoLineal(m)));
+            sb.append("\n             longitud:cubetas");
+            int[] histograma = histograma(m);
+            for (int l = 0; l < histograma.length; l++)
+                if (histograma[l] > 0)
+                    sb.append(String.format(" %d:%d", l, histograma[l]));
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Mide el efecto avalancha del dispersor sobre las llaves: para cada
+     * llave, cambia uno por uno los 7 bits más bajos de cada uno de sus
+     * primeros 16 caracteres, y cuenta cuántas veces cambia cada bit de la
+     * dispersión. Con un dispersor ideal cada bit de salida cambia la mitad de
+     * las veces, sin importar qué bit de entrada se cambió.
+     *
+     * @param dispersor el dispersor a medir.
+     * @param llaves las llaves.
+     * @return el peor sesgo, entre 0 y 1: el máximo, sobre cada bit de
+     *         entrada y cada bit de salida, de <code>|2p - 1|</code>, donde
+     *         <em>p</em> es la proporción de veces que el bit de salida
+     *         cambió. Con un dispersor ideal tiende a 0 con más llaves; si un
+     *         bit de salida nunca cambia, o siempre, es 1.
+     * @throws IllegalArgumentException si el dispersor, las llaves o alguna
+     *         llave son nulos, o si no hay llaves no vacías.
+     */
+    public static double avalancha(Dispersor<String> dispersor,
+                                   Iterable<String> llaves) {
+        if (dispersor == null || llaves == null)
+            throw new IllegalArgumentException("Parámetros inválidos");
+        int entradas = CARACTERES_AVALANCHA * BITS_CARACTER;
+        int[][] cambios = new int[entradas][32];
+        int[] pruebas = new int[entradas];
+        for (String llave : llaves) {
+            if (llave == null)
+                throw new IllegalArgumentException("Llave inválida");
+            char[] caracteres = llave.toCharArray();
+            int h = dispersor.dispersa(llave);
+            int n = Math.min(caracteres.length, CARACTERES_AVALANCHA);
+            for (int c = 0; c < n; c++) {
+                for (int b = 0; b < BITS_CARACTER; b++) {
+                    caracteres[c] ^= 1 << b;
+                    int diferencia = h ^ dispersor.dispersa(new String(caracteres));
+                    caracteres[c] ^= 1 << b;
+                    int entrada = c * BITS_CARACTER + b;
+                    pruebas[entrada]++;
+                    for (int s = 0; s < 32; s++)
+                        cambios[entrada][s] += (diferencia >>> s) & 1;
+                }
+            }
+        }
+        double peor = -1.0;
+        for (int e = 0; e < entradas; e++) {
+            if (pruebas[e] == 0)
+                continue;
+            for (int s = 0; s < 32; s++) {
+                double p = (double)cambios[e][s] / pruebas[e];
+                peor = Math.max(peor, Math.abs(2 * p - 1));
+            }
+        }
+        if (peor < 0)
+            throw new IllegalArgumentException("No hay llaves no vacías");
+        return peor;
+    }
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica10.jar " +
+                           "mx.unam.ciencias.edd.AnalizadorDispersor " +
+                           "< llaves.txt");
+        System.exit(1);
+    }
+
+    /**
+     * Lee llaves de la entrada estándar, una por renglón, y reporta el
+     * análisis de cada algoritmo de dispersión sobre ellas, con la capacidad
+     * que les daría un {@link Diccionario}, la mitad y el doble.
+     *
+     * @param args no se usan.
+     * @throws IOException si ocurre un error al leer la entrada.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 0)
+            uso();
+        Lista<String> llaves = new Lista<String>();
+        Diccionario<String, String> vistas = new Diccionario<String, String>();
+        BufferedReader in = new BufferedReader(
+            new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String renglon;
+        while ((renglon = in.readLine()) != null) {
+            if (!vistas.contiene(renglon)) {
+                vistas.agrega(renglon, renglon);
+                llaves.agrega(renglon);
+            }
+        }
+        if (llaves.esVacia())
+            uso();
+        int n = llaves.getElementos();
+        int capacidad = 1;
+        while (capacidad < 2 * Math.max(n, 64))
+            capacidad *= 2;
+        System.out.printf("%d llaves distintas; capacidad de Diccionario: %d\n",
+                          n, capacidad);
+        for (AlgoritmoDispersor a : AlgoritmoDispersor.values()) {
+            Dispersor<String> dispersor = FabricaDispersores.dispersorCadena(a);
+            AnalizadorDispersor<String> analizador =
+                new AnalizadorDispersor<String>(dispersor, llaves);
+            double avalancha;
+            try {
+                avalancha = avalancha(dispersor, llaves);
+            } catch (IllegalArgumentException iae) {
+                avalancha = Double.NaN;
+            }
+            System.out.printf("%s (peor sesgo de avalancha: %.3f)\n",
+                              a.name(), avalancha);
+            System.out.print(analizador.reporte(capacidad / 2, capacidad,
+                                                capacidad * 2));
+        }
+    }
+}
@@ -13,24 +13,12 @@ public class ArbolAVL<T extends Comparable<T>> extends ArbolBinarioOrdenado<T> {
      */
     protected class VerticeAVL extends Vertice {
 
-        /** La altura del vértice. */
-        public int altura;
-
         /**
          * Constructor único que recibe un elemento.
          * @param elemento el elemento del vértice.
          */
         public VerticeAVL(T elemento) {
             super(elemento);
-            this.altura = 0;
-        }
-
-        /**
-         * Regresa la altura del vértice.
-         * @return la altura del vértice.
-         */
-        @Override public int altura() {
-            return this.altura;
         }
 
         /**
@@ -192,7 +180,7 @@ public class ArbolAVL<T extends Comparable<T>> extends ArbolBinarioOrdenado<T> {
     protected void rebalancea(VerticeAVL vertice){
       if(vertice == null) return;
 
-      recalculaAltura(vertice);
+      actualiza(vertice);
       int balanceVertice = balance(vertice);
 
       if(balanceVertice == -2){
@@ -243,14 +231,8 @@ public class ArbolAVL<T extends Comparable<T>> extends ArbolBinarioOrdenado<T> {
     * @param VerticeAVL sobre el que se girará
     */
     private void giraIzquierdaAVL(VerticeAVL p){ // Aquí suponemos que p tiene hijo derecho q
+      // El giro actualiza las alturas de p y de su nuevo padre
       super.giraIzquierda(p);
-      recalculaAltura(p);
-      recalculaAltura(verticeAVL(p.padre));
-      // Aquí vamos a actualizar las alturas de los vértices
-      // Recalcular la altura del vértice
-      // ecalculando altura de p (sólo ven la altura de sus dos hijos)
-      // Y DESPUÉS recalculan la altura de q
-      // (la de p que acaban de calcular y la del otro hijo de q)
     }
 
     /**
@@ -259,18 +241,6 @@ public class ArbolAVL<T extends Comparable<T>> extends ArbolBinarioOrdenado<T> {
     */
     private void giraDerechaAVL(VerticeAVL p){
       super.giraDerecha(p);
-      recalculaAltura(p);
-      recalculaAltura(verticeAVL(p.padre));
-      // Aquí vamos a actualizar las alturas de los vértices
-      // Recalcular la altura del vértice
-    }
-
-    /**
-    * Método que recalcula la altura de un vértice
-    * @param VerticeAVL
-    */
-    private void recalculaAltura(VerticeAVL v){
-      v.altura = 1 + Math.max(getAltura(verticeAVL(v.izquierdo)), getAltura(verticeAVL(v.derecho)));
     }
 
     /**
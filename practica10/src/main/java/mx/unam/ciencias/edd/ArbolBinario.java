@@ -7,6 +7,12 @@ import java.util.NoSuchElementException;
  *
  * <p>La clase proporciona las operaciones básicas para árboles binarios, pero
  * deja la implementación de varias en manos de las subclases concretas.</p>
+ *
+ * <p>Cada vértice guarda la altura y el número de vértices de su subárbol,
+ * así que {@link #altura} es de tiempo constante. Las subclases que cambien
+ * la forma del árbol deben mantener esos valores: después de colgar o
+ * descolgar un vértice llaman {@link #actualizaHastaRaiz} desde su padre, y
+ * después de girar llaman {@link #actualiza} en los vértices girados.</p>
  */
 public abstract class ArbolBinario<T> implements Coleccion<T> {
 
@@ -23,6 +29,10 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         public Vertice izquierdo;
         /** El derecho del vértice. */
         public Vertice derecho;
+        /** La altura del subárbol del vértice. */
+        public int altura;
+        /** El número de vértices del subárbol del vértice. */
+        public int tamano;
 
         /**
          * Constructor único que recibe un elemento.
@@ -30,6 +40,7 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          */
         public Vertice(T elemento) {
             this.elemento = elemento;
+            this.tamano = 1;
         }
 
         /**
@@ -94,12 +105,7 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          * @return la altura del vértice.
          */
         @Override public int altura() {
-          return altura(this);
-        }
-
-        private int altura(Vertice vertice){
-          if(vertice == null ) return -1;
-          return 1 + Math.max(altura(vertice.izquierdo), altura(vertice.derecho));
+          return this.altura;
         }
 
         /**
@@ -107,12 +113,10 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          * @return la profundidad del vértice.
          */
         @Override public int profundidad() {
-          return profundidad(this);
-        }
-
-        private int profundidad(Vertice vertice){
-          if(vertice.padre == null) return 0;
-          return 1 + profundidad(vertice.padre);
+          int p = 0;
+          for(Vertice v = this.padre; v != null; v = v.padre)
+            p++;
+          return p;
         }
 
         /**
@@ -211,6 +215,58 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         return new Vertice(elemento);
     }
 
+    /**
+     * Recalcula la altura y el tamaño del subárbol de un vértice a partir de
+     * los de sus hijos, que deben estar al día.
+     * @param vertice el vértice a actualizar.
+     * @return <code>true</code> si la altura o el tamaño cambiaron,
+     *         <code>false</code> en otro caso.
+     */
+    protected boolean actualiza(Vertice vertice) {
+      int ai = -1, ad = -1, ti = 0, td = 0;
+      if(vertice.izquierdo != null){
+        ai = vertice.izquierdo.altura;
+        ti = vertice.izquierdo.tamano;
+      }
+      if(vertice.derecho != null){
+        ad = vertice.derecho.altura;
+        td = vertice.derecho.tamano;
+      }
+      int altura = 1 + Math.max(ai, ad);
+      int tamano = 1 + ti + td;
+      if(altura == vertice.altura && tamano == vertice.tamano)
+        return false;
+      vertice.altura = altura;
+      vertice.tamano = tamano;
+      return true;
+    }
+
+    /**
+     * Recalcula la altura y el tamaño del vértice recibido y de todos sus
+     * ancestros. Se usa después de colgar o descolgar un único vértice de
+     * <code>vertice</code>, cuando el tamaño de todo el camino a la raíz
+     * cambia en la misma cantidad.
+     * @param vertice el primer vértice a actualizar; puede ser
+     *        <code>null</code>.
+     */
+    protected void actualizaHastaRaiz(Vertice vertice) {
+      Vertice v = vertice;
+      int diferencia = 0;
+      // Mientras la altura cambie recalculamos al vértice desde sus hijos
+      while(v != null){
+        int altura = v.altura, tamano = v.tamano;
+        actualiza(v);
+        diferencia = v.tamano - tamano;
+        boolean crecio = v.altura != altura;
+        v = v.padre;
+        if(!crecio)
+          break;
+      }
+      // Más arriba sólo cambia el tamaño, sin tener que ver a los hermanos
+      for(; v != null; v = v.padre)
+        v.tamano += diferencia;
+    }
+
     /**
      * Regresa la altura del árbol. La altura de un árbol es la altura de su
      * raíz.
@@ -14,11 +14,11 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     private class Iterador implements Iterator<T> {
 
         /* Cola para recorrer los vértices en BFS. */
-        private Cola<Vertice> cola;
+        private ColaArreglo<Vertice> cola;
 
         /* Inicializa al iterador. */
         public Iterador() {
-            cola = new Cola<Vertice>();
+            cola = new ColaArreglo<Vertice>();
             if(raiz != null) cola.mete(raiz);
         }
 
@@ -70,7 +70,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         else {
             //Se hace una referencia a la raiz.
             Vertice aux = raiz;
-            Cola<ArbolBinario<T>.Vertice> cola = new Cola<>();
+            ColaArreglo<ArbolBinario<T>.Vertice> cola = new ColaArreglo<>();
             cola.mete(aux);
             while (!cola.esVacia()) {
                 aux = cola.saca();
@@ -80,6 +80,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
                         aux.izquierdo = el;
                     else if (!aux.hayDerecho())
                         aux.derecho = el;
+                    actualizaHastaRaiz(aux);
                     break;
                 }
                 cola.mete(aux.izquierdo);
@@ -111,11 +112,12 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         if(padreUltimo.izquierdo == ultimo) padreUltimo.izquierdo = null;
       else
         if(padreUltimo.derecho == ultimo) padreUltimo.derecho = null;
+      actualizaHastaRaiz(padreUltimo);
     }
 
     /* Método auxiliar que implementa el bfs y regresa el nodo último */
     private Vertice bfs(){
-      Cola<Vertice> cola = new Cola<Vertice>();
+      ColaArreglo<Vertice> cola = new ColaArreglo<Vertice>();
       cola.mete(this.raiz);
       Vertice v = raiz;
       while(!cola.esVacia()){
@@ -143,7 +145,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
      * @param accion la acción a realizar en cada elemento del árbol.
      */
     public void bfs(AccionVerticeArbolBinario<T> accion) {
-      Cola<Vertice> cola = new Cola<Vertice>();
+      ColaArreglo<Vertice> cola = new ColaArreglo<Vertice>();
       cola.mete(this.raiz);
       while(!cola.esVacia()){
         Vertice v = cola.saca();
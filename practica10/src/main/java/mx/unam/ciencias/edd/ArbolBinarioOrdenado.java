@@ -22,11 +22,11 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     private class Iterador implements Iterator<T> {
 
         /* Pila para recorrer los vértices en DFS in-order. */
-        private Pila<Vertice> pila;
+        private PilaArreglo<Vertice> pila;
 
         /* Inicializa al iterador. */
         public Iterador() {
-          pila = new Pila<Vertice>();
+          pila = new PilaArreglo<Vertice>();
           Vertice v = raiz;
           while(v != null){
             pila.mete(v);
@@ -86,34 +86,35 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
       if(elemento == null) throw new IllegalArgumentException();
       Vertice agregado = nuevoVertice(elemento);
       this.elementos++;
+      ultimoAgregado = agregado;
       if(raiz == null){
         raiz = agregado;
-        ultimoAgregado = raiz;
+        return;
       }
-      else
-        agrega(raiz, agregado);
-    }
-
-    private void agrega(Vertice nodo, Vertice agregado){
-      if(nodo.elemento.compareTo(agregado.elemento) >= 0){
-        if(nodo.hayIzquierdo())
-          agrega(nodo.izquierdo, agregado);
-        else{
-          nodo.izquierdo = agregado;
-          agregado.padre = nodo;
-        }
-      }else{
-        if(nodo.hayDerecho())
-          agrega(nodo.derecho, agregado);
-        else{
-          nodo.derecho = agregado;
-          agregado.padre = nodo;
+      // Bajamos sin recursión; cada vértice del camino gana un descendiente
+      Vertice v = raiz;
+      while(true){
+        v.tamano++;
+        if(v.elemento.compareTo(elemento) >= 0){
+          if(!v.hayIzquierdo()){
+            v.izquierdo = agregado;
+            break;
+          }
+          v = v.izquierdo;
+        }else{
+          if(!v.hayDerecho()){
+            v.derecho = agregado;
+            break;
+          }
+          v = v.derecho;
         }
       }
-      ultimoAgregado = agregado;
+      agregado.padre = v;
+      // La altura sólo sube mientras el hijo alcance a su padre
+      for(v = agregado; v.hayPadre() && v.padre.altura <= v.altura; v = v.padre)
+        v.padre.altura = v.altura + 1;
     }
 
-
     /**
      * Elimina un elemento. Si el elemento no está en el árbol, no hace nada; si
      * está varias veces, elimina el primero que encuentre (in-order). El árbol
@@ -199,6 +200,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
           vertice.izquierdo.padre = vertice.padre;
         }
       }
+      actualizaHastaRaiz(vertice.padre);
     }
 
     /**
@@ -238,6 +240,90 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         return this.ultimoAgregado;
     }
 
+    /**
+     * Regresa el <em>k</em>-ésimo elemento más chico del árbol, contando desde
+     * cero; es el elemento que el iterador regresaría en la posición
+     * <em>k</em>. Usa los tamaños de los subárboles, así que toma tiempo
+     * proporcional a la altura del árbol.
+     * @param k el índice del elemento que queremos.
+     * @return el <em>k</em>-ésimo elemento más chico del árbol.
+     * @throws ExcepcionIndiceInvalido si <em>k</em> es menor que cero o mayor
+     *         o igual que el número de elementos en el árbol.
+     */
+    public T seleccion(int k) {
+      if(k < 0 || k >= elementos)
+        throw new ExcepcionIndiceInvalido();
+      Vertice v = raiz;
+      while(true){
+        int t = tamano(v.izquierdo);
+        if(k == t)
+          return v.elemento;
+        if(k < t){
+          v = v.izquierdo;
+        }else{
+          k -= t + 1;
+          v = v.derecho;
+        }
+      }
+    }
+
+    /**
+     * Regresa el número de elementos del árbol estrictamente menores que el
+     * elemento recibido, que no tiene que estar en el árbol. Si el elemento
+     * está en el árbol, es el índice de su primera aparición en el orden del
+     * iterador. Toma tiempo proporcional a la altura del árbol.
+     * @param elemento el elemento del que queremos el rango.
+     * @return el número de elementos menores que <code>elemento</code>.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public int rango(T elemento) {
+      if(elemento == null) throw new IllegalArgumentException();
+      return cuentaMenores(elemento, false);
+    }
+
+    /**
+     * Regresa el número de elementos del árbol en el intervalo cerrado
+     * [<code>a</code>, <code>b</code>]. Toma tiempo proporcional a la altura
+     * del árbol.
+     * @param a el extremo inferior del intervalo.
+     * @param b el extremo superior del intervalo.
+     * @return el número de elementos mayores o iguales que <code>a</code> y
+     *         menores o iguales que <code>b</code>; cero si <code>a</code> es
+     *         mayor que <code>b</code>.
+     * @throws IllegalArgumentException si <code>a</code> o <code>b</code> son
+     *         <code>null</code>.
+     */
+    public int cuentaEnRango(T a, T b) {
+      if(a == null || b == null) throw new IllegalArgumentException();
+      if(a.compareTo(b) > 0)
+        return 0;
+      return cuentaMenores(b, true) - cuentaMenores(a, false);
+    }
+
+    /* Cuenta los elementos menores (o menores o iguales) que el recibido,
+     * bajando por un solo camino y sumando los subárboles izquierdos que
+     * deja atrás. */
+    private int cuentaMenores(T elemento, boolean incluyeIguales) {
+      int cuenta = 0;
+      Vertice v = raiz;
+      while(v != null){
+        int c = elemento.compareTo(v.elemento);
+        if(c > 0 || (c == 0 && incluyeIguales)){
+          cuenta += 1 + tamano(v.izquierdo);
+          v = v.derecho;
+        }else{
+          v = v.izquierdo;
+        }
+      }
+      return cuenta;
+    }
+
+    /* Regresa el tamaño del subárbol de un vértice, o cero si es null. */
+    private int tamano(Vertice v) {
+      return v == null ? 0 : v.tamano;
+    }
+
     /**
      * Gira el árbol a la derecha sobre el vértice recibido. Si el vértice no
      * tiene hijo izquierdo, el método no hace nada.
@@ -261,6 +347,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             p.derecho.padre = q;
         p.derecho = q;
         q.padre = p;
+        actualizaGiro(q, p);
     }
 
     /**
@@ -287,6 +374,18 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
           q.izquierdo.padre = p;
         q.izquierdo = p;
         p.padre = q;
+        actualizaGiro(p, q);
+    }
+
+    /* Actualiza los vértices de un giro, y los ancestros mientras cambien;
+     * el tamaño del subárbol girado no cambia, sólo puede cambiar su
+     * altura. */
+    private void actualizaGiro(Vertice abajo, Vertice arriba) {
+      actualiza(abajo);
+      actualiza(arriba);
+      Vertice v = arriba.padre;
+      while(v != null && actualiza(v))
+        v = v.padre;
     }
 
     /**
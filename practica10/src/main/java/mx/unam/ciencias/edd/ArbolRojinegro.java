@@ -249,6 +249,9 @@ public class ArbolRojinegro<T extends Comparable<T>>
         auxiliar = verticeRojinegro(vertice.izquierdo);
         auxiliar.padre = vertice;
         auxiliar.color = Color.NEGRO;
+        // El fantasma no cuenta en las alturas ni en los tamaños
+        auxiliar.altura = -1;
+        auxiliar.tamano = 0;
       }
 
       VerticeRojinegro hijo = null;
@@ -259,6 +262,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
            hijo = verticeRojinegro(vertice.derecho);
       // Procedemos a desconectar el padre del hijo
       desconecta(hijo, vertice);
+      actualizaHastaRaiz(hijo.padre);
 
       if(esRojo(hijo) || esRojo(vertice)){
         hijo.color = Color.NEGRO;
@@ -1,12 +1,155 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Clase para ordenar y buscar arreglos genéricos.
  */
 public class Arreglos {
 
+    /* Tamaño mínimo de un pedazo que se ordena en un solo hilo. */
+    private static final int MINIMO_PARALELO = 1 << 13;
+    /* Tamaño de los intervalos que se ordenan por inserción. */
+    private static final int MAXIMO_INSERCION = 16;
+
+    /* Clase interna privada para ordenar en paralelo un intervalo. */
+    private static class Ordena<T> extends RecursiveAction {
+
+        /* El arreglo original. */
+        private T[] arreglo;
+        /* El arreglo auxiliar; empieza como copia del original. */
+        private T[] auxiliar;
+        /* Inicio del intervalo. */
+        private int a;
+        /* Fin (exclusivo) del intervalo. */
+        private int b;
+        /* Si el resultado debe quedar en el auxiliar. */
+        private boolean enAuxiliar;
+        /* Tamaño máximo de un pedazo secuencial. */
+        private int pedazo;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye la tarea para ordenar [a, b). */
+        private Ordena(T[] arreglo, T[] auxiliar, int a, int b,
+                       boolean enAuxiliar, int pedazo,
+                       Comparator<T> comparador) {
+            this.arreglo = arreglo;
+            this.auxiliar = auxiliar;
+            this.a = a;
+            this.b = b;
+            this.enAuxiliar = enAuxiliar;
+            this.pedazo = pedazo;
+            this.comparador = comparador;
+        }
+
+        /* Ordena las dos mitades hacia el otro arreglo y las mezcla hacia
+         * el destino. Los dos arreglos empiezan iguales y nadie toca un
+         * intervalo antes de que sus hojas terminen, así que las hojas
+         * ordenan directamente en su destino. */
+        @Override protected void compute() {
+            T[] destino = enAuxiliar ? auxiliar : arreglo;
+            if (b - a <= pedazo) {
+                introSort(destino, a, b, comparador);
+                return;
+            }
+            int m = (a + b) >>> 1;
+            invokeAll(new Ordena<T>(arreglo, auxiliar, a, m, !enAuxiliar,
+                                    pedazo, comparador),
+                      new Ordena<T>(arreglo, auxiliar, m, b, !enAuxiliar,
+                                    pedazo, comparador));
+            T[] origen = enAuxiliar ? arreglo : auxiliar;
+            new Mezcla<T>(origen, a, m, m, b, destino, a, pedazo,
+                          comparador).compute();
+        }
+    }
+
+    /* Clase interna privada para mezclar en paralelo dos intervalos
+     * ordenados. */
+    private static class Mezcla<T> extends RecursiveAction {
+
+        /* El arreglo con los intervalos. */
+        private T[] origen;
+        /* El primer intervalo, [a1, b1). */
+        private int a1, b1;
+        /* El segundo intervalo, [a2, b2). */
+        private int a2, b2;
+        /* El arreglo donde se mezcla. */
+        private T[] destino;
+        /* Dónde empieza la mezcla en el destino. */
+        private int d;
+        /* Tamaño máximo de una mezcla secuencial. */
+        private int pedazo;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye la tarea para mezclar los intervalos. */
+        private Mezcla(T[] origen, int a1, int b1, int a2, int b2,
+                       T[] destino, int d, int pedazo,
+                       Comparator<T> comparador) {
+            this.origen = origen;
+            this.a1 = a1;
+            this.b1 = b1;
+            this.a2 = a2;
+            this.b2 = b2;
+            this.destino = destino;
+            this.d = d;
+            this.pedazo = pedazo;
+            this.comparador = comparador;
+        }
+
+        /* Parte el intervalo más grande a la mitad, busca el corte
+         * correspondiente en el otro, y mezcla las dos partes en
+         * paralelo. */
+        @Override protected void compute() {
+            if ((b1 - a1) + (b2 - a2) <= pedazo) {
+                mezcla();
+                return;
+            }
+            int m1, m2;
+            if (b1 - a1 >= b2 - a2) {
+                m1 = (a1 + b1) >>> 1;
+                m2 = corte(a2, b2, origen[m1], false);
+            } else {
+                m2 = (a2 + b2) >>> 1;
+                m1 = corte(a1, b1, origen[m2], true);
+            }
+            int dm = d + (m1 - a1) + (m2 - a2);
+            invokeAll(new Mezcla<T>(origen, a1, m1, a2, m2, destino, d,
+                                    pedazo, comparador),
+                      new Mezcla<T>(origen, m1, b1, m2, b2, destino, dm,
+                                    pedazo, comparador));
+        }
+
+        /* Regresa el primer índice en [a, b) cuyo elemento es mayor (o
+         * mayor o igual, si no se incluyen los iguales) al pivote. */
+        private int corte(int a, int b, T pivote, boolean iguales) {
+            while (a < b) {
+                int m = (a + b) >>> 1;
+                int c = comparador.compare(origen[m], pivote);
+                if (c < 0 || (iguales && c == 0))
+                    a = m + 1;
+                else
+                    b = m;
+            }
+            return a;
+        }
+
+        /* Mezcla secuencialmente los intervalos. */
+        private void mezcla() {
+            int i = a1, j = a2, k = d;
+            while (i < b1 && j < b2)
+                if (comparador.compare(origen[j], origen[i]) < 0)
+                    destino[k++] = origen[j++];
+                else
+                    destino[k++] = origen[i++];
+            System.arraycopy(origen, i, destino, k, b1 - i);
+            System.arraycopy(origen, j, destino, k + b1 - i, b2 - j);
+        }
+    }
+
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {}
 
@@ -97,6 +240,143 @@ public class Arreglos {
         selectionSort(arreglo, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo recibido en paralelo. El arreglo se parte en pedazos
+     * que se ordenan en hilos distintos con IntroSort (QuickSort con pivote
+     * mediana de tres, que cambia a HeapSort si la recursión es demasiado
+     * profunda y a InsertionSort en intervalos pequeños), y los pedazos se
+     * mezclan también en paralelo. El tiempo en el peor caso es
+     * <i>O</i>(<i>n</i> log <i>n</i>), con <i>O</i>(<i>n</i>) memoria
+     * adicional; el ordenamiento no es estable.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void ordenaParalelo(T[] arreglo, Comparator<T> comparador) {
+        int n = arreglo.length;
+        if (n <= MINIMO_PARALELO) {
+            introSort(arreglo, 0, n, comparador);
+            return;
+        }
+        int paralelismo = ForkJoinPool.getCommonPoolParallelism();
+        int pedazo = Math.max(MINIMO_PARALELO, n / (paralelismo << 2));
+        ForkJoinPool.commonPool().invoke(
+            new Ordena<T>(arreglo, arreglo.clone(), 0, n, false, pedazo,
+                          comparador));
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #ordenaParalelo(Object[],Comparator)
+     */
+    public static <T extends Comparable<T>> void ordenaParalelo(T[] arreglo) {
+        ordenaParalelo(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /* Ordena el intervalo [a, b) con IntroSort. */
+    private static <T> void introSort(T[] arreglo, int a, int b,
+                                      Comparator<T> comparador) {
+        int profundidad = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(b - a, 1)));
+        introSort(arreglo, a, b, profundidad, comparador);
+    }
+
+    /* Ordena el intervalo [a, b) con IntroSort. Sólo hace recursión sobre la
+     * parte más pequeña de cada partición, así que la pila es logarítmica. */
+    private static <T> void introSort(T[] arreglo, int a, int b,
+                                      int profundidad,
+                                      Comparator<T> comparador) {
+        while (b - a > MAXIMO_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, a, b, comparador);
+                return;
+            }
+            int p = particiona(arreglo, a, b, comparador);
+            if (p - a < b - p) {
+                introSort(arreglo, a, p, profundidad, comparador);
+                a = p + 1;
+            } else {
+                introSort(arreglo, p + 1, b, profundidad, comparador);
+                b = p;
+            }
+        }
+        insertionSort(arreglo, a, b, comparador);
+    }
+
+    /* Particiona [a, b) alrededor de la mediana del primero, el de en medio
+     * y el último; regresa la posición final del pivote. */
+    private static <T> int particiona(T[] arreglo, int a, int b,
+                                      Comparator<T> comparador) {
+        int m = (a + b) >>> 1, u = b - 1;
+        if (comparador.compare(arreglo[m], arreglo[a]) < 0)
+            intercambia(arreglo, a, m);
+        if (comparador.compare(arreglo[u], arreglo[m]) < 0) {
+            intercambia(arreglo, m, u);
+            if (comparador.compare(arreglo[m], arreglo[a]) < 0)
+                intercambia(arreglo, a, m);
+        }
+        // arreglo[a] <= pivote <= arreglo[u]; el pivote se guarda en u - 1
+        intercambia(arreglo, m, u - 1);
+        T pivote = arreglo[u - 1];
+        int i = a, j = u - 1;
+        while (true) {
+            while (comparador.compare(arreglo[++i], pivote) < 0)
+                ;
+            while (comparador.compare(pivote, arreglo[--j]) < 0)
+                ;
+            if (i >= j)
+                break;
+            intercambia(arreglo, i, j);
+        }
+        intercambia(arreglo, i, u - 1);
+        return i;
+    }
+
+    /* Ordena [a, b) con InsertionSort. */
+    private static <T> void insertionSort(T[] arreglo, int a, int b,
+                                          Comparator<T> comparador) {
+        for (int i = a + 1; i < b; i++) {
+            T e = arreglo[i];
+            int j = i;
+            while (j > a && comparador.compare(e, arreglo[j - 1]) < 0) {
+                arreglo[j] = arreglo[j - 1];
+                j--;
+            }
+            arreglo[j] = e;
+        }
+    }
+
+    /* Ordena [a, b) con HeapSort. */
+    private static <T> void heapSort(T[] arreglo, int a, int b,
+                                     Comparator<T> comparador) {
+        int n = b - a;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            acomodaAbajo(arreglo, a, i, n, comparador);
+        for (int i = n - 1; i > 0; i--) {
+            intercambia(arreglo, a, a + i);
+            acomodaAbajo(arreglo, a, 0, i, comparador);
+        }
+    }
+
+    /* Acomoda hacia abajo el elemento i del montículo máximo de n elementos
+     * que empieza en a. */
+    private static <T> void acomodaAbajo(T[] arreglo, int a, int i, int n,
+                                         Comparator<T> comparador) {
+        T e = arreglo[a + i];
+        int h;
+        while ((h = 2 * i + 1) < n) {
+            if (h + 1 < n &&
+                comparador.compare(arreglo[a + h], arreglo[a + h + 1]) < 0)
+                h++;
+            if (comparador.compare(e, arreglo[a + h]) >= 0)
+                break;
+            arreglo[a + i] = arreglo[a + h];
+            i = h;
+        }
+        arreglo[a + i] = e;
+    }
+
     /**
      * Hace una búsqueda binaria del elemento en el arreglo. Regresa el índice
      * del elemento en el arreglo, o -1 si no se encuentra.
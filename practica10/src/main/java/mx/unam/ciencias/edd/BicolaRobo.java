@@ -0,0 +1,203 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Clase para bicolas de robo de trabajo (las de Chase y Lev).</p>
+ *
+ * <p>Cada bicola tiene un dueño, el único hilo que puede usar {@link #mete},
+ * {@link #saca}, {@link #intentaSaca} y {@link #mira}. El dueño trabaja en un
+ * extremo como si fuera una pila, sin operaciones atómicas salvo cuando
+ * compite por el último elemento. Cualquier otro hilo puede llamar {@link
+ * #roba} en cualquier momento, que saca el elemento del otro extremo, el más
+ * viejo, con una sola operación de comparar e intercambiar.</p>
+ *
+ * <p>Los elementos viven en un arreglo circular que el dueño crece al doble
+ * cuando se llena. Los ladrones que todavía vean el arreglo viejo lo siguen
+ * leyendo sin problema, porque el dueño nunca escribe en él después de
+ * crecer.</p>
+ *
+ * @param <T> El tipo de los elementos de la bicola.
+ */
+public class BicolaRobo<T> extends MeteSaca<T> {
+
+    /* Capacidad mínima del arreglo; una potencia de 2. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Los elementos; el arreglo tiene como longitud una potencia de 2. El
+     * elemento i está en arreglo[i & (arreglo.length - 1)]. */
+    private volatile Object[] arreglo;
+    /* Índice del elemento más viejo; lo avanzan los ladrones y el dueño al
+     * competir por el último elemento. */
+    private final AtomicLong tope;
+    /* Índice siguiente al elemento más nuevo; sólo lo escribe el dueño. */
+    private volatile long fondo;
+
+    /**
+     * Construye una bicola vacía.
+     */
+    public BicolaRobo() {
+        arreglo = new Object[MINIMA_CAPACIDAD];
+        tope = new AtomicLong();
+    }
+
+    /**
+     * Agrega un elemento en el extremo del dueño. Sólo el dueño puede
+     * llamarlo.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        long f = fondo;
+        long t = tope.get();
+        Object[] a = arreglo;
+        if (f - t >= a.length - 1)
+            arreglo = a = crece(a, t, f);
+        a[(int)f & (a.length - 1)] = elemento;
+        // Publica al elemento antes que al índice
+        fondo = f + 1;
+    }
+
+    /**
+     * Elimina el elemento más nuevo y lo regresa. Sólo el dueño puede
+     * llamarlo.
+     * @return el elemento más nuevo.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    @Override public T saca() {
+        T elemento = intentaSaca();
+        if (elemento == null)
+            throw new NoSuchElementException("Es vacía");
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento más nuevo y lo regresa, si hay uno. Sólo el dueño
+     * puede llamarlo.
+     * @return el elemento más nuevo, o <code>null</code> si la bicola está
+     *         vacía o un ladrón se llevó el último elemento.
+     */
+    public T intentaSaca() {
+        long f = fondo - 1;
+        Object[] a = arreglo;
+        // Reservamos el elemento antes de ver qué tanto robaron
+        fondo = f;
+        long t = tope.get();
+        if (t > f) {
+            fondo = f + 1;
+            return null;
+        }
+        int i = (int)f & (a.length - 1);
+        @SuppressWarnings("unchecked") T elemento = (T)a[i];
+        if (t == f) {
+            // Es el último; competimos con los ladrones
+            if (!tope.compareAndSet(t, t + 1))
+                elemento = null;
+            fondo = f + 1;
+        } else {
+            a[i] = null;
+        }
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento más viejo y lo regresa. Cualquier hilo puede
+     * llamarlo.
+     * @return el elemento más viejo, o <code>null</code> si la bicola está
+     *         vacía o perdimos la carrera por el elemento con otro hilo.
+     */
+    public T roba() {
+        long t = tope.get();
+        long f = fondo;
+        if (t >= f)
+            return null;
+        Object[] a = arreglo;
+        @SuppressWarnings("unchecked") T elemento =
+            (T)a[(int)t & (a.length - 1)];
+        if (!tope.compareAndSet(t, t + 1))
+            return null;
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el elemento más nuevo, sin sacarlo. Sólo el dueño
+     * puede llamarlo.
+     * @return el elemento más nuevo.
+     * @throws NoSuchElementException si la bicola está vacía.
+     */
+    @Override public T mira() {
+        long f = fondo;
+        if (tope.get() >= f)
+            throw new NoSuchElementException("Es vacía");
+        Object[] a = arreglo;
+        @SuppressWarnings("unchecked") T elemento =
+            (T)a[(int)(f - 1) & (a.length - 1)];
+        return elemento;
+    }
+
+    /**
+     * Nos dice si la bicola está vacía.
+     * @return <code>true</code> si la bicola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return tope.get() >= fondo;
+    }
+
+    /**
+     * Regresa el número aproximado de elementos en la bicola. Es exacto si
+     * ningún otro hilo está usando la bicola.
+     * @return el número de elementos en la bicola.
+     */
+    public int getElementos() {
+        return (int)Math.max(0, fondo - tope.get());
+    }
+
+    /**
+     * Regresa una representación en cadena de la bicola, del elemento más
+     * nuevo al más viejo, como una {@link Pila}.
+     * @return una representación en cadena de la bicola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        Object[] a = arreglo;
+        for (long i = fondo - 1; i >= tope.get(); i--)
+            sb.append(a[(int)i & (a.length - 1)]).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la bicola con un objeto.
+     * @param object el objeto con el que queremos comparar la bicola.
+     * @return <code>true</code> si el objeto recibido es una bicola de robo
+     *         con los mismos elementos en el mismo orden; <code>false</code>
+     *         en otro caso.
+     */
+    @Override public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass())
+            return false;
+        @SuppressWarnings("unchecked") BicolaRobo<T> bicola =
+            (BicolaRobo<T>)object;
+        if (getElementos() != bicola.getElementos())
+            return false;
+        Object[] a = arreglo, b = bicola.arreglo;
+        long i = tope.get(), j = bicola.tope.get();
+        for (int k = 0; k < getElementos(); k++)
+            if (!a[(int)(i + k) & (a.length - 1)]
+                .equals(b[(int)(j + k) & (b.length - 1)]))
+                return false;
+        return true;
+    }
+
+    /* Regresa un arreglo del doble de tamaño con los elementos [t, f). */
+    private static Object[] crece(Object[] a, long t, long f) {
+        Object[] nuevo = new Object[a.length * 2];
+        for (long i = t; i < f; i++)
+            nuevo[(int)i & (nuevo.length - 1)] = a[(int)i & (a.length - 1)];
+        return nuevo;
+    }
+}
@@ -0,0 +1,521 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para cachés acotados. Un caché acotado es un diccionario con un
+ * peso máximo: cuando agregar una entrada lo rebasa, desaloja las entradas
+ * usadas menos recientemente hasta volver a caber. Por omisión cada entrada
+ * pesa 1, así que el peso máximo es el número máximo de entradas; con un
+ * {@link Pesador} se puede acotar, por ejemplo, la memoria.</p>
+ *
+ * <p>Las entradas viven en un {@link Diccionario} y además en una lista
+ * doblemente ligada ordenada de la usada más recientemente a la usada menos
+ * recientemente; los nodos de la lista son los valores del diccionario, así
+ * que {@link #get} y {@link #agrega} toman tiempo constante.</p>
+ *
+ * <p>Con {@link PoliticaDesalojo#TINY_LFU}, el caché además estima con qué
+ * frecuencia se pide cada llave (en un <em>count-min sketch</em> de
+ * contadores de 4 bits que se reducen a la mitad periódicamente, para que la
+ * estimación olvide el pasado). Una llave nueva que obligaría a desalojar
+ * sólo se admite si se ha pedido con más frecuencia que la entrada que
+ * desalojaría; así un recorrido de llaves que se piden una sola vez no vacía
+ * el caché.</p>
+ */
+public class CacheAcotado<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para nodos de la lista de recencia. */
+    private class Nodo {
+
+        /* La llave. */
+        public K llave;
+        /* El valor. */
+        public V valor;
+        /* El peso de la entrada. */
+        public int peso;
+        /* El nodo anterior, usado más recientemente. */
+        public Nodo anterior;
+        /* El nodo siguiente, usado menos recientemente. */
+        public Nodo siguiente;
+
+        /* Construye un nodo con una llave, un valor y un peso. */
+        public Nodo(K llave, V valor, int peso) {
+            this.llave = llave;
+            this.valor = valor;
+            this.peso = peso;
+        }
+    }
+
+    /* Clase interna privada para iteradores. Recorre de la entrada usada más
+     * recientemente a la usada menos recientemente. */
+    private class Iterador {
+
+        /* El siguiente nodo. */
+        private Nodo siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            siguiente = centinela.siguiente;
+        }
+
+        /* Nos dice si hay un siguiente nodo. */
+        public boolean hasNext() {
+            return siguiente != centinela;
+        }
+
+        /* Regresa el siguiente nodo. */
+        public Nodo siguiente() {
+            if (siguiente == centinela)
+                throw new NoSuchElementException("No hay más elementos");
+            Nodo nodo = siguiente;
+            siguiente = siguiente.siguiente;
+            return nodo;
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador implements Iterator<K> {
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return super.siguiente().llave;
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<V> {
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return super.siguiente().valor;
+        }
+    }
+
+    /* Clase interna privada para estimar frecuencias: un count-min sketch
+     * con cuatro funciones de dispersión y contadores de 4 bits, 16 por cada
+     * long. Cuando el número de incrementos llega a diez veces el tamaño de
+     * la tabla, todos los contadores se reducen a la mitad. La tabla crece
+     * con el número de entradas del caché, no con su peso máximo. */
+    private static class Bosquejo {
+
+        /* Multiplicadores para derivar las cuatro dispersiones. */
+        private static final int[] SEMILLAS = {
+            0x97cb3127, 0xb0d1b5d1, 0x8ebc6af1, 0xc2b2ae35
+        };
+        /* Tamaño máximo de la tabla. */
+        private static final int MAXIMO = 1 << 22;
+        /* Máscara para reducir a la mitad 16 contadores de 4 bits. */
+        private static final long MITAD = 0x7777777777777777L;
+
+        /* Los contadores. */
+        private long[] tabla;
+        /* Incrementos desde la última reducción. */
+        private int muestras;
+        /* Incrementos entre reducciones. */
+        private int periodo;
+
+        /* Construye un bosquejo para alrededor de n llaves, con 16 contadores
+         * por llave. */
+        public Bosquejo(long n) {
+            tabla = new long[tamano(16, n)];
+            periodo = 10 * tabla.length;
+        }
+
+        /* Regresa la primera potencia de 2 a partir de t que alcanza para n
+         * llaves, sin pasar del tope. */
+        private static int tamano(int t, long n) {
+            while (t < n && t < MAXIMO)
+                t *= 2;
+            return t;
+        }
+
+        /* Hace crecer la tabla si ya no alcanza para n llaves. Los contadores
+         * no se pueden repartir en la tabla nueva, así que se empieza de
+         * cero; como la tabla crece al doble, esto pasa pocas veces. */
+        public void asegura(long n) {
+            if (n <= tabla.length || tabla.length >= MAXIMO)
+                return;
+            tabla = new long[tamano(tabla.length, n)];
+            periodo = 10 * tabla.length;
+            muestras = 0;
+        }
+
+        /* Regresa el índice del contador de la fila r para la dispersión. */
+        private int indice(int dispersion, int r) {
+            int h = (dispersion + SEMILLAS[r]) * SEMILLAS[r];
+            h ^= h >>> 16;
+            return h & (tabla.length * 16 - 1);
+        }
+
+        /* Regresa el valor del contador c. */
+        private int contador(int c) {
+            return (int)(tabla[c >>> 4] >>> ((c & 15) << 2)) & 15;
+        }
+
+        /* Regresa la frecuencia estimada de la dispersión. */
+        public int frecuencia(int dispersion) {
+            int f = 15;
+            for (int r = 0; r < SEMILLAS.length; r++)
+                f = Math.min(f, contador(indice(dispersion, r)));
+            return f;
+        }
+
+        /* Incrementa la frecuencia de la dispersión. */
+        public void incrementa(int dispersion) {
+            boolean incrementado = false;
+            for (int r = 0; r < SEMILLAS.length; r++) {
+                int c = indice(dispersion, r);
+                if (contador(c) < 15) {
+                    tabla[c >>> 4] += 1L << ((c & 15) << 2);
+                    incrementado = true;
+                }
+            }
+            if (incrementado && ++muestras >= periodo) {
+                for (int i = 0; i < tabla.length; i++)
+                    tabla[i] = (tabla[i] >>> 1) & MITAD;
+                muestras /= 2;
+            }
+        }
+    }
+
+    /* Las entradas. */
+    private Diccionario<K, Nodo> diccionario;
+    /* Centinela de la lista circular de recencia: su siguiente es el nodo
+     * usado más recientemente y su anterior el usado menos recientemente. */
+    private Nodo centinela;
+    /* El pesador. */
+    private Pesador<K, V> pesador;
+    /* El estimador de frecuencias; null con LRU. */
+    private Bosquejo bosquejo;
+    /* El peso máximo. */
+    private long pesoMaximo;
+    /* El peso de todas las entradas. */
+    private long peso;
+    /* Número de búsquedas exitosas. */
+    private long aciertos;
+    /* Número de búsquedas fallidas. */
+    private long fallos;
+    /* Número de entradas desalojadas. */
+    private long desalojos;
+    /* Número de entradas no admitidas. */
+    private long rechazos;
+
+    /**
+     * Construye un caché LRU con un número máximo de entradas.
+     *
+     * @param maximo el número máximo de entradas.
+     * @throws IllegalArgumentException si el máximo no es positivo.
+     */
+    public CacheAcotado(int maximo) {
+        this(maximo, PoliticaDesalojo.LRU);
+    }
+
+    /**
+     * Construye un caché con un número máximo de entradas y la política de
+     * desalojo recibida.
+     *
+     * @param maximo el número máximo de entradas.
+     * @param politica la política de desalojo.
+     * @throws IllegalArgumentException si el máximo no es positivo, o si la
+     *         política es nula.
+     */
+    public CacheAcotado(int maximo, PoliticaDesalojo politica) {
+        this(maximo, (llave, valor) -> 1, politica, maximo);
+    }
+
+    /**
+     * Construye un caché con un peso máximo, el pesador de entradas y la
+     * política de desalojo recibidos.
+     *
+     * @param pesoMaximo el peso máximo de todas las entradas.
+     * @param pesador el pesador de entradas.
+     * @param politica la política de desalojo.
+     * @throws IllegalArgumentException si el peso máximo no es positivo, o si
+     *         el pesador o la política son nulos.
+     */
+    public CacheAcotado(long pesoMaximo, Pesador<K, V> pesador,
+                        PoliticaDesalojo politica) {
+        this(pesoMaximo, pesador, politica, 0);
+    }
+
+    /* Construye un caché con un peso máximo, el pesador de entradas y la
+     * política de desalojo recibidos, y el número de entradas esperado para
+     * dimensionar el estimador de frecuencias. Con un pesador arbitrario el
+     * peso no dice cuántas entradas habrá, así que el estimador empieza
+     * chico y crece con el caché. */
+    private CacheAcotado(long pesoMaximo, Pesador<K, V> pesador,
+                         PoliticaDesalojo politica, long entradas) {
+        if (pesoMaximo <= 0 || pesador == null || politica == null)
+            throw new IllegalArgumentException("Parámetros inválidos");
+        this.pesoMaximo = pesoMaximo;
+        this.pesador = pesador;
+        if (politica == PoliticaDesalojo.TINY_LFU)
+            bosquejo = new Bosquejo(entradas);
+        diccionario = new Diccionario<K, Nodo>();
+        centinela = new Nodo(null, null, 0);
+        centinela.anterior = centinela.siguiente = centinela;
+    }
+
+    /* Saca el nodo de la lista de recencia. */
+    private void desenlaza(Nodo nodo) {
+        nodo.anterior.siguiente = nodo.siguiente;
+        nodo.siguiente.anterior = nodo.anterior;
+    }
+
+    /* Pone el nodo al frente de la lista de recencia. */
+    private void enlazaAlFrente(Nodo nodo) {
+        nodo.anterior = centinela;
+        nodo.siguiente = centinela.siguiente;
+        centinela.siguiente.anterior = nodo;
+        centinela.siguiente = nodo;
+    }
+
+    /* Registra un uso de la llave en el estimador de frecuencias. */
+    private void registra(K llave) {
+        if (bosquejo != null)
+            bosquejo.incrementa(Dispersores.dispersaEntero(llave.hashCode()));
+    }
+
+    /* Regresa la frecuencia estimada de la llave. */
+    private int frecuencia(K llave) {
+        return bosquejo.frecuencia(Dispersores.dispersaEntero(llave.hashCode()));
+    }
+
+    /* Elimina el nodo del caché. */
+    private void quita(Nodo nodo) {
+        desenlaza(nodo);
+        diccionario.elimina(nodo.llave);
+        peso -= nodo.peso;
+    }
+
+    /* Desaloja las entradas usadas menos recientemente hasta caber en el
+     * peso máximo. */
+    private void desaloja() {
+        while (peso > pesoMaximo) {
+            quita(centinela.anterior);
+            desalojos++;
+        }
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, y la marca como la usada más
+     * recientemente.
+     *
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave, o <code>null</code> si la
+     *         llave no está en el caché.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave es inválida");
+        registra(llave);
+        Nodo nodo = diccionario.busca(llave);
+        if (nodo == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        desenlaza(nodo);
+        enlazaAlFrente(nodo);
+        return nodo.valor;
+    }
+
+    /**
+     * Agrega un valor al caché usando la llave proporcionada, y la marca como
+     * la usada más recientemente. Si la llave ya estaba en el caché, se
+     * reemplaza su valor. Si el caché rebasa su peso máximo, desaloja las
+     * entradas usadas menos recientemente.
+     *
+     * Una entrada que pesa más que el peso máximo no se agrega (y, si la
+     * llave ya estaba, se elimina). Con {@link PoliticaDesalojo#TINY_LFU},
+     * una llave nueva que obligaría a desalojar tampoco se agrega si se ha
+     * pedido con menos frecuencia que la entrada usada menos recientemente.
+     *
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos, o si
+     *         el pesador les asigna un peso negativo.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        int p = pesador.pesa(llave, valor);
+        if (p < 0)
+            throw new IllegalArgumentException("Peso inválido");
+        registra(llave);
+        Nodo nodo = diccionario.busca(llave);
+        if (nodo != null) {
+            if (p > pesoMaximo) {
+                quita(nodo);
+                rechazos++;
+                return;
+            }
+            // Queda al frente, así que no se desaloja a sí mismo
+            desenlaza(nodo);
+            enlazaAlFrente(nodo);
+            nodo.valor = valor;
+            peso += p - nodo.peso;
+            nodo.peso = p;
+            desaloja();
+            return;
+        }
+        if (p > pesoMaximo ||
+            (bosquejo != null && peso + p > pesoMaximo &&
+             frecuencia(llave) <= frecuencia(centinela.anterior.llave))) {
+            rechazos++;
+            return;
+        }
+        nodo = new Nodo(llave, valor, p);
+        diccionario.agrega(llave, nodo);
+        enlazaAlFrente(nodo);
+        peso += p;
+        desaloja();
+        if (bosquejo != null)
+            bosquejo.asegura(diccionario.getElementos());
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el caché. No cuenta como un uso
+     * de la llave.
+     *
+     * @param llave la llave que queremos ver si está en el caché.
+     * @return <code>true</code> si la llave está en el caché,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return diccionario.contiene(llave);
+    }
+
+    /**
+     * Elimina el valor del caché asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en el
+     *         caché.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        Nodo nodo = diccionario.busca(llave);
+        if (nodo == null)
+            throw new NoSuchElementException("No se encontró la llave");
+        quita(nodo);
+    }
+
+    /**
+     * Limpia el caché de elementos, dejándolo vacío. Las estadísticas y las
+     * frecuencias estimadas se conservan.
+     */
+    public void limpia() {
+        diccionario.limpia();
+        centinela.anterior = centinela.siguiente = centinela;
+        peso = 0;
+    }
+
+    /**
+     * Regresa el número de entradas en el caché.
+     *
+     * @return el número de entradas en el caché.
+     */
+    public int getElementos() {
+        return diccionario.getElementos();
+    }
+
+    /**
+     * Nos dice si el caché es vacío.
+     *
+     * @return <code>true</code> si el caché es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return diccionario.esVacia();
+    }
+
+    /**
+     * Regresa el peso de todas las entradas en el caché.
+     *
+     * @return el peso de todas las entradas en el caché.
+     */
+    public long getPeso() {
+        return peso;
+    }
+
+    /**
+     * Regresa el peso máximo del caché.
+     *
+     * @return el peso máximo del caché.
+     */
+    public long getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    /**
+     * Regresa el número de llamadas a {@link #get} que encontraron la llave.
+     *
+     * @return el número de aciertos.
+     */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * Regresa el número de llamadas a {@link #get} que no encontraron la
+     * llave.
+     *
+     * @return el número de fallos.
+     */
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Regresa el número de entradas desalojadas para hacer espacio.
+     *
+     * @return el número de desalojos.
+     */
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    /**
+     * Regresa el número de entradas que no se agregaron, por pesar más que el
+     * peso máximo o por no ser admitidas por {@link PoliticaDesalojo#TINY_LFU}.
+     *
+     * @return el número de rechazos.
+     */
+    public long getRechazos() {
+        return rechazos;
+    }
+
+    /**
+     * Regresa la proporción de llamadas a {@link #get} que encontraron la
+     * llave.
+     *
+     * @return la tasa de aciertos, o 0 si no ha habido búsquedas.
+     */
+    public double tasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0.0 : (double)aciertos / total;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del caché, de la usada más
+     * recientemente a la usada menos recientemente.
+     *
+     * @return un iterador para iterar las llaves del caché.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del caché, del usado más
+     * recientemente al usado menos recientemente.
+     *
+     * @return un iterador para iterar los valores del caché.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -0,0 +1,281 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Clase para colas acotadas con un solo productor y un solo consumidor,
+ * que pueden estar en hilos distintos.</p>
+ *
+ * <p>Los elementos viven en un arreglo circular de tamaño fijo. El productor
+ * sólo escribe el índice de escritura y el consumidor sólo el de lectura, así
+ * que ninguna operación necesita candados ni operaciones atómicas de comparar
+ * e intercambiar: basta publicar cada índice después de tocar el arreglo.
+ * Cada lado además recuerda el último índice que vio del otro, y sólo lo
+ * vuelve a leer cuando la cola le parece llena o vacía.</p>
+ *
+ * <p>{@link #mete}, {@link #intentaMete} y {@link #meteEspera} sólo pueden
+ * llamarse desde el hilo productor; {@link #saca}, {@link #intentaSaca},
+ * {@link #sacaEspera} y {@link #mira} sólo desde el hilo consumidor. Con más
+ * de un productor o más de un consumidor el comportamiento de la cola no
+ * está definido; para eso está {@link ColaConcurrente}.</p>
+ *
+ * <p>Las variantes que esperan duermen al hilo en una condición, y el otro
+ * lado sólo toma el candado cuando sabe que alguien espera. Quien espera
+ * primero se anota en el contador de hilos esperando y después vuelve a
+ * revisar la cola; el otro lado primero publica su índice, después pone una
+ * barrera completa y al final lee el contador. Así al menos uno de los dos
+ * ve lo que escribió el otro: o quien espera encuentra el cambio, o el otro
+ * lado lo ve anotado y le avisa. Como quien espera tiene el candado desde
+ * que se anota hasta que se duerme, el aviso no se pierde.</p>
+ *
+ * @param <T> El tipo de los elementos de la cola.
+ */
+public class ColaAcotada<T> extends MeteSaca<T> {
+
+    /* Los elementos; el arreglo tiene como longitud una potencia de 2. */
+    private final Object[] arreglo;
+    /* Número máximo de elementos. */
+    private final int capacidad;
+    /* Número de elementos sacados; sólo lo escribe el consumidor. */
+    private final AtomicLong lectura;
+    /* Número de elementos metidos; sólo lo escribe el productor. */
+    private final AtomicLong escritura;
+    /* Copia de lectura que tiene el productor. */
+    private long lecturaVista;
+    /* Copia de escritura que tiene el consumidor. */
+    private long escrituraVista;
+    /* Número de hilos esperando en meteEspera o sacaEspera. */
+    private final AtomicInteger esperando;
+    /* Candado para los hilos que esperan. */
+    private final ReentrantLock candado;
+    /* Condición para avisar que la cola cambió. */
+    private final Condition cambio;
+
+    /**
+     * Construye una cola vacía con la capacidad recibida.
+     * @param capacidad el número máximo de elementos en la cola.
+     * @throws IllegalArgumentException si la capacidad no es positiva o es
+     *         mayor a 2<sup>30</sup>.
+     */
+    public ColaAcotada(int capacidad) {
+        if (capacidad < 1 || capacidad > (1 << 30))
+            throw new IllegalArgumentException("Capacidad inválida");
+        int c = 1;
+        while (c < capacidad)
+            c *= 2;
+        arreglo = new Object[c];
+        this.capacidad = capacidad;
+        lectura = new AtomicLong();
+        escritura = new AtomicLong();
+        esperando = new AtomicInteger();
+        candado = new ReentrantLock();
+        cambio = candado.newCondition();
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. Nunca bloquea.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws IllegalStateException si la cola está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (!intentaMete(elemento))
+            throw new IllegalStateException("La cola está llena");
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, si cabe. Nunca bloquea.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó, <code>false</code>
+     *         si la cola estaba llena.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public boolean intentaMete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        long e = escritura.get();
+        if (e - lecturaVista == capacidad) {
+            lecturaVista = lectura.get();
+            if (e - lecturaVista == capacidad)
+                return false;
+        }
+        arreglo[(int)e & (arreglo.length - 1)] = elemento;
+        escritura.lazySet(e + 1);
+        VarHandle.fullFence();
+        if (esperando.get() > 0)
+            avisa();
+        return true;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, bloqueando al hilo hasta que
+     * quepa.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public void meteEspera(T elemento) throws InterruptedException {
+        if (intentaMete(elemento))
+            return;
+        candado.lockInterruptibly();
+        esperando.incrementAndGet();
+        try {
+            while (!intentaMete(elemento))
+                cambio.await();
+        } finally {
+            esperando.decrementAndGet();
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa. Nunca bloquea.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T saca() {
+        T elemento = intentaSaca();
+        if (elemento == null)
+            throw new NoSuchElementException("Es vacía");
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, si hay uno.
+     * Nunca bloquea.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola está vacía.
+     */
+    public T intentaSaca() {
+        long l = lectura.get();
+        if (l == escrituraVista) {
+            escrituraVista = escritura.get();
+            if (l == escrituraVista)
+                return null;
+        }
+        int i = (int)l & (arreglo.length - 1);
+        @SuppressWarnings("unchecked") T elemento = (T)arreglo[i];
+        arreglo[i] = null;
+        lectura.lazySet(l + 1);
+        VarHandle.fullFence();
+        if (esperando.get() > 0)
+            avisa();
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, bloqueando al
+     * hilo hasta que haya uno.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public T sacaEspera() throws InterruptedException {
+        T elemento = intentaSaca();
+        if (elemento != null)
+            return elemento;
+        candado.lockInterruptibly();
+        esperando.incrementAndGet();
+        try {
+            while ((elemento = intentaSaca()) == null)
+                cambio.await();
+            return elemento;
+        } finally {
+            esperando.decrementAndGet();
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+        long l = lectura.get();
+        if (l == escritura.get())
+            throw new NoSuchElementException("Es vacía");
+        @SuppressWarnings("unchecked") T elemento =
+            (T)arreglo[(int)l & (arreglo.length - 1)];
+        return elemento;
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return lectura.get() == escritura.get();
+    }
+
+    /**
+     * Regresa el número de elementos en la cola.
+     * @return el número de elementos en la cola.
+     */
+    public int getElementos() {
+        return (int)(escritura.get() - lectura.get());
+    }
+
+    /**
+     * Regresa la capacidad de la cola.
+     * @return el número máximo de elementos en la cola.
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Regresa una representación en cadena de la cola.
+     * @return una representación en cadena de la cola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (long i = lectura.get(); i < escritura.get(); i++)
+            sb.append(arreglo[(int)i & (arreglo.length - 1)]).append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la cola con un objeto.
+     * @param object el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una cola acotada
+     *         con los mismos elementos en el mismo orden; <code>false</code>
+     *         en otro caso.
+     */
+    @Override public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ColaAcotada<T> cola =
+            (ColaAcotada<T>)object;
+        if (getElementos() != cola.getElementos())
+            return false;
+        long i = lectura.get(), j = cola.lectura.get();
+        for (int k = 0; k < getElementos(); k++) {
+            Object a = arreglo[(int)(i + k) & (arreglo.length - 1)];
+            Object b = cola.arreglo[(int)(j + k) & (cola.arreglo.length - 1)];
+            if (!a.equals(b))
+                return false;
+        }
+        return true;
+    }
+
+    /* Despierta al hilo que espera, si hay uno. */
+    private void avisa() {
+        candado.lock();
+        try {
+            cambio.signalAll();
+        } finally {
+            candado.unlock();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para colas genéricas en arreglos.</p>
+ *
+ * <p>Tienen el mismo comportamiento que {@link Cola}, pero los elementos viven
+ * en un arreglo circular en lugar de en nodos: meter un elemento no crea
+ * ningún objeto (salvo cuando el arreglo crece al doble), y los elementos
+ * quedan contiguos en memoria. Sirven como reemplazo directo de {@link Cola}
+ * en los recorridos BFS.</p>
+ *
+ * <p>Las colas pueden ser acotadas: en ese caso el arreglo nunca crece, y
+ * meter un elemento en una cola llena lanza una excepción.</p>
+ *
+ * @param <T> El tipo de los elementos de la cola.
+ */
+public class ColaArreglo<T> extends MeteSaca<T> {
+
+    /* Capacidad mínima del arreglo; una potencia de 2. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; el arreglo tiene como longitud una potencia de 2. */
+    private Object[] arreglo;
+    /* Índice en el arreglo del primer elemento. */
+    private int inicio;
+    /* Número de elementos en la cola. */
+    private int elementos;
+    /* Número máximo de elementos, o -1 si la cola no es acotada. */
+    private int limite;
+
+    /**
+     * Construye una cola vacía que crece cuando se llena.
+     */
+    public ColaArreglo() {
+        this(MINIMA_CAPACIDAD, false);
+    }
+
+    /**
+     * Construye una cola vacía con capacidad para el número de elementos
+     * recibido. Si la cola es acotada, nunca tendrá más elementos que esa
+     * capacidad; si no, crece al doble cuando se llena.
+     * @param capacidad el número de elementos que caben en la cola antes de
+     *                  tener que crecer el arreglo.
+     * @param acotada si la cola no puede crecer más allá de la capacidad.
+     * @throws IllegalArgumentException si la cola es acotada y la capacidad
+     *         no es positiva.
+     */
+    public ColaArreglo(int capacidad, boolean acotada) {
+        if (acotada && capacidad < 1)
+            throw new IllegalArgumentException("Capacidad inválida");
+        limite = acotada ? capacidad : -1;
+        int c = acotada ? 1 : MINIMA_CAPACIDAD;
+        while (c < capacidad && c < (1 << 30))
+            c *= 2;
+        arreglo = new Object[c];
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws IllegalStateException si la cola es acotada y está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        if (estaLlena())
+            throw new IllegalStateException("La cola está llena");
+        if (elementos == arreglo.length)
+            crece();
+        arreglo[(inicio + elementos++) & (arreglo.length - 1)] = elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T saca() {
+        T elemento = mira();
+        arreglo[inicio] = null;
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException("Es vacía");
+        return elemento(0);
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Nos dice si la cola está llena. Sólo las colas acotadas se llenan.
+     * @return <code>true</code> si la cola es acotada y tiene tantos elementos
+     *         como su capacidad, <code>false</code> en otro caso.
+     */
+    public boolean estaLlena() {
+        return elementos == limite;
+    }
+
+    /**
+     * Regresa el número de elementos en la cola.
+     * @return el número de elementos en la cola.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa una representación en cadena de la cola.
+     * @return una representación en cadena de la cola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            sb.append(elemento(i)).append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la cola con un objeto.
+     * @param object el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una cola en arreglo
+     *         con los mismos elementos en el mismo orden; <code>false</code>
+     *         en otro caso.
+     */
+    @Override public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ColaArreglo<T> cola =
+            (ColaArreglo<T>)object;
+        if (elementos != cola.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!elemento(i).equals(cola.elemento(i)))
+                return false;
+        return true;
+    }
+
+    /* Regresa el i-ésimo elemento a partir del inicio. */
+    @SuppressWarnings("unchecked")
+    private T elemento(int i) {
+        return (T)arreglo[(inicio + i) & (arreglo.length - 1)];
+    }
+
+    /* Duplica el arreglo, dejando el primer elemento en el índice 0. */
+    private void crece() {
+        Object[] nuevo = new Object[arreglo.length * 2];
+        int n = arreglo.length - inicio;
+        System.arraycopy(arreglo, inicio, nuevo, 0, n);
+        System.arraycopy(arreglo, 0, nuevo, n, inicio);
+        arreglo = nuevo;
+        inicio = 0;
+    }
+}
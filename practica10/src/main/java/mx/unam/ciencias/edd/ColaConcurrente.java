@@ -0,0 +1,239 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Clase para colas que pueden usarse desde varios hilos a la vez, con
+ * cualquier número de productores y consumidores.</p>
+ *
+ * <p>La cola es la de Michael y Scott: una lista ligada con un nodo centinela
+ * al inicio, donde {@link #mete} y {@link #saca} sólo usan operaciones
+ * atómicas de comparar e intercambiar, sin candados. Si un hilo se detiene a
+ * medio meter un elemento, el siguiente hilo que lo note termina su trabajo,
+ * así que ningún hilo espera nunca a otro.</p>
+ *
+ * <p>Además de las operaciones de {@link MeteSaca}, la cola tiene {@link
+ * #intentaSaca}, que regresa <code>null</code> en lugar de lanzar una
+ * excepción si la cola está vacía, y {@link #sacaEspera}, que bloquea al hilo
+ * hasta que haya un elemento. Sólo los hilos que esperan usan el candado de
+ * la cola.</p>
+ *
+ * <p>{@link #toString} y {@link #equals} recorren la cola sin detenerla, así
+ * que sólo tienen sentido cuando ningún otro hilo la está modificando.</p>
+ *
+ * @param <T> El tipo de los elementos de la cola.
+ */
+public class ColaConcurrente<T> extends MeteSaca<T> {
+
+    /* Clase interna privada para nodos. */
+    private static final class Nodo<T> {
+
+        /* El elemento; null en el centinela. */
+        public T elemento;
+        /* El siguiente nodo. */
+        public volatile Nodo<T> siguiente;
+
+        /* Construye un nodo con un elemento. */
+        public Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* Actualizador atómico del siguiente de un nodo. */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Nodo, Nodo> SIGUIENTE =
+        AtomicReferenceFieldUpdater.newUpdater(Nodo.class, Nodo.class,
+                                               "siguiente");
+
+    /* El centinela; su siguiente es el primer elemento. */
+    private final AtomicReference<Nodo<T>> primero;
+    /* El último nodo, o uno que está a lo más un nodo antes. */
+    private final AtomicReference<Nodo<T>> ultimo;
+    /* Número de hilos esperando en sacaEspera. */
+    private final AtomicInteger esperando;
+    /* Candado para los hilos que esperan. */
+    private final ReentrantLock candado;
+    /* Condición para avisar que la cola ya no está vacía. */
+    private final Condition noVacia;
+
+    /**
+     * Construye una cola vacía.
+     */
+    public ColaConcurrente() {
+        Nodo<T> centinela = new Nodo<T>(null);
+        primero = new AtomicReference<Nodo<T>>(centinela);
+        ultimo = new AtomicReference<Nodo<T>>(centinela);
+        esperando = new AtomicInteger();
+        candado = new ReentrantLock();
+        noVacia = candado.newCondition();
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. Nunca bloquea.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        Nodo<T> nodo = new Nodo<T>(elemento);
+        while (true) {
+            Nodo<T> u = ultimo.get();
+            Nodo<T> s = u.siguiente;
+            if (u != ultimo.get())
+                continue;
+            if (s != null) {
+                // Otro hilo no ha terminado de meter; lo ayudamos
+                ultimo.compareAndSet(u, s);
+            } else if (SIGUIENTE.compareAndSet(u, null, nodo)) {
+                ultimo.compareAndSet(u, nodo);
+                break;
+            }
+        }
+        if (esperando.get() > 0)
+            avisa();
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa. Nunca bloquea.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T saca() {
+        T elemento = intentaSaca();
+        if (elemento == null)
+            throw new NoSuchElementException("Es vacía");
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, si hay uno.
+     * Nunca bloquea.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola está vacía.
+     */
+    public T intentaSaca() {
+        while (true) {
+            Nodo<T> p = primero.get();
+            Nodo<T> u = ultimo.get();
+            Nodo<T> s = p.siguiente;
+            if (p != primero.get())
+                continue;
+            if (s == null)
+                return null;
+            if (p == u) {
+                // El último se quedó atrás; lo ayudamos antes de sacar
+                ultimo.compareAndSet(u, s);
+                continue;
+            }
+            T elemento = s.elemento;
+            if (primero.compareAndSet(p, s)) {
+                // s es el nuevo centinela; no debe retener al elemento
+                s.elemento = null;
+                return elemento;
+            }
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, bloqueando al
+     * hilo hasta que haya uno.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si el hilo es interrumpido mientras
+     *         espera.
+     */
+    public T sacaEspera() throws InterruptedException {
+        T elemento = intentaSaca();
+        if (elemento != null)
+            return elemento;
+        candado.lockInterruptibly();
+        // Nos anotamos antes de volver a revisar, para que un mete que no
+        // veamos sí nos vea a nosotros
+        esperando.incrementAndGet();
+        try {
+            while ((elemento = intentaSaca()) == null)
+                noVacia.await();
+            return elemento;
+        } finally {
+            esperando.decrementAndGet();
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+        while (true) {
+            Nodo<T> p = primero.get();
+            Nodo<T> s = p.siguiente;
+            if (s == null)
+                throw new NoSuchElementException("Es vacía");
+            T elemento = s.elemento;
+            // Si nadie sacó a s mientras lo leíamos, el elemento es válido
+            if (elemento != null && p == primero.get())
+                return elemento;
+        }
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return primero.get().siguiente == null;
+    }
+
+    /**
+     * Regresa una representación en cadena de la cola.
+     * @return una representación en cadena de la cola.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Nodo<T> n = primero.get().siguiente; n != null; n = n.siguiente)
+            sb.append(n.elemento).append(",");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la cola con un objeto.
+     * @param object el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una cola concurrente
+     *         con los mismos elementos en el mismo orden; <code>false</code>
+     *         en otro caso.
+     */
+    @Override public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ColaConcurrente<T> cola =
+            (ColaConcurrente<T>)object;
+        Nodo<T> n = primero.get().siguiente;
+        Nodo<T> m = cola.primero.get().siguiente;
+        while (n != null && m != null) {
+            if (!n.elemento.equals(m.elemento))
+                return false;
+            n = n.siguiente;
+            m = m.siguiente;
+        }
+        return n == null && m == null;
+    }
+
+    /* Despierta a un hilo que espera en sacaEspera. */
+    private void avisa() {
+        candado.lock();
+        try {
+            noVacia.signal();
+        } finally {
+            candado.unlock();
+        }
+    }
+}
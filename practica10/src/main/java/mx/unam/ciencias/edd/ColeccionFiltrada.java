@@ -0,0 +1,174 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+
+/**
+ * <p>Clase para colecciones con un filtro de Bloom al frente. Envuelve a
+ * cualquier {@link Coleccion} y mantiene un {@link FiltroBloomContador} con
+ * sus elementos, de forma que {@link #contiene} para un elemento que no está
+ * en la colección casi siempre regresa <code>false</code> sin tocar la
+ * colección: sólo dispersa el elemento y revisa unas cuantas posiciones del
+ * filtro. Esto conviene cuando la mayoría de las búsquedas fallan y buscar en
+ * la colección es caro, como en una {@link Lista} o un árbol.</p>
+ *
+ * <p>Todas las modificaciones deben hacerse a través de la colección
+ * filtrada; si la colección envuelta se modifica directamente, el filtro
+ * puede dar falsos negativos. Cuando la colección crece al doble de los
+ * elementos para los que se construyó el filtro, éste se reconstruye con el
+ * doble de tamaño, para que la tasa de falsos positivos no crezca.</p>
+ */
+public class ColeccionFiltrada<T> implements Coleccion<T> {
+
+    /* Mínimo número de elementos para el filtro. */
+    private static final int MINIMOS_ELEMENTOS = 64;
+
+    /* La colección. */
+    private Coleccion<T> coleccion;
+    /* El filtro. */
+    private FiltroBloomContador<T> filtro;
+    /* Los contadores por elemento del filtro. */
+    private int contadoresPorElemento;
+    /* El dispersor del filtro. */
+    private Dispersor<T> dispersor;
+    /* El número de elementos para los que se construyó el filtro. */
+    private int capacidad;
+
+    /**
+     * Construye una colección filtrada a partir de una colección, con los
+     * contadores por elemento recibidos y un dispersor predeterminado para el
+     * filtro.
+     * @param coleccion la colección a filtrar.
+     * @param contadoresPorElemento los contadores por elemento del filtro.
+     * @throws IllegalArgumentException si la colección es <code>null</code>
+     *         o el número de contadores por elemento no es positivo.
+     */
+    public ColeccionFiltrada(Coleccion<T> coleccion, int contadoresPorElemento) {
+        this(coleccion, contadoresPorElemento, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye una colección filtrada a partir de una colección, con los
+     * contadores por elemento y el dispersor recibidos para el filtro. Los
+     * elementos que ya están en la colección se agregan al filtro.
+     * @param coleccion la colección a filtrar.
+     * @param contadoresPorElemento los contadores por elemento del filtro.
+     * @param dispersor el dispersor del filtro.
+     * @throws IllegalArgumentException si la colección o el dispersor son
+     *         <code>null</code>, o el número de contadores por elemento no es
+     *         positivo.
+     */
+    public ColeccionFiltrada(Coleccion<T> coleccion, int contadoresPorElemento,
+                             Dispersor<T> dispersor) {
+        if (coleccion == null || contadoresPorElemento < 1 || dispersor == null)
+            throw new IllegalArgumentException("Parámetros inválidos");
+        this.coleccion = coleccion;
+        this.contadoresPorElemento = contadoresPorElemento;
+        this.dispersor = dispersor;
+        reconstruye();
+    }
+
+    /* Construye el filtro de nuevo con el doble de los elementos de la
+     * colección. */
+    private void reconstruye() {
+        capacidad = Math.max(MINIMOS_ELEMENTOS, 2 * coleccion.getElementos());
+        filtro = new FiltroBloomContador<T>(capacidad, contadoresPorElemento,
+                                            dispersor);
+        for (T elemento : coleccion)
+            filtro.agrega(elemento);
+    }
+
+    /**
+     * Agrega un elemento a la colección y al filtro.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        int elementos = coleccion.getElementos();
+        coleccion.agrega(elemento);
+        if (coleccion.getElementos() == elementos)
+            return;
+        if (filtro.getElementos() >= capacidad)
+            reconstruye();
+        else
+            filtro.agrega(elemento);
+    }
+
+    /**
+     * Elimina un elemento de la colección y, si estaba, del filtro.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        if (!filtro.contiene(elemento))
+            return;
+        int elementos = coleccion.getElementos();
+        coleccion.elimina(elemento);
+        if (coleccion.getElementos() < elementos)
+            filtro.elimina(elemento);
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en la colección. Si el filtro
+     * dice que no, no se busca en la colección.
+     * @param elemento el elemento que queremos verificar si está contenido en
+     *                 la colección.
+     * @return <code>true</code> si el elemento está contenido en la colección,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return filtro.contiene(elemento) && coleccion.contiene(elemento);
+    }
+
+    /**
+     * Nos dice si la colección es vacía.
+     * @return <code>true</code> si la colección es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return coleccion.esVacia();
+    }
+
+    /**
+     * Regresa el número de elementos en la colección.
+     * @return el número de elementos en la colección.
+     */
+    @Override public int getElementos() {
+        return coleccion.getElementos();
+    }
+
+    /**
+     * Limpia la colección y el filtro.
+     */
+    @Override public void limpia() {
+        coleccion.limpia();
+        filtro.limpia();
+    }
+
+    /**
+     * Regresa la tasa de falsos positivos esperada del filtro, con los
+     * elementos actuales.
+     * @return la tasa de falsos positivos esperada del filtro.
+     */
+    public double tasaFalsosPositivos() {
+        return filtro.tasaFalsosPositivos();
+    }
+
+    /**
+     * Regresa un iterador para la colección. El iterador no debe usarse para
+     * eliminar elementos.
+     * @return un iterador para la colección.
+     */
+    @Override public Iterator<T> iterator() {
+        return coleccion.iterator();
+    }
+
+    /**
+     * Regresa una representación en cadena de la colección.
+     * @return una representación en cadena de la colección.
+     */
+    @Override public String toString() {
+        return coleccion.toString();
+    }
+}
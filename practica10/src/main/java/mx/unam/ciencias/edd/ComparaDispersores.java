@@ -0,0 +1,141 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.util.Random;
+
+/**
+ * Programa para comparar la calidad y la velocidad de los algoritmos de
+ * {@link AlgoritmoDispersor}.
+ *
+ * <p>Para la calidad, agrega N llaves a un {@link Diccionario} con cada
+ * dispersor y compara sus colisiones contra las que se esperan de un
+ * dispersor ideal. Se usan llaves secuenciales (que castigan a los
+ * dispersores que mezclan poco) y llaves aleatorias.</p>
+ *
+ * <p>Para la velocidad, mide los nanosegundos por llave sobre las llaves
+ * cortas, y los megabytes por segundo sobre llaves de 1 KiB.</p>
+ */
+public class ComparaDispersores {
+
+    /* Longitud de las llaves largas. */
+    private static final int LARGA = 1024;
+    /* Número de llaves largas. */
+    private static final int LARGAS = 256;
+    /* Veces que se repite cada medición de velocidad. */
+    private static final int REPETICIONES = 5;
+
+    /* Para que el compilador no elimine los cálculos de dispersiones. */
+    private static int sumidero;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica10.jar " +
+                           "mx.unam.ciencias.edd.ComparaDispersores N");
+        System.exit(1);
+    }
+
+    /* Regresa una cadena aleatoria de la longitud recibida. */
+    private static String aleatoria(Random random, int n) {
+        StringBuilder sb = new StringBuilder(n);
+        for (int i = 0; i < n; i++)
+            sb.append((char)('a' + random.nextInt(26)));
+        return sb.toString();
+    }
+
+    /* Colisiones esperadas de un dispersor ideal con n llaves en m
+     * cubetas: n menos las cubetas ocupadas esperadas. */
+    private static double colisionesEsperadas(int n, int m) {
+        return n - m * (1.0 - Math.pow(1.0 - 1.0 / m, n));
+    }
+
+    /* Imprime la calidad del dispersor sobre las llaves. */
+    private static void calidad(Dispersor<String> dispersor, String[] llaves,
+                                String nombre) {
+        Diccionario<String, String> d =
+            new Diccionario<String, String>(llaves.length, dispersor);
+        for (String llave : llaves)
+            d.agrega(llave, llave);
+        int m = d.getMascara() + 1;
+        double esperadas = colisionesEsperadas(d.getElementos(), m);
+        System.out.printf("    %-14s colisiones: %7d (%.2fx la ideal), " +
+                          "máxima: %3d, cubetas árbol: %d\n",
+                          nombre, d.colisiones(), d.colisiones() / esperadas,
+                          d.colisionMaxima(), d.cubetasArbolizadas());
+    }
+
+    /* Regresa los nanosegundos que tarda en dispersar todas las llaves, el
+     * mínimo de varias repeticiones. */
+    private static long mide(Dispersor<String> dispersor, String[] llaves) {
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            int h = 0;
+            for (String llave : llaves)
+                h += dispersor.dispersa(llave);
+            long tiempo = System.nanoTime() - inicio;
+            sumidero += h;
+            mejor = Math.min(mejor, tiempo);
+        }
+        return mejor;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1)
+            uso();
+
+        int N = -1;
+        try {
+            N = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (N < 1)
+            uso();
+
+        Random random = new Random();
+        NumberFormat nf = NumberFormat.getIntegerInstance();
+
+        String[] secuenciales = new String[N];
+        String[] aleatorias = new String[N];
+        for (int i = 0; i < N; i++) {
+            secuenciales[i] = "llave" + i;
+            aleatorias[i] = aleatoria(random, 8 + random.nextInt(9));
+        }
+        String[] largas = new String[LARGAS];
+        for (int i = 0; i < LARGAS; i++)
+            largas[i] = aleatoria(random, LARGA);
+        long bytesCortas = 0;
+        for (String llave : aleatorias)
+            bytesCortas += llave.getBytes(StandardCharsets.UTF_8).length;
+
+        System.out.printf("Calidad con %s llaves secuenciales:\n", nf.format(N));
+        for (AlgoritmoDispersor a : AlgoritmoDispersor.values())
+            calidad(FabricaDispersores.dispersorCadena(a), secuenciales, a.name());
+        System.out.printf("Calidad con %s llaves aleatorias:\n", nf.format(N));
+        for (AlgoritmoDispersor a : AlgoritmoDispersor.values())
+            calidad(FabricaDispersores.dispersorCadena(a), aleatorias, a.name());
+
+        // Calentamos todos los dispersores antes de medir
+        for (AlgoritmoDispersor a : AlgoritmoDispersor.values()) {
+            mide(FabricaDispersores.dispersorCadena(a), aleatorias);
+            mide(FabricaDispersores.dispersorCadena(a), largas);
+        }
+
+        System.out.printf("Velocidad (llaves cortas de %.1f bytes en " +
+                          "promedio; llaves de %d bytes):\n",
+                          (double)bytesCortas / N, LARGA);
+        for (AlgoritmoDispersor a : AlgoritmoDispersor.values()) {
+            Dispersor<String> dispersor = FabricaDispersores.dispersorCadena(a);
+            long cortas = mide(dispersor, aleatorias);
+            long tiempoLargas = mide(dispersor, largas);
+            double mbs = (LARGAS * (double)LARGA / (1024 * 1024)) /
+                (tiempoLargas / 1000000000.0);
+            System.out.printf("    %-14s %8.2f ns/llave, %9.2f MB/s\n",
+                              a.name(), (double)cortas / N, mbs);
+        }
+        if (sumidero == 42)
+            System.out.println();
+    }
+}
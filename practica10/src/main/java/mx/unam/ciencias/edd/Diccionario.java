@@ -5,78 +5,152 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
- * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
+ * <p>Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
  * concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una colección
- * de <em>valores</em>.
+ * de <em>valores</em>.</p>
+ *
+ * <p>Un diccionario puede crecer de golpe, volviendo a dispersar todas sus
+ * entradas en cuanto rebasa {@link #MAXIMA_CARGA}, o de forma incremental: en
+ * ese modo conserva el arreglo viejo junto al nuevo y migra unas cuantas
+ * cubetas en cada llamada a {@link #agrega}, {@link #get}, {@link #contiene} o
+ * {@link #elimina}, de forma que ninguna operación individual paga la
+ * redimensión completa.</p>
+ *
+ * <p>Cuando una cubeta acumula más de {@link #UMBRAL_ARBOL} entradas, se
+ * convierte en un {@link ArbolRojinegro} ordenado por dispersión, así que
+ * incluso con un dispersor malo (o llaves elegidas adversarialmente) buscar en
+ * ella toma tiempo logarítmico. Si la cubeta vuelve a tener {@link
+ * #UMBRAL_LISTA} entradas o menos, regresa a ser una lista.</p>
+ *
+ * <p>Al eliminar, si la carga baja de la carga mínima (por omisión {@link
+ * #CARGA_MINIMA}), el diccionario reduce su capacidad a la mitad, sin bajar de
+ * la capacidad con la que se creó; {@link #compacta} la reduce hasta la que le
+ * corresponde a sus elementos. Así la memoria y el costo de iterar siguen al
+ * número de elementos y no al máximo que llegó a tener.</p>
+ *
+ * <p>Las operaciones por lotes ({@link #agregaTodos}, {@link #getTodos},
+ * {@link #contieneTodos} y {@link #eliminaTodos}) dispersan todas las llaves
+ * de una vez y las procesan agrupadas por cubeta; {@link #agregaTodos} además
+ * hace crecer el diccionario una sola vez según el tamaño del lote.</p>
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
-    /* Clase interna privada para entradas. */
-    private class Entrada {
+    /* Clase interna privada para entradas. Las entradas se ordenan por su
+     * dispersión, luego por el nombre de la clase de su llave, luego por su
+     * llave si son de la misma clase y comparables, y al final por el orden
+     * en que se crearon; así el orden es total y transitivo aunque una cubeta
+     * mezcle llaves de clases distintas. */
+    private class Entrada implements Comparable<Entrada> {
 
         /* La llave. */
         public K llave;
         /* El valor. */
         public V valor;
+        /* La dispersión de la llave. */
+        public int dispersion;
+        /* El orden de creación de la entrada. */
+        public long orden;
 
         /* Construye una nueva entrada. */
-        public Entrada(K llave, V valor) {
+        public Entrada(K llave, V valor, int dispersion) {
             this.llave = llave;
             this.valor = valor;
+            this.dispersion = dispersion;
+            this.orden = creadas++;
+        }
+
+        /* Compara la entrada con otra. */
+        @Override public int compareTo(Entrada entrada) {
+            if (dispersion != entrada.dispersion)
+                return Integer.compare(dispersion, entrada.dispersion);
+            int c = comparaLlaves(llave, entrada.llave);
+            if (c != 0)
+                return c;
+            return Long.compare(orden, entrada.orden);
         }
     }
 
-    /* Clase interna privada para iteradores. */
+    /* Clase interna privada para iteradores. Si hay una migración en curso,
+     * el iterador recorre primero las cubetas nuevas, tomando sólo las
+     * entradas que ya estaban migradas al crearlo, y después las cubetas viejas
+     * que faltaban por migrar. Como la migración nunca modifica las listas
+     * viejas, el recorrido es correcto aunque la migración avance mientras
+     * iteramos. */
     private class Iterador {
 
+        /* Las cubetas nuevas al crear el iterador. */
+        private Coleccion<Entrada>[] nuevas;
+        /* Las cubetas viejas al crear el iterador. */
+        private Coleccion<Entrada>[] viejas;
+        /* Cuántas cubetas viejas estaban migradas al crear el iterador. */
+        private int migradas;
+        /* Si ya estamos recorriendo las cubetas viejas. */
+        private boolean enViejas;
         /* En qué lista estamos. */
         private int indice;
         /* Iterador auxiliar. */
         private Iterator<Entrada> iterador;
+        /* La siguiente entrada. */
+        private Entrada siguiente;
 
         /* Construye un nuevo iterador, auxiliándose de las listas del
          * diccionario. */
         public Iterador() {
-            for (int i = 0; i < entradas.length; i++) {
-                if (entradas[i] != null) {
-                    indice = i;
-                    iterador = entradas[i].iterator();
-                    return;
-                }
-            }
-            iterador = null;
+            nuevas = entradas;
+            viejas = Diccionario.this.viejas;
+            migradas = Diccionario.this.migradas;
+            indice = -1;
+            mueveIterador();
         }
 
         /* Nos dice si hay una siguiente entrada. */
         public boolean hasNext() {
-            return iterador != null;
+            return siguiente != null;
         }
 
         /* Regresa la siguiente entrada. */
         public Entrada siguiente() {
-            if (iterador == null)
-                throw new NoSuchElementException("Iterador Null");
-            if (iterador.hasNext()) {
-                Entrada entrada = iterador.next();
-                if (!iterador.hasNext())
-                    mueveIterador();
-                return entrada;
-            }
-            throw new NoSuchElementException("No hay más elementos, carajo!");
+            if (siguiente == null)
+                throw new NoSuchElementException("No hay más elementos");
+            Entrada entrada = siguiente;
+            mueveIterador();
+            return entrada;
+        }
+
+        /* Nos dice si la entrada de una cubeta nueva ya estaba migrada al
+         * crear el iterador. */
+        private boolean migrada(Entrada entrada) {
+            return viejas == null ||
+                (entrada.dispersion & (viejas.length - 1)) < migradas;
         }
 
         /* Mueve el iterador a la siguiente entrada válida. */
         private void mueveIterador() {
-            for (int i = indice + 1; i < entradas.length; i++) {
-                if (entradas[i] != null) {
-                    // Actualizamos el índice
-                    indice = i;
+            while (true) {
+                while (iterador != null && iterador.hasNext()) {
+                    Entrada entrada = iterador.next();
+                    if (enViejas || migrada(entrada)) {
+                        siguiente = entrada;
+                        return;
+                    }
+                }
+                Coleccion<Entrada>[] cubetas = enViejas ? viejas : nuevas;
+                indice++;
+                while (indice < cubetas.length && cubetas[indice] == null)
+                    indice++;
+                if (indice < cubetas.length) {
                     // Cambiamos el iterador al iterador de esa lista
-                    iterador = entradas[i].iterator();
+                    iterador = cubetas[indice].iterator();
+                } else if (!enViejas && viejas != null) {
+                    // Seguimos con las cubetas viejas que faltaban de migrar
+                    enViejas = true;
+                    indice = migradas - 1;
+                    iterador = null;
+                } else {
+                    siguiente = null;
                     return;
                 }
             }
-            iterador = null;
         }
     }
 
@@ -108,19 +182,55 @@ public class Diccionario<K, V> implements Iterable<V> {
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
 
+    /**
+     * Número de entradas a partir del cual una cubeta se convierte en árbol.
+     */
+    public static final int UMBRAL_ARBOL = 8;
+
+    /**
+     * Número de entradas con el que una cubeta de árbol regresa a ser lista.
+     */
+    public static final int UMBRAL_LISTA = 6;
+
+    /**
+     * Carga mínima predeterminada: al eliminar, si la carga baja de ella, el
+     * diccionario reduce su capacidad a la mitad.
+     */
+    public static final double CARGA_MINIMA = MAXIMA_CARGA / 4;
+
+    /* Mínimo de cubetas viejas que se migran en cada operación durante una
+     * redimensión incremental. */
+    private static final int CUBETAS_POR_OPERACION = 4;
+
     /* Dispersor. */
     private Dispersor<K> dispersor;
     /* Nuestro diccionario. */
-    private Lista<Entrada>[] entradas;
+    private Coleccion<Entrada>[] entradas;
+    /* Las cubetas anteriores mientras hay una migración en curso; null en
+     * otro caso. */
+    private Coleccion<Entrada>[] viejas;
+    /* Cuántas cubetas viejas ya fueron migradas. */
+    private int migradas;
+    /* Cuántas cubetas viejas se migran en cada operación. */
+    private int porOperacion;
+    /* Si el diccionario crece de forma incremental. */
+    private boolean incremental;
     /* Número de valores. */
     private int elementos;
+    /* Número de entradas creadas, para desempatar el orden de las
+     * entradas. */
+    private long creadas;
+    /* La carga debajo de la cual el diccionario se encoge; 0 si nunca. */
+    private double cargaMinima;
+    /* La capacidad debajo de la cual el diccionario no se encoge solo. */
+    private int capacidadInicial;
 
     /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
        Java implementa sus genéricos; de otra forma obtenemos advertencias del
        compilador. */
     @SuppressWarnings("unchecked")
-    private Lista<Entrada>[] nuevoArreglo(int n) {
-        return (Lista<Entrada>[]) Array.newInstance(Lista.class, n);
+    private Coleccion<Entrada>[] nuevoArreglo(int n) {
+        return (Coleccion<Entrada>[]) Array.newInstance(Coleccion.class, n);
     }
 
     /**
@@ -159,9 +269,29 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param dispersor el dispersor a utilizar.
      */
     public Diccionario(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, dispersor, false);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario, que opcionalmente crece de forma
+     * incremental.
+     *
+     * @param capacidad   la capacidad inicial del diccionario.
+     * @param dispersor   el dispersor a utilizar.
+     * @param incremental si es <code>true</code>, al rebasar la carga máxima
+     *                    el diccionario migra sus cubetas poco a poco en las
+     *                    operaciones siguientes, en lugar de hacerlo todo de
+     *                    una vez.
+     */
+    public Diccionario(int capacidad, Dispersor<K> dispersor,
+                       boolean incremental) {
         this.dispersor = dispersor;
+        this.incremental = incremental;
         int mascara = getPotencia(capacidad);
         entradas = nuevoArreglo(mascara);
+        capacidadInicial = entradas.length;
+        cargaMinima = CARGA_MINIMA;
     }
 
     /**
@@ -189,28 +319,170 @@ public class Diccionario<K, V> implements Iterable<V> {
     public void agrega(K llave, V valor) {
         if (llave == null || valor == null)
             throw new IllegalArgumentException("Llave/valor incorrectos");
-        int i = dispersor.dispersa(llave) & getMascara();
-        if (entradas[i] == null) {
-            entradas[i] = new Lista<Entrada>();
-            entradas[i].agrega(new Entrada(llave, valor));
-            elementos++;
-        } else if (entradas[i] != null) {
-            boolean existeLlave = false;
-            // Vamos a ver si no hay una entrada con la misma llave
-            for (Entrada entrada : entradas[i]) {
-                if (entrada.llave.equals(llave)) {
-                    entrada.valor = valor;
-                    existeLlave = true;
-                    break;
-                }
+        Entrada entrada = buscaOAgregaEntrada(llave, valor);
+        if (entrada != null)
+            entrada.valor = valor;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave proporcionada; si la llave no está
+     * en el diccionario, le asocia el valor recibido y lo regresa. Todo con
+     * una sola búsqueda, así que sirve para valores mutables (contadores,
+     * listas) que se crean la primera vez que aparece su llave: si el valor
+     * regresado es el recibido, la llave era nueva.
+     *
+     * @param llave la llave para buscar el valor.
+     * @param valor el valor a agregar si la llave no está.
+     * @return el valor asociado a la llave después de la operación.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V buscaOAgrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        Entrada entrada = buscaOAgregaEntrada(llave, valor);
+        return entrada == null ? valor : entrada.valor;
+    }
+
+    /* Regresa la entrada con la llave si existe; si no, agrega una entrada
+     * con la llave y el valor y regresa null. */
+    private Entrada buscaOAgregaEntrada(K llave, V valor) {
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Coleccion<Entrada>[] cubetas = cubetas(dispersion);
+        // Vamos a ver si no hay una entrada con la misma llave
+        Entrada entrada = busca(cubetas[dispersion & (cubetas.length - 1)],
+                                dispersion, llave);
+        if (entrada != null)
+            return entrada;
+        agregaEntrada(cubetas, new Entrada(llave, valor, dispersion));
+        elementos++;
+        if (factor_carga() >= MAXIMA_CARGA) {
+            doblar_capacidad_arreglo();
+        }
+        return null;
+    }
+
+    /* Regresa una lista con las entradas de la cubeta, en orden. */
+    private Coleccion<Entrada> aLista(Coleccion<Entrada> cubeta) {
+        Lista<Entrada> lista = new Lista<Entrada>();
+        for (Entrada entrada : cubeta)
+            lista.agrega(entrada);
+        return lista;
+    }
+
+    /* Regresa el arreglo de cubetas donde vive la llave con la dispersión
+     * recibida: el viejo si su cubeta todavía no se migra, el nuevo en otro
+     * caso. */
+    private Coleccion<Entrada>[] cubetas(int dispersion) {
+        if (viejas != null && (dispersion & (viejas.length - 1)) >= migradas)
+            return viejas;
+        return entradas;
+    }
+
+    /* Agrega una entrada a su cubeta en el arreglo recibido, convirtiendo la
+     * cubeta en árbol si rebasa el umbral. */
+    private void agregaEntrada(Coleccion<Entrada>[] cubetas, Entrada entrada) {
+        int i = entrada.dispersion & (cubetas.length - 1);
+        if (cubetas[i] == null)
+            cubetas[i] = new Lista<Entrada>();
+        cubetas[i].agrega(entrada);
+        if (cubetas[i] instanceof Lista &&
+            cubetas[i].getElementos() > UMBRAL_ARBOL)
+            cubetas[i] = new ArbolRojinegro<Entrada>(cubetas[i]);
+    }
+
+    /* Compara dos llaves: si son de clases distintas, por el nombre de la
+     * clase; si son de la misma clase y comparables, con compareTo. Regresa 0
+     * en otro caso. Comparar primero las clases evita ciclos cuando una
+     * cubeta mezcla llaves comparables de clases distintas. */
+    @SuppressWarnings("unchecked")
+    private static int comparaLlaves(Object a, Object b) {
+        Class<?> ca = a.getClass(), cb = b.getClass();
+        if (ca != cb)
+            return ca.getName().compareTo(cb.getName());
+        if (a instanceof Comparable)
+            return ((Comparable<Object>)a).compareTo(b);
+        return 0;
+    }
+
+    /* Regresa la entrada con la llave en la cubeta, o null si no está. */
+    private Entrada busca(Coleccion<Entrada> cubeta, int dispersion, K llave) {
+        if (cubeta == null)
+            return null;
+        if (cubeta instanceof ArbolRojinegro) {
+            ArbolRojinegro<Entrada> arbol = (ArbolRojinegro<Entrada>)cubeta;
+            return arbol.esVacia() ? null : busca(arbol.raiz(), dispersion, llave);
+        }
+        for (Entrada entrada : cubeta)
+            if (entrada.llave.equals(llave))
+                return entrada;
+        return null;
+    }
+
+    /* Busca la entrada con la llave en el subárbol del vértice. Bajamos por
+     * la dispersión, la clase de la llave y después por la llave; sólo si las
+     * llaves no se pueden comparar hay que buscar en ambos lados. */
+    private Entrada busca(VerticeArbolBinario<Entrada> vertice,
+                         int dispersion, K llave) {
+        while (true) {
+            Entrada entrada = vertice.get();
+            int c = Integer.compare(dispersion, entrada.dispersion);
+            if (c == 0) {
+                if (entrada.llave.equals(llave))
+                    return entrada;
+                c = comparaLlaves(llave, entrada.llave);
             }
-            if (existeLlave == false) {
-                entradas[i].agrega(new Entrada(llave, valor));
-                elementos++;
+            if (c == 0) {
+                Entrada e = null;
+                if (vertice.hayIzquierdo())
+                    e = busca(vertice.izquierdo(), dispersion, llave);
+                if (e == null && vertice.hayDerecho())
+                    e = busca(vertice.derecho(), dispersion, llave);
+                return e;
             }
+            if (c < 0 && vertice.hayIzquierdo())
+                vertice = vertice.izquierdo();
+            else if (c > 0 && vertice.hayDerecho())
+                vertice = vertice.derecho();
+            else
+                return null;
         }
-        if (factor_carga() >= MAXIMA_CARGA) {
-            doblar_capacidad_arreglo();
+    }
+
+    /* Si hay una migración en curso, la avanza unas cuantas cubetas. */
+    private void migra() {
+        if (viejas != null)
+            migra(porOperacion);
+    }
+
+    /* Regresa cuántas cubetas viejas hay que migrar en cada operación para
+     * que la migración termine antes de que el número de elementos llegue al
+     * siguiente umbral, sea para crecer o para encogerse. Cada operación que
+     * agrega o elimina un elemento migra antes de revisar el umbral. */
+    private int cubetasPorOperacion() {
+        long capacidad = entradas.length;
+        long faltan = (long)Math.ceil(MAXIMA_CARGA * capacidad) - elementos;
+        if (capacidad > capacidadInicial && cargaMinima > 0)
+            faltan = Math.min(faltan, elementos + 1 -
+                              (long)Math.ceil(cargaMinima * capacidad));
+        faltan = Math.max(faltan, 1);
+        long n = (viejas.length + faltan - 1) / faltan;
+        return (int)Math.max(CUBETAS_POR_OPERACION, n);
+    }
+
+    /* Migra hasta n cubetas viejas al arreglo nuevo. Las listas viejas no se
+     * modifican, para que los iteradores que las estén recorriendo sigan
+     * siendo válidos; el arreglo viejo se suelta al terminar. */
+    private void migra(int n) {
+        for (int k = 0; k < n && migradas < viejas.length; k++, migradas++) {
+            if (viejas[migradas] == null)
+                continue;
+            for (Entrada entrada : viejas[migradas])
+                agregaEntrada(entradas, entrada);
+        }
+        if (migradas == viejas.length) {
+            viejas = null;
+            migradas = 0;
         }
     }
 
@@ -238,25 +510,49 @@ public class Diccionario<K, V> implements Iterable<V> {
      * capacidad de carga
      */
     private void doblar_capacidad_arreglo() {
-        int indice = 0;
-        Lista<Entrada>[] nuevasEntradas = nuevoArreglo(entradas.length * 2);
+        redimensiona(entradas.length * 2, incremental);
+    }
+
+    /* Cambia el arreglo de cubetas por uno de la capacidad recibida. Si es
+     * gradual sólo comienza la migración; en otro caso vuelve a dispersar
+     * todas las entradas. */
+    private void redimensiona(int capacidad, boolean gradual) {
+        if (viejas != null) {
+            // Una redimensión gradual no termina de golpe la migración
+            // pendiente: espera a que acabe, y la siguiente operación que
+            // cruce el umbral la vuelve a pedir
+            if (gradual && elementos > 0)
+                return;
+            migra(viejas.length);
+        }
+        Coleccion<Entrada>[] nuevasEntradas = nuevoArreglo(capacidad);
+        if (gradual && elementos > 0) {
+            viejas = entradas;
+            migradas = 0;
+            entradas = nuevasEntradas;
+            porOperacion = cubetasPorOperacion();
+            return;
+        }
         for (int i = 0; i < entradas.length; i++) {
             if (entradas[i] != null) {
-                // Agregamos las entradas en el nuevo arreglo, otra vez redefiniendo su indice pues
-                // el tamaño aumentó
-                for (Entrada entrada : entradas[i]) {
-                    indice = dispersor.dispersa(entrada.llave) & (nuevasEntradas.length - 1);
-                    if (nuevasEntradas[indice] == null) {
-                        nuevasEntradas[indice] = new Lista<Entrada>();
-                        nuevasEntradas[indice].agrega(entrada);
-                    } else
-                        nuevasEntradas[indice].agrega(entrada);
-                }
+                // Agregamos las entradas en el nuevo arreglo; la dispersión
+                // guardada nos da su índice sin volver a calcularla
+                for (Entrada entrada : entradas[i])
+                    agregaEntrada(nuevasEntradas, entrada);
             }
         }
         entradas = nuevasEntradas;
     }
 
+    /* Regresa la entrada de la llave, o null si no existe. */
+    private Entrada entrada(K llave) {
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Coleccion<Entrada>[] cubetas = cubetas(dispersion);
+        return busca(cubetas[dispersion & (cubetas.length - 1)],
+                     dispersion, llave);
+    }
+
     /**
      * Regresa el valor del diccionario asociado a la llave proporcionada.
      * 
@@ -268,14 +564,27 @@ public class Diccionario<K, V> implements Iterable<V> {
     public V get(K llave) {
         if (llave == null)
             throw new IllegalArgumentException("La llave es inválida");
-        int i = dispersor.dispersa(llave) & getMascara();
-        if (entradas[i] == null)
-            throw new NoSuchElementException("No existe el elemento");
-        for (Entrada entrada : entradas[i]) {
-            if (entrada.llave.equals(llave))
-                return entrada.valor;
-        }
-        throw new NoSuchElementException("No se encontró el elemento");
+        Entrada entrada = entrada(llave);
+        if (entrada == null)
+            throw new NoSuchElementException("No se encontró el elemento");
+        return entrada.valor;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada, o
+     * <code>null</code> si la llave no está en el diccionario. A diferencia de
+     * {@link #get}, una llave ausente no es un error, así que sirve para
+     * consultar y obtener el valor en una sola búsqueda.
+     *
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave, o <code>null</code> si la
+     *         llave no está en el diccionario o es nula.
+     */
+    public V busca(K llave) {
+        if (llave == null)
+            return null;
+        Entrada entrada = entrada(llave);
+        return entrada == null ? null : entrada.valor;
     }
 
     // Aquí va tu código
@@ -289,14 +598,7 @@ public class Diccionario<K, V> implements Iterable<V> {
     public boolean contiene(K llave) {
         if (llave == null)
             return false;
-        int i = dispersor.dispersa(llave) & getMascara();
-        if (entradas[i] == null)
-            return false;
-        for (Entrada entrada : entradas[i]) {
-            if (entrada.llave.equals(llave))
-                return true;
-        }
-        return false;
+        return entrada(llave) != null;
     }
 
     /**
@@ -308,23 +610,227 @@ public class Diccionario<K, V> implements Iterable<V> {
      *                                  el diccionario.
      */
     public void elimina(K llave) {
-        if (llave == null) 
+        if (llave == null)
             throw new IllegalArgumentException("Llave inválida");
-        
-        int i = dispersor.dispersa(llave) & getMascara();
-        if (entradas[i] == null) 
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Coleccion<Entrada>[] cubetas = cubetas(dispersion);
+        int i = dispersion & (cubetas.length - 1);
+        Entrada entrada = busca(cubetas[i], dispersion, llave);
+        if (entrada == null)
             throw new NoSuchElementException("No se encontró la llave");
-        
-        for(Entrada entrada : entradas[i]){
-          if(entrada.llave.equals(llave)) entradas[i].elimina(entrada);
-          if(entradas[i].esVacia())
-            entradas[i] = null;
-          elementos--;
-          break;
+        eliminaEntrada(cubetas, i, entrada);
+        encoge();
+    }
+
+    /* Si la carga bajó de la mínima, reduce la capacidad a la mitad las veces
+     * necesarias, sin bajar de la capacidad inicial. Como la carga mínima es
+     * menor que la mitad de la máxima, la carga después de encoger queda por
+     * debajo de la máxima. */
+    private void encoge() {
+        int capacidad = entradas.length;
+        while (capacidad > capacidadInicial &&
+               (elementos + 0.0) / capacidad < cargaMinima)
+            capacidad /= 2;
+        if (capacidad != entradas.length)
+            redimensiona(capacidad, incremental);
+    }
+
+    /* Elimina la entrada de la cubeta i del arreglo recibido, regresando la
+     * cubeta a lista si baja del umbral. */
+    private void eliminaEntrada(Coleccion<Entrada>[] cubetas, int i,
+                                Entrada entrada) {
+        cubetas[i].elimina(entrada);
+        if (cubetas[i].esVacia())
+            cubetas[i] = null;
+        else if (cubetas[i] instanceof ArbolRojinegro &&
+                 cubetas[i].getElementos() <= UMBRAL_LISTA)
+            cubetas[i] = aLista(cubetas[i]);
+        elementos--;
+    }
+
+    /* Regresa los índices de las dispersiones ordenados por la cubeta que
+     * les toca en un arreglo de la capacidad recibida, para procesar un lote
+     * recorriendo las cubetas en orden. Es un ordenamiento por cuentas sobre
+     * los bits altos del índice, así que agrupa cubetas contiguas sin costar
+     * más que el tamaño del lote aunque la capacidad sea mucho mayor; es
+     * estable, así que las llaves repetidas conservan su orden. */
+    private static int[] ordenPorCubeta(int[] dispersiones, int capacidad) {
+        int n = dispersiones.length;
+        int grupos = 1;
+        while (grupos < n && grupos < capacidad)
+            grupos *= 2;
+        int corrimiento = Integer.numberOfTrailingZeros(capacidad) -
+            Integer.numberOfTrailingZeros(grupos);
+        int mascara = capacidad - 1;
+        int[] cuentas = new int[grupos + 1];
+        for (int d : dispersiones)
+            cuentas[((d & mascara) >>> corrimiento) + 1]++;
+        for (int g = 0; g < grupos; g++)
+            cuentas[g + 1] += cuentas[g];
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++)
+            orden[cuentas[(dispersiones[i] & mascara) >>> corrimiento]++] = i;
+        return orden;
+    }
+
+    /* Regresa las dispersiones de las llaves. */
+    private int[] dispersa(K[] llaves) {
+        int[] dispersiones = new int[llaves.length];
+        for (int i = 0; i < llaves.length; i++)
+            dispersiones[i] = dispersor.dispersa(llaves[i]);
+        return dispersiones;
+    }
+
+    /* Revisa que el arreglo de llaves y ninguna de ellas sean nulos. */
+    private static void revisaLlaves(Object[] llaves) {
+        if (llaves == null)
+            throw new IllegalArgumentException("Llaves inválidas");
+        for (Object llave : llaves)
+            if (llave == null)
+                throw new IllegalArgumentException("Llave inválida");
+    }
+
+    /* Avanza la migración en curso lo que avanzarían n operaciones
+     * individuales. */
+    private void migraLote(int n) {
+        if (viejas != null)
+            migra((int)Math.min((long)n * porOperacion, viejas.length));
+    }
+
+    /**
+     * Agrega todas las llaves con sus valores al diccionario; la llave en la
+     * posición <em>i</em> se asocia al valor en la posición <em>i</em>. Es
+     * equivalente a llamar {@link #agrega} con cada pareja en orden (si una
+     * llave se repite, se queda con su último valor), pero el diccionario
+     * crece una sola vez a partir del tamaño del lote y las entradas se
+     * agregan recorriendo las cubetas en orden.
+     *
+     * @param llaves  las llaves a agregar.
+     * @param valores los valores a agregar.
+     * @throws IllegalArgumentException si alguno de los arreglos, alguna llave
+     *         o algún valor son nulos, o si los arreglos tienen longitudes
+     *         distintas. En ese caso el diccionario no se modifica.
+     */
+    public void agregaTodos(K[] llaves, V[] valores) {
+        revisaLlaves(llaves);
+        if (valores == null || valores.length != llaves.length)
+            throw new IllegalArgumentException("Valores inválidos");
+        for (V valor : valores)
+            if (valor == null)
+                throw new IllegalArgumentException("Valor inválido");
+        int n = llaves.length;
+        if (n == 0)
+            return;
+        // Crecemos de una vez para todo el lote, aunque el diccionario sea
+        // incremental: el lote ya es una operación proporcional a su tamaño
+        int capacidad = entradas.length;
+        while ((elementos + n + 0.0) / capacidad >= MAXIMA_CARGA)
+            capacidad *= 2;
+        if (capacidad != entradas.length)
+            redimensiona(capacidad, false);
+        else
+            migraLote(n);
+        int[] dispersiones = dispersa(llaves);
+        for (int i : ordenPorCubeta(dispersiones, entradas.length)) {
+            int dispersion = dispersiones[i];
+            Coleccion<Entrada>[] cubetas = cubetas(dispersion);
+            Entrada entrada = busca(cubetas[dispersion & (cubetas.length - 1)],
+                                    dispersion, llaves[i]);
+            if (entrada != null) {
+                entrada.valor = valores[i];
+                continue;
+            }
+            agregaEntrada(cubetas,
+                          new Entrada(llaves[i], valores[i], dispersion));
+            elementos++;
         }
     }
 
+    /* Busca las llaves y regresa cuántas encontró. Si el arreglo de valores
+     * no es nulo, guarda en cada posición el valor de la llave en la misma
+     * posición, o null si no está. */
+    private int buscaTodos(K[] llaves, V[] valores) {
+        migraLote(llaves.length);
+        int[] dispersiones = dispersa(llaves);
+        int c = 0;
+        for (int i : ordenPorCubeta(dispersiones, entradas.length)) {
+            int dispersion = dispersiones[i];
+            Coleccion<Entrada>[] cubetas = cubetas(dispersion);
+            Entrada entrada = busca(cubetas[dispersion & (cubetas.length - 1)],
+                                    dispersion, llaves[i]);
+            if (entrada != null)
+                c++;
+            if (valores != null)
+                valores[i] = entrada == null ? null : entrada.valor;
+        }
+        return c;
+    }
+
+    /**
+     * Copia en el arreglo de valores los valores asociados a las llaves; en
+     * la posición <em>i</em> queda el valor de la llave en la posición
+     * <em>i</em>, o <code>null</code> si la llave no está en el diccionario.
+     *
+     * @param llaves  las llaves a buscar.
+     * @param valores el arreglo donde se guardan los valores.
+     * @return el número de llaves encontradas.
+     * @throws IllegalArgumentException si alguno de los arreglos o alguna
+     *         llave son nulos, o si los arreglos tienen longitudes distintas.
+     */
+    public int getTodos(K[] llaves, V[] valores) {
+        revisaLlaves(llaves);
+        if (valores == null || valores.length != llaves.length)
+            throw new IllegalArgumentException("Valores inválidos");
+        return buscaTodos(llaves, valores);
+    }
+
+    /**
+     * Nos dice si todas las llaves se encuentran en el diccionario.
+     *
+     * @param llaves las llaves que queremos ver si están en el diccionario.
+     * @return <code>true</code> si todas las llaves están en el diccionario,
+     *         <code>false</code> en otro caso (en particular, si alguna es
+     *         nula).
+     * @throws IllegalArgumentException si el arreglo de llaves es nulo.
+     */
+    public boolean contieneTodos(K[] llaves) {
+        if (llaves == null)
+            throw new IllegalArgumentException("Llaves inválidas");
+        for (K llave : llaves)
+            if (llave == null)
+                return false;
+        return buscaTodos(llaves, null) == llaves.length;
+    }
 
+    /**
+     * Elimina del diccionario los valores asociados a las llaves. A
+     * diferencia de {@link #elimina}, las llaves que no están en el
+     * diccionario se ignoran.
+     *
+     * @param llaves las llaves a eliminar.
+     * @return el número de entradas eliminadas.
+     * @throws IllegalArgumentException si el arreglo de llaves o alguna llave
+     *         son nulos. En ese caso el diccionario no se modifica.
+     */
+    public int eliminaTodos(K[] llaves) {
+        revisaLlaves(llaves);
+        migraLote(llaves.length);
+        int[] dispersiones = dispersa(llaves);
+        int c = 0;
+        for (int i : ordenPorCubeta(dispersiones, entradas.length)) {
+            int dispersion = dispersiones[i];
+            Coleccion<Entrada>[] cubetas = cubetas(dispersion);
+            int j = dispersion & (cubetas.length - 1);
+            Entrada entrada = busca(cubetas[j], dispersion, llaves[i]);
+            if (entrada == null)
+                continue;
+            eliminaEntrada(cubetas, j, entrada);
+            c++;
+        }
+        encoge();
+        return c;
+    }
 
     /**
      * Nos dice cuántas colisiones hay en el diccionario.
@@ -332,10 +838,19 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return cuántas colisiones hay en el diccionario.
      */
     public int colisiones() {
+        int colisiones = colisiones(entradas, 0);
+        if (viejas != null)
+            colisiones += colisiones(viejas, migradas);
+        return colisiones;
+    }
+
+    /* Cuenta las colisiones en las cubetas a partir del índice recibido. */
+    private int colisiones(Coleccion<Entrada>[] cubetas, int desde) {
         int colisiones = 0;
-        for (Lista<Entrada> lista : entradas) {
-            if (lista != null && lista.getLongitud() > 1) {
-                colisiones += lista.getLongitud() - 1;
+        for (int i = desde; i < cubetas.length; i++) {
+            Coleccion<Entrada> lista = cubetas[i];
+            if (lista != null && lista.getElementos() > 1) {
+                colisiones += lista.getElementos() - 1;
             }
         }
         return colisiones;
@@ -348,15 +863,58 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return el máximo número de colisiones para una misma llave.
      */
     public int colisionMaxima() {
+        int maxColision = colisionMaxima(entradas, 0);
+        if (viejas != null)
+            maxColision = Math.max(maxColision, colisionMaxima(viejas, migradas));
+        return maxColision;
+    }
+
+    /* Calcula la colisión máxima en las cubetas a partir del índice
+     * recibido. */
+    private int colisionMaxima(Coleccion<Entrada>[] cubetas, int desde) {
         int maxColision = 0;
-        for (Lista<Entrada> lista : entradas) {
+        for (int i = desde; i < cubetas.length; i++) {
+            Coleccion<Entrada> lista = cubetas[i];
             if (lista != null) {
-                maxColision = Math.max(maxColision, lista.getLongitud() - 1);
+                maxColision = Math.max(maxColision, lista.getElementos() - 1);
             }
         }
         return maxColision;
     }
 
+    /**
+     * Nos dice cuántas cubetas del diccionario están convertidas en árbol,
+     * porque acumularon más de {@link #UMBRAL_ARBOL} entradas.
+     *
+     * @return cuántas cubetas son árboles.
+     */
+    public int cubetasArbolizadas() {
+        int arboles = cubetasArbolizadas(entradas, 0);
+        if (viejas != null)
+            arboles += cubetasArbolizadas(viejas, migradas);
+        return arboles;
+    }
+
+    /**
+     * Nos dice cuántas cubetas viejas faltan por migrar en la redimensión
+     * incremental en curso.
+     *
+     * @return cuántas cubetas faltan por migrar; 0 si no hay migración en
+     *         curso.
+     */
+    public int cubetasPorMigrar() {
+        return viejas == null ? 0 : viejas.length - migradas;
+    }
+
+    /* Cuenta las cubetas que son árboles a partir del índice recibido. */
+    private int cubetasArbolizadas(Coleccion<Entrada>[] cubetas, int desde) {
+        int arboles = 0;
+        for (int i = desde; i < cubetas.length; i++)
+            if (cubetas[i] instanceof ArbolRojinegro)
+                arboles++;
+        return arboles;
+    }
+
     /**
      * Nos dice la carga del diccionario.
      * 
@@ -366,6 +924,47 @@ public class Diccionario<K, V> implements Iterable<V> {
         return (double) elementos / entradas.length;
     }
 
+    /**
+     * Regresa la carga mínima del diccionario.
+     *
+     * @return la carga debajo de la cual el diccionario se encoge al
+     *         eliminar.
+     */
+    public double getCargaMinima() {
+        return cargaMinima;
+    }
+
+    /**
+     * Define la carga mínima del diccionario: si al eliminar la carga baja de
+     * ella, el diccionario reduce su capacidad a la mitad, aunque nunca por
+     * debajo de su capacidad inicial. Con 0 el diccionario nunca se encoge
+     * solo.
+     *
+     * @param cargaMinima la nueva carga mínima.
+     * @throws IllegalArgumentException si la carga mínima es negativa, o no
+     *         es menor que la mitad de {@link #MAXIMA_CARGA} (con una mayor,
+     *         el diccionario podría encogerse y crecer alternadamente).
+     */
+    public void setCargaMinima(double cargaMinima) {
+        if (!(cargaMinima >= 0 && cargaMinima < MAXIMA_CARGA / 2))
+            throw new IllegalArgumentException("Carga mínima inválida");
+        this.cargaMinima = cargaMinima;
+        encoge();
+    }
+
+    /**
+     * Reduce la capacidad del diccionario a la menor que le corresponde a su
+     * número de elementos, aunque sea menor que la capacidad inicial, y
+     * termina cualquier migración pendiente.
+     */
+    public void compacta() {
+        if (viejas != null)
+            migra(viejas.length);
+        int capacidad = getPotencia(elementos);
+        if (capacidad < entradas.length)
+            redimensiona(capacidad, false);
+    }
+
     /**
      * Regresa el número de entradas en el diccionario.
      * 
@@ -390,6 +989,8 @@ public class Diccionario<K, V> implements Iterable<V> {
      */
     public void limpia() {
         entradas = nuevoArreglo(entradas.length);
+        viejas = null;
+        migradas = 0;
         elementos = 0;
     }
 
@@ -403,11 +1004,10 @@ public class Diccionario<K, V> implements Iterable<V> {
         if (elementos == 0)
             return "{}";
         StringBuilder res = new StringBuilder("{ ");
-        for (int i = 0; i < entradas.length; i++) {
-            if (entradas[i] != null) {
-                for (Entrada entrada : entradas[i])
-                    res.append(String.format("'%s': '%s', ", entrada.llave, entrada.valor));
-            }
+        Iterador iterador = new Iterador();
+        while (iterador.hasNext()) {
+            Entrada entrada = iterador.siguiente();
+            res.append(String.format("'%s': '%s', ", entrada.llave, entrada.valor));
         }
         return res.append("}").toString();
     }
@@ -464,17 +1064,17 @@ public class Diccionario<K, V> implements Iterable<V> {
      * Método para aumentar la capacidad del arreglo al limpiar el diccionario.
      */
     public void limpiaConCapacidad(int capacidad) {
-        if (capacidad < MINIMA_CAPACIDAD) {
-            capacidad = MINIMA_CAPACIDAD;
-        }
-        entradas = nuevoArreglo(capacidad);
+        entradas = nuevoArreglo(getPotencia(capacidad));
+        capacidadInicial = entradas.length;
+        viejas = null;
+        migradas = 0;
         elementos = 0;
     }
 
     /**
      * Clase interna para la lista.
      */
-    private class Lista<T> implements Iterable<T> {
+    private class Lista<T> implements Coleccion<T> {
         private class Nodo {
             T elemento;
             Nodo siguiente;
@@ -503,10 +1103,22 @@ public class Diccionario<K, V> implements Iterable<V> {
             return cabeza == null;
         }
 
-        public int getLongitud() {
+        public int getElementos() {
             return longitud;
         }
 
+        public boolean contiene(T elemento) {
+            for (Nodo nodo = cabeza; nodo != null; nodo = nodo.siguiente)
+                if (nodo.elemento.equals(elemento))
+                    return true;
+            return false;
+        }
+
+        public void limpia() {
+            cabeza = rabo = null;
+            longitud = 0;
+        }
+
         public void elimina(T elemento) {
             if (cabeza == null)
                 return;
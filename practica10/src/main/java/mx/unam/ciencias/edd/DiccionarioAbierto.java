@@ -0,0 +1,439 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios con direccionamiento abierto. A diferencia de
+ * {@link Diccionario}, que encadena las colisiones en listas, este diccionario
+ * guarda llaves y valores directamente en arreglos paralelos y resuelve las
+ * colisiones con sondeo lineal.</p>
+ *
+ * <p>Las entradas eliminadas se marcan con una lápida, para no romper las
+ * secuencias de sondeo de las llaves que colisionaron con ellas; las lápidas se
+ * descartan cada vez que el diccionario se redimensiona.</p>
+ *
+ * <p>Los métodos {@link #colisiones} y {@link #colisionMaxima} reportan las
+ * longitudes de sondeo: qué tan lejos quedó cada llave de la posición que le
+ * asigna el dispersor.</p>
+ */
+public class DiccionarioAbierto<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* La siguiente posición ocupada. */
+        private int indice;
+
+        /* Construye un nuevo iterador, colocándolo en la primera posición
+         * ocupada. */
+        public Iterador() {
+            indice = -1;
+            mueveIterador();
+        }
+
+        /* Nos dice si hay una siguiente posición ocupada. */
+        public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa la siguiente posición ocupada. */
+        public int siguiente() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException("No hay más elementos");
+            int i = indice;
+            mueveIterador();
+            return i;
+        }
+
+        /* Mueve el iterador a la siguiente posición ocupada. */
+        private void mueveIterador() {
+            do {
+                indice++;
+            } while (indice < llaves.length && !ocupada(indice));
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador implements Iterator<K> {
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return llave(super.siguiente());
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<V> {
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valores[super.siguiente()];
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Marca para las posiciones cuya entrada fue eliminada. */
+    private static final Object LAPIDA = new Object();
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Las llaves; null si la posición está libre, LAPIDA si fue eliminada. */
+    private Object[] llaves;
+    /* Los valores, paralelos a las llaves. */
+    private V[] valores;
+    /* Las dispersiones de las llaves, para no volver a calcularlas. */
+    private int[] dispersiones;
+    /* Número de valores. */
+    private int elementos;
+    /* Número de posiciones con lápida. */
+    private int lapidas;
+
+    /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked")
+    private V[] nuevoArreglo(int n) {
+        return (V[])new Object[n];
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public DiccionarioAbierto() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un dispersor predeterminado.
+     *
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     *
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     *
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad, Dispersor<K> dispersor) {
+        this.dispersor = dispersor;
+        inicializa(getPotencia(capacidad));
+    }
+
+    /* Calcula la potencia de 2 que usamos como capacidad; igual que en
+     * Diccionario, para que las cargas de ambos sean comparables. */
+    private int getPotencia(int n) {
+        n = (n < MINIMA_CAPACIDAD) ? MINIMA_CAPACIDAD : n;
+        int c = 1;
+        while (c < n * 2)
+            c *= 2;
+        return c;
+    }
+
+    /* Crea arreglos vacíos con la capacidad recibida. */
+    private void inicializa(int capacidad) {
+        llaves = new Object[capacidad];
+        valores = nuevoArreglo(capacidad);
+        dispersiones = new int[capacidad];
+        elementos = 0;
+        lapidas = 0;
+    }
+
+    /* Nos dice si la posición tiene una entrada viva. */
+    private boolean ocupada(int i) {
+        return llaves[i] != null && llaves[i] != LAPIDA;
+    }
+
+    /* Regresa la llave en una posición ocupada. */
+    @SuppressWarnings("unchecked")
+    private K llave(int i) {
+        return (K)llaves[i];
+    }
+
+    /* Regresa la posición de la llave, o -1 si no está en el diccionario. */
+    private int busca(K llave, int dispersion) {
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        while (llaves[i] != null) {
+            if (llaves[i] != LAPIDA && dispersiones[i] == dispersion &&
+                llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     *
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        int dispersion = dispersor.dispersa(llave);
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        int libre = -1;
+        while (llaves[i] != null) {
+            if (llaves[i] == LAPIDA) {
+                if (libre == -1)
+                    libre = i;
+            } else if (dispersiones[i] == dispersion &&
+                       llaves[i].equals(llave)) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        if (libre != -1) {
+            // Reutilizamos la primera lápida de la secuencia de sondeo
+            i = libre;
+            lapidas--;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        dispersiones[i] = dispersion;
+        elementos++;
+        if ((elementos + lapidas + 0.0) / llaves.length >= MAXIMA_CARGA)
+            redimensiona();
+    }
+
+    /* Vuelve a colocar todas las entradas, descartando las lápidas. Si las
+     * lápidas ocupaban la mayor parte de la carga, la capacidad no cambia. */
+    private void redimensiona() {
+        Object[] viejasLlaves = llaves;
+        V[] viejosValores = valores;
+        int[] viejasDispersiones = dispersiones;
+        int capacidad = llaves.length;
+        if ((elementos + 0.0) / capacidad >= MAXIMA_CARGA / 2)
+            capacidad *= 2;
+        int n = elementos;
+        inicializa(capacidad);
+        int mascara = capacidad - 1;
+        for (int j = 0; j < viejasLlaves.length; j++) {
+            if (viejasLlaves[j] == null || viejasLlaves[j] == LAPIDA)
+                continue;
+            int i = viejasDispersiones[j] & mascara;
+            while (llaves[i] != null)
+                i = (i + 1) & mascara;
+            llaves[i] = viejasLlaves[j];
+            valores[i] = viejosValores[j];
+            dispersiones[i] = viejasDispersiones[j];
+        }
+        elementos = n;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException   si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave es inválida");
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i == -1)
+            throw new NoSuchElementException("No se encontró el elemento");
+        return valores[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     *
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+        return busca(llave, dispersor.dispersa(llave)) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException   si la llave no se encuentra en
+     *                                  el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i == -1)
+            throw new NoSuchElementException("No se encontró la llave");
+        valores[i] = null;
+        elementos--;
+        // Si la siguiente posición está libre ninguna secuencia de sondeo
+        // pasa por aquí, y no hace falta la lápida
+        if (llaves[(i + 1) & (llaves.length - 1)] == null) {
+            llaves[i] = null;
+        } else {
+            llaves[i] = LAPIDA;
+            lapidas++;
+        }
+    }
+
+    /* Regresa la longitud de sondeo de la entrada en la posición i. */
+    private int sondeo(int i) {
+        return (i - dispersiones[i]) & (llaves.length - 1);
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario. En direccionamiento
+     * abierto, una colisión es cada posición que una llave tuvo que recorrer
+     * más allá de la que le asigna el dispersor, así que el resultado es la
+     * suma de las longitudes de sondeo.
+     *
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int colisiones = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (ocupada(i))
+                colisiones += sondeo(i);
+        return colisiones;
+    }
+
+    /**
+     * Nos dice la máxima longitud de sondeo que tenemos en el diccionario.
+     *
+     * @return el máximo número de posiciones que una llave está desplazada de
+     *         la que le asigna el dispersor.
+     */
+    public int colisionMaxima() {
+        int maxColision = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (ocupada(i))
+                maxColision = Math.max(maxColision, sondeo(i));
+        return maxColision;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     *
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double) elementos / llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     *
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     *
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(llaves.length);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     *
+     * @return una representación en cadena del diccionario.
+     */
+    @Override
+    public String toString() {
+        if (elementos == 0)
+            return "{}";
+        StringBuilder res = new StringBuilder("{ ");
+        for (int i = 0; i < llaves.length; i++)
+            if (ocupada(i))
+                res.append(String.format("'%s': '%s', ", llaves[i], valores[i]));
+        return res.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     *
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioAbierto, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked")
+        DiccionarioAbierto<K, V> d = (DiccionarioAbierto<K, V>) o;
+        if (d.elementos != elementos)
+            return false;
+        for (int i = 0; i < llaves.length; i++) {
+            if (!ocupada(i))
+                continue;
+            int j = d.busca(llave(i), d.dispersor.dispersa(llave(i)));
+            if (j == -1 || !d.valores[j].equals(valores[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -0,0 +1,458 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Clase para diccionarios que pueden usarse desde varios hilos a la vez.
+ * El arreglo de cubetas está dividido en segmentos, cada uno con su propio
+ * candado; las escrituras sólo bloquean el segmento de su llave, y las
+ * lecturas no bloquean nunca.</p>
+ *
+ * <p>Las cadenas de cada cubeta son inmutables salvo por el valor de cada
+ * nodo: agregar una llave pone un nodo nuevo al inicio de la cadena, y
+ * eliminarla copia los nodos que la preceden. Así un lector que recorre una
+ * cadena siempre ve una cadena consistente, aunque un escritor la esté
+ * cambiando.</p>
+ *
+ * <p>Los iteradores son débilmente consistentes: nunca lanzan excepciones
+ * por modificaciones concurrentes, regresan cada llave a lo más una vez, y
+ * pueden o no reflejar los cambios hechos después de crearlos.</p>
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para nodos de las cadenas. */
+    private static final class Nodo<K, V> {
+
+        /* La llave. */
+        public final K llave;
+        /* La dispersión de la llave. */
+        public final int dispersion;
+        /* El siguiente nodo. */
+        public final Nodo<K, V> siguiente;
+        /* El valor. */
+        public volatile V valor;
+
+        /* Construye un nuevo nodo. */
+        public Nodo(K llave, int dispersion, V valor, Nodo<K, V> siguiente) {
+            this.llave = llave;
+            this.dispersion = dispersion;
+            this.valor = valor;
+            this.siguiente = siguiente;
+        }
+    }
+
+    /* Clase interna privada para segmentos. */
+    private static final class Segmento<K, V> extends ReentrantLock {
+
+        /* Las cubetas del segmento. */
+        public volatile AtomicReferenceArray<Nodo<K, V>> cubetas;
+        /* Número de valores en el segmento. */
+        public volatile int elementos;
+
+        /* Construye un segmento con la capacidad recibida. */
+        public Segmento(int capacidad) {
+            cubetas = new AtomicReferenceArray<Nodo<K, V>>(capacidad);
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* El segmento que recorremos. */
+        private int segmento;
+        /* Las cubetas del segmento al llegar a él. */
+        private AtomicReferenceArray<Nodo<K, V>> cubetas;
+        /* La cubeta que recorremos. */
+        private int indice;
+        /* El siguiente nodo. */
+        private Nodo<K, V> siguiente;
+
+        /* Construye un nuevo iterador, colocándolo en el primer nodo. */
+        public Iterador() {
+            segmento = -1;
+            indice = -1;
+            mueveIterador();
+        }
+
+        /* Nos dice si hay un siguiente nodo. */
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Regresa el siguiente nodo. */
+        protected Nodo<K, V> siguiente() {
+            if (siguiente == null)
+                throw new NoSuchElementException("No hay más elementos");
+            Nodo<K, V> nodo = siguiente;
+            siguiente = siguiente.siguiente;
+            if (siguiente == null)
+                mueveIterador();
+            return nodo;
+        }
+
+        /* Mueve el iterador al primer nodo de la siguiente cubeta no vacía. */
+        private void mueveIterador() {
+            while (true) {
+                if (cubetas != null) {
+                    while (++indice < cubetas.length()) {
+                        siguiente = cubetas.get(indice);
+                        if (siguiente != null)
+                            return;
+                    }
+                }
+                if (++segmento >= segmentos.length) {
+                    siguiente = null;
+                    return;
+                }
+                cubetas = segmentos[segmento].cubetas;
+                indice = -1;
+            }
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador implements Iterator<K> {
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return super.siguiente().llave;
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<V> {
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return super.siguiente().valor;
+        }
+    }
+
+    /** Máxima carga permitida por cada segmento. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /** Número de segmentos predeterminado. */
+    public static final int SEGMENTOS = 16;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Capacidad mínima de cada segmento. */
+    private static final int MINIMA_CAPACIDAD_SEGMENTO = 4;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Los segmentos. */
+    private Segmento<K, V>[] segmentos;
+    /* Cuántos bits desplazamos la dispersión para elegir segmento. */
+    private int desplazamiento;
+
+    /**
+     * Construye un diccionario con una capacidad inicial, número de segmentos
+     * y dispersor predeterminados.
+     */
+    public DiccionarioConcurrente() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     *
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     *
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, dispersor, SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, un método de
+     * dispersor y un número de segmentos definidos por el usuario. El número
+     * de segmentos se redondea a una potencia de 2, y acota cuántos hilos
+     * pueden escribir a la vez.
+     *
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     * @param segmentos el número de segmentos.
+     * @throws IllegalArgumentException si el número de segmentos no es
+     *                                  positivo.
+     */
+    @SuppressWarnings("unchecked")
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor,
+                                  int segmentos) {
+        if (segmentos < 1)
+            throw new IllegalArgumentException("Número de segmentos inválido");
+        this.dispersor = dispersor;
+        int n = 1, bits = 0;
+        while (n < segmentos) {
+            n *= 2;
+            bits++;
+        }
+        desplazamiento = 32 - bits;
+        int porSegmento = getPotencia(capacidad) / n;
+        if (porSegmento < MINIMA_CAPACIDAD_SEGMENTO)
+            porSegmento = MINIMA_CAPACIDAD_SEGMENTO;
+        this.segmentos = (Segmento<K, V>[])new Segmento[n];
+        for (int i = 0; i < n; i++)
+            this.segmentos[i] = new Segmento<K, V>(porSegmento);
+    }
+
+    /* Calcula la potencia de 2 que usamos como capacidad. */
+    private int getPotencia(int n) {
+        n = (n < MINIMA_CAPACIDAD) ? MINIMA_CAPACIDAD : n;
+        int c = 1;
+        while (c < n * 2)
+            c *= 2;
+        return c;
+    }
+
+    /* Mezcla la dispersión del usuario, para que los bits altos (que eligen
+     * el segmento) y los bajos (que eligen la cubeta) dependan de toda la
+     * llave. */
+    private int dispersa(K llave) {
+        return Dispersores.dispersaEntero(dispersor.dispersa(llave));
+    }
+
+    /* Regresa el segmento de la dispersión recibida. */
+    private Segmento<K, V> segmento(int dispersion) {
+        if (segmentos.length == 1)
+            return segmentos[0];
+        return segmentos[dispersion >>> desplazamiento];
+    }
+
+    /* Regresa el nodo de la llave, o null si no está en el diccionario. */
+    private Nodo<K, V> busca(K llave) {
+        int dispersion = dispersa(llave);
+        AtomicReferenceArray<Nodo<K, V>> cubetas = segmento(dispersion).cubetas;
+        Nodo<K, V> nodo = cubetas.get(dispersion & (cubetas.length() - 1));
+        while (nodo != null) {
+            if (nodo.dispersion == dispersion && nodo.llave.equals(llave))
+                return nodo;
+            nodo = nodo.siguiente;
+        }
+        return null;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     *
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        int dispersion = dispersa(llave);
+        Segmento<K, V> segmento = segmento(dispersion);
+        segmento.lock();
+        try {
+            AtomicReferenceArray<Nodo<K, V>> cubetas = segmento.cubetas;
+            int i = dispersion & (cubetas.length() - 1);
+            Nodo<K, V> cabeza = cubetas.get(i);
+            for (Nodo<K, V> nodo = cabeza; nodo != null; nodo = nodo.siguiente) {
+                if (nodo.dispersion == dispersion && nodo.llave.equals(llave)) {
+                    nodo.valor = valor;
+                    return;
+                }
+            }
+            cubetas.set(i, new Nodo<K, V>(llave, dispersion, valor, cabeza));
+            int elementos = segmento.elementos + 1;
+            segmento.elementos = elementos;
+            if ((elementos + 0.0) / cubetas.length() >= MAXIMA_CARGA)
+                doblaCapacidad(segmento);
+        } finally {
+            segmento.unlock();
+        }
+    }
+
+    /* Dobla la capacidad del segmento. Se llama con el candado del segmento
+     * tomado. Los nodos se copian en lugar de moverse, para que los lectores
+     * que todavía recorren las cubetas viejas vean las cadenas completas. */
+    private void doblaCapacidad(Segmento<K, V> segmento) {
+        AtomicReferenceArray<Nodo<K, V>> viejas = segmento.cubetas;
+        AtomicReferenceArray<Nodo<K, V>> nuevas =
+            new AtomicReferenceArray<Nodo<K, V>>(viejas.length() * 2);
+        int mascara = nuevas.length() - 1;
+        for (int i = 0; i < viejas.length(); i++) {
+            for (Nodo<K, V> nodo = viejas.get(i); nodo != null; nodo = nodo.siguiente) {
+                int j = nodo.dispersion & mascara;
+                nuevas.set(j, new Nodo<K, V>(nodo.llave, nodo.dispersion,
+                                             nodo.valor, nuevas.get(j)));
+            }
+        }
+        segmento.cubetas = nuevas;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave es inválida");
+        Nodo<K, V> nodo = busca(llave);
+        if (nodo == null)
+            throw new NoSuchElementException("No existe el elemento");
+        return nodo.valor;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     *
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return llave != null && busca(llave) != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave proporcionada es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en el
+     *                                diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        int dispersion = dispersa(llave);
+        Segmento<K, V> segmento = segmento(dispersion);
+        segmento.lock();
+        try {
+            AtomicReferenceArray<Nodo<K, V>> cubetas = segmento.cubetas;
+            int i = dispersion & (cubetas.length() - 1);
+            Nodo<K, V> cabeza = cubetas.get(i);
+            Nodo<K, V> nodo = cabeza;
+            while (nodo != null &&
+                   !(nodo.dispersion == dispersion && nodo.llave.equals(llave)))
+                nodo = nodo.siguiente;
+            if (nodo == null)
+                throw new NoSuchElementException("No se encontró la llave");
+            // Copiamos los nodos anteriores al eliminado
+            Nodo<K, V> nueva = nodo.siguiente;
+            for (Nodo<K, V> n = cabeza; n != nodo; n = n.siguiente)
+                nueva = new Nodo<K, V>(n.llave, n.dispersion, n.valor, nueva);
+            cubetas.set(i, nueva);
+            segmento.elementos = segmento.elementos - 1;
+        } finally {
+            segmento.unlock();
+        }
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario. Si otros hilos están
+     * modificando el diccionario, el número es sólo aproximado.
+     *
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        int elementos = 0;
+        for (Segmento<K, V> segmento : segmentos)
+            elementos += segmento.elementos;
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     *
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        for (Segmento<K, V> segmento : segmentos)
+            if (segmento.elementos != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     *
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        int capacidad = 0;
+        for (Segmento<K, V> segmento : segmentos)
+            capacidad += segmento.cubetas.length();
+        return (double) getElementos() / capacidad;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. Los segmentos se
+     * limpian uno por uno, así que una inserción concurrente puede
+     * sobrevivir.
+     */
+    public void limpia() {
+        for (Segmento<K, V> segmento : segmentos) {
+            segmento.lock();
+            try {
+                int capacidad = segmento.cubetas.length();
+                segmento.cubetas = new AtomicReferenceArray<Nodo<K, V>>(capacidad);
+                segmento.elementos = 0;
+            } finally {
+                segmento.unlock();
+            }
+        }
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     *
+     * @return una representación en cadena del diccionario.
+     */
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("{ ");
+        Iterador iterador = new Iterador();
+        if (!iterador.hasNext())
+            return "{}";
+        while (iterador.hasNext()) {
+            Nodo<K, V> nodo = iterador.siguiente();
+            res.append(String.format("'%s': '%s', ", nodo.llave, nodo.valor));
+        }
+        return res.append("}").toString();
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar las llaves del
+     * diccionario. El diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar los valores del
+     * diccionario. El diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -0,0 +1,166 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios contadores. Un diccionario contador asocia a
+ * cada llave una cuenta entera, que se modifica en su lugar con {@link
+ * #incrementa}; sirve para contar frecuencias, por ejemplo de palabras en un
+ * texto.</p>
+ *
+ * <p>Las cuentas viven en un {@link Diccionario} como contadores mutables, así
+ * que incrementar una llave hace una sola búsqueda con {@link
+ * Diccionario#buscaOAgrega}, en lugar de un {@link Diccionario#get} seguido
+ * de un {@link Diccionario#agrega} con la cuenta nueva. Una llave cuya cuenta
+ * llega a cero se elimina del diccionario, así que las llaves que no están
+ * tienen cuenta cero.</p>
+ */
+public class DiccionarioContador<K> implements Iterable<K> {
+
+    /* Clase interna privada para contadores. */
+    private static class Contador {
+        /* La cuenta. */
+        public long cuenta;
+    }
+
+    /* Los contadores. */
+    private Diccionario<K, Contador> diccionario;
+    /* Contador para la siguiente llave nueva. */
+    private Contador repuesto;
+    /* La suma de todas las cuentas. */
+    private long total;
+
+    /**
+     * Construye un diccionario contador con una capacidad inicial y
+     * dispersor predeterminados.
+     */
+    public DiccionarioContador() {
+        this(0, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario contador con una capacidad inicial y
+     * dispersor definidos por el usuario.
+     * @param capacidad la capacidad inicial.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el dispersor es <code>null</code>.
+     */
+    public DiccionarioContador(int capacidad, Dispersor<K> dispersor) {
+        if (dispersor == null)
+            throw new IllegalArgumentException("Dispersor inválido");
+        diccionario = new Diccionario<K, Contador>(capacidad, dispersor);
+        repuesto = new Contador();
+    }
+
+    /**
+     * Incrementa en uno la cuenta de una llave.
+     * @param llave la llave.
+     * @return la cuenta nueva de la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     */
+    public long incrementa(K llave) {
+        return incrementa(llave, 1);
+    }
+
+    /**
+     * Suma a la cuenta de una llave el valor recibido, que puede ser
+     * negativo. Si la cuenta queda en cero, la llave se elimina.
+     * @param llave la llave.
+     * @param delta el valor a sumar a la cuenta.
+     * @return la cuenta nueva de la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     */
+    public long incrementa(K llave, long delta) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        if (delta == 0)
+            return get(llave);
+        Contador contador = diccionario.buscaOAgrega(llave, repuesto);
+        if (contador == repuesto)
+            repuesto = new Contador();
+        contador.cuenta += delta;
+        total += delta;
+        if (contador.cuenta == 0)
+            diccionario.elimina(llave);
+        return contador.cuenta;
+    }
+
+    /**
+     * Regresa la cuenta de una llave; cero si la llave no está.
+     * @param llave la llave.
+     * @return la cuenta de la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     */
+    public long get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        Contador contador = diccionario.busca(llave);
+        return contador == null ? 0 : contador.cuenta;
+    }
+
+    /**
+     * Nos dice si una llave tiene cuenta distinta de cero.
+     * @param llave la llave.
+     * @return <code>true</code> si la llave tiene cuenta distinta de cero,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return diccionario.contiene(llave);
+    }
+
+    /**
+     * Elimina una llave, dejando su cuenta en cero.
+     * @param llave la llave a eliminar.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     * @throws NoSuchElementException si la llave no está.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        total -= diccionario.get(llave).cuenta;
+        diccionario.elimina(llave);
+    }
+
+    /**
+     * Regresa el número de llaves con cuenta distinta de cero.
+     * @return el número de llaves con cuenta distinta de cero.
+     */
+    public int getElementos() {
+        return diccionario.getElementos();
+    }
+
+    /**
+     * Nos dice si el diccionario contador es vacío.
+     * @return <code>true</code> si ninguna llave tiene cuenta distinta de
+     *         cero, <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return diccionario.esVacia();
+    }
+
+    /**
+     * Regresa la suma de las cuentas de todas las llaves.
+     * @return la suma de las cuentas de todas las llaves.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Limpia el diccionario contador, dejando todas las cuentas en cero.
+     */
+    public void limpia() {
+        diccionario.limpia();
+        total = 0;
+    }
+
+    /**
+     * Regresa un iterador para las llaves con cuenta distinta de cero, sin
+     * ningún orden específico.
+     * @return un iterador para las llaves.
+     */
+    @Override public Iterator<K> iterator() {
+        return diccionario.iteradorLlaves();
+    }
+}
@@ -0,0 +1,413 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para diccionarios de enteros a objetos. Es la especialización de
+ * {@link Diccionario} para llaves primitivas: las llaves se guardan en un
+ * arreglo de <code>int</code> y los valores en un arreglo paralelo, con
+ * direccionamiento abierto y sondeo lineal, así que ninguna operación envuelve
+ * las llaves en objetos.</p>
+ *
+ * <p>El iterador de llaves es instancia de {@link PrimitiveIterator.OfInt}.</p>
+ */
+public class DiccionarioEnteroObjeto<V> implements Iterable<V> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* La siguiente posición ocupada. */
+        private int indice;
+
+        /* Construye un nuevo iterador, colocándolo en la primera posición
+         * ocupada. */
+        public Iterador() {
+            indice = -1;
+            mueveIterador();
+        }
+
+        /* Nos dice si hay una siguiente posición ocupada. */
+        public boolean hasNext() {
+            return indice < estados.length;
+        }
+
+        /* Regresa la siguiente posición ocupada. */
+        protected int siguiente() {
+            if (indice >= estados.length)
+                throw new NoSuchElementException("No hay más elementos");
+            int i = indice;
+            mueveIterador();
+            return i;
+        }
+
+        /* Mueve el iterador a la siguiente posición ocupada. */
+        private void mueveIterador() {
+            do {
+                indice++;
+            } while (indice < estados.length && estados[indice] != OCUPADA);
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements PrimitiveIterator.OfInt {
+        /* Regresa el siguiente elemento. */
+        @Override public int nextInt() {
+            return llaves[super.siguiente()];
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<V> {
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valores[super.siguiente()];
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Estado de una posición libre. */
+    private static final byte LIBRE = 0;
+    /* Estado de una posición ocupada. */
+    private static final byte OCUPADA = 1;
+    /* Estado de una posición cuya entrada fue eliminada. */
+    private static final byte LAPIDA = 2;
+
+    /* Dispersor. */
+    private DispersorEntero dispersor;
+    /* Las llaves. */
+    private int[] llaves;
+    /* Los valores, paralelos a las llaves. */
+    private V[] valores;
+    /* El estado de cada posición. */
+    private byte[] estados;
+    /* Número de valores. */
+    private int elementos;
+    /* Número de posiciones con lápida. */
+    private int lapidas;
+
+    /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked")
+    private V[] nuevoArreglo(int n) {
+        return (V[])new Object[n];
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public DiccionarioEnteroObjeto() {
+        this(MINIMA_CAPACIDAD, Dispersores::dispersaEntero);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un dispersor predeterminado.
+     *
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioEnteroObjeto(int capacidad) {
+        this(capacidad, Dispersores::dispersaEntero);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     *
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioEnteroObjeto(DispersorEntero dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     *
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioEnteroObjeto(int capacidad, DispersorEntero dispersor) {
+        this.dispersor = dispersor;
+        inicializa(getPotencia(capacidad));
+    }
+
+    /* Calcula la potencia de 2 que usamos como capacidad. */
+    private int getPotencia(int n) {
+        n = (n < MINIMA_CAPACIDAD) ? MINIMA_CAPACIDAD : n;
+        int c = 1;
+        while (c < n * 2)
+            c *= 2;
+        return c;
+    }
+
+    /* Crea arreglos vacíos con la capacidad recibida. */
+    private void inicializa(int capacidad) {
+        llaves = new int[capacidad];
+        valores = nuevoArreglo(capacidad);
+        estados = new byte[capacidad];
+        elementos = 0;
+        lapidas = 0;
+    }
+
+    /* Regresa la posición de la llave, o -1 si no está en el diccionario. */
+    private int busca(int llave) {
+        int mascara = estados.length - 1;
+        int i = dispersor.dispersa(llave) & mascara;
+        while (estados[i] != LIBRE) {
+            if (estados[i] == OCUPADA && llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     *
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si el valor es nulo.
+     */
+    public void agrega(int llave, V valor) {
+        if (valor == null)
+            throw new IllegalArgumentException("Valor incorrecto");
+        int mascara = estados.length - 1;
+        int i = dispersor.dispersa(llave) & mascara;
+        int libre = -1;
+        while (estados[i] != LIBRE) {
+            if (estados[i] == LAPIDA) {
+                if (libre == -1)
+                    libre = i;
+            } else if (llaves[i] == llave) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        if (libre != -1) {
+            i = libre;
+            lapidas--;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        estados[i] = OCUPADA;
+        elementos++;
+        if ((elementos + lapidas + 0.0) / estados.length >= MAXIMA_CARGA)
+            redimensiona();
+    }
+
+    /* Vuelve a colocar todas las entradas, descartando las lápidas. Si las
+     * lápidas ocupaban la mayor parte de la carga, la capacidad no cambia. */
+    private void redimensiona() {
+        int[] viejasLlaves = llaves;
+        V[] viejosValores = valores;
+        byte[] viejosEstados = estados;
+        int capacidad = estados.length;
+        if ((elementos + 0.0) / capacidad >= MAXIMA_CARGA / 2)
+            capacidad *= 2;
+        int n = elementos;
+        inicializa(capacidad);
+        int mascara = capacidad - 1;
+        for (int j = 0; j < viejosEstados.length; j++) {
+            if (viejosEstados[j] != OCUPADA)
+                continue;
+            int i = dispersor.dispersa(viejasLlaves[j]) & mascara;
+            while (estados[i] != LIBRE)
+                i = (i + 1) & mascara;
+            llaves[i] = viejasLlaves[j];
+            valores[i] = viejosValores[j];
+            estados[i] = OCUPADA;
+        }
+        elementos = n;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(int llave) {
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException("No se encontró el elemento");
+        return valores[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     *
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int llave) {
+        return busca(llave) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en el
+     *                                diccionario.
+     */
+    public void elimina(int llave) {
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException("No se encontró la llave");
+        valores[i] = null;
+        elementos--;
+        if (estados[(i + 1) & (estados.length - 1)] == LIBRE) {
+            estados[i] = LIBRE;
+        } else {
+            estados[i] = LAPIDA;
+            lapidas++;
+        }
+    }
+
+    /* Regresa la longitud de sondeo de la entrada en la posición i. */
+    private int sondeo(int i) {
+        int mascara = estados.length - 1;
+        return (i - dispersor.dispersa(llaves[i])) & mascara;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario: la suma de las
+     * longitudes de sondeo de todas las llaves.
+     *
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int colisiones = 0;
+        for (int i = 0; i < estados.length; i++)
+            if (estados[i] == OCUPADA)
+                colisiones += sondeo(i);
+        return colisiones;
+    }
+
+    /**
+     * Nos dice la máxima longitud de sondeo que tenemos en el diccionario.
+     *
+     * @return el máximo número de posiciones que una llave está desplazada de
+     *         la que le asigna el dispersor.
+     */
+    public int colisionMaxima() {
+        int maxColision = 0;
+        for (int i = 0; i < estados.length; i++)
+            if (estados[i] == OCUPADA)
+                maxColision = Math.max(maxColision, sondeo(i));
+        return maxColision;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     *
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double) elementos / estados.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     *
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     *
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(estados.length);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     *
+     * @return una representación en cadena del diccionario.
+     */
+    @Override
+    public String toString() {
+        if (elementos == 0)
+            return "{}";
+        StringBuilder res = new StringBuilder("{ ");
+        for (int i = 0; i < estados.length; i++)
+            if (estados[i] == OCUPADA)
+                res.append(String.format("'%d': '%s', ", llaves[i], valores[i]));
+        return res.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     *
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioEnteroObjeto, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked")
+        DiccionarioEnteroObjeto<V> d = (DiccionarioEnteroObjeto<V>) o;
+        if (d.elementos != elementos)
+            return false;
+        for (int i = 0; i < estados.length; i++) {
+            if (estados[i] != OCUPADA)
+                continue;
+            int j = d.busca(llaves[i]);
+            if (j == -1 || !d.valores[j].equals(valores[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public PrimitiveIterator.OfInt iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
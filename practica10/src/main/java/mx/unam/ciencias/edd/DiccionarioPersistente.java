@@ -0,0 +1,688 @@
+package mx.unam.ciencias.edd;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios persistentes de cadenas a cadenas. El
+ * diccionario vive en un archivo mapeado a memoria con {@link
+ * FileChannel#map}, así que abrir un diccionario existente no lo reconstruye:
+ * sólo se mapea el archivo, y {@link #get} y {@link #contiene} leen
+ * directamente de él.</p>
+ *
+ * <p>El archivo tiene tres partes, con enteros en <em>little-endian</em>:</p>
+ * <ol>
+ *   <li>Un encabezado de {@value #ENCABEZADO} bytes con la firma, la versión,
+ *   la capacidad, el número de elementos y de lápidas, el final de los
+ *   registros y los bytes de registros muertos.</li>
+ *   <li>Una tabla de casillas de {@value #CASILLA} bytes, con direccionamiento
+ *   abierto y sondeo lineal; cada casilla guarda la posición del registro de
+ *   su entrada y la dispersión de la llave.</li>
+ *   <li>Una región de registros donde sólo se agrega al final; cada registro
+ *   tiene la longitud de la llave, la del valor, y los bytes en UTF-8 de
+ *   ambos.</li>
+ * </ol>
+ *
+ * <p>Reemplazar o eliminar un valor deja su registro muerto. Los registros
+ * muertos se descartan cuando la tabla crece, cuando ocupan la mitad de la
+ * región al tener que agrandarla, o al llamar {@link #compacta}; en los tres
+ * casos el diccionario se reescribe en un archivo temporal que después
+ * reemplaza al original, así que el original no se pierde si la reescritura
+ * falla.</p>
+ *
+ * <p>Las llaves se dispersan con {@link Dispersores#dispersaXX64(byte[])},
+ * que no usa semilla, para que la posición de cada llave sea la misma en
+ * cualquier proceso que abra el archivo. Los cambios se escriben al archivo
+ * en {@link #sincroniza} y {@link #close}. El archivo no puede rebasar 2 GB,
+ * y el diccionario no es seguro para usarse desde varios hilos.</p>
+ */
+public class DiccionarioPersistente implements Iterable<String>, Closeable {
+
+    /* Clase interna privada para iteradores. */
+    private abstract class Iterador {
+
+        /* La siguiente casilla ocupada. */
+        private int indice;
+
+        /* Construye un nuevo iterador, colocándolo en la primera casilla
+         * ocupada. */
+        public Iterador() {
+            revisaAbierto();
+            indice = -1;
+            mueveIterador();
+        }
+
+        /* Nos dice si hay una siguiente casilla ocupada. */
+        public boolean hasNext() {
+            return indice < capacidad;
+        }
+
+        /* Regresa el registro de la siguiente casilla ocupada. */
+        protected int siguiente() {
+            if (indice >= capacidad)
+                throw new NoSuchElementException("No hay más elementos");
+            int registro = (int)registro(indice);
+            mueveIterador();
+            return registro;
+        }
+
+        /* Mueve el iterador a la siguiente casilla ocupada. */
+        private void mueveIterador() {
+            do {
+                indice++;
+            } while (indice < capacidad && !ocupada(registro(indice)));
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador implements Iterator<String> {
+        /* Regresa el siguiente elemento. */
+        @Override public String next() {
+            return leeLlave(super.siguiente());
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<String> {
+        /* Regresa el siguiente elemento. */
+        @Override public String next() {
+            return leeValor(super.siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /** Tamaño en bytes del encabezado del archivo. */
+    public static final int ENCABEZADO = 64;
+
+    /** Tamaño en bytes de cada casilla de la tabla. */
+    public static final int CASILLA = 16;
+
+    /* Firma del archivo: "EDDP". */
+    private static final int FIRMA = 0x45444450;
+    /* Versión del formato. */
+    private static final int VERSION = 1;
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Tamaño mínimo de la región de registros de un archivo nuevo. */
+    private static final int MINIMOS_REGISTROS = 4096;
+    /* Tamaño máximo del archivo; un MappedByteBuffer se indexa con int. */
+    private static final long MAXIMO_ARCHIVO = Integer.MAX_VALUE;
+
+    /* Posiciones de los campos del encabezado. */
+    private static final int POS_FIRMA = 0;
+    private static final int POS_VERSION = 4;
+    private static final int POS_CAPACIDAD = 8;
+    private static final int POS_ELEMENTOS = 12;
+    private static final int POS_LAPIDAS = 16;
+    private static final int POS_FIN = 24;
+    private static final int POS_BASURA = 32;
+
+    /* Registro de una casilla libre. */
+    private static final long LIBRE = 0;
+    /* Registro de una casilla cuya entrada fue eliminada. */
+    private static final long LAPIDA = -1;
+
+    /* El archivo. */
+    private Path archivo;
+    /* El canal del archivo. */
+    private FileChannel canal;
+    /* El archivo mapeado a memoria. */
+    private MappedByteBuffer mapa;
+    /* Número de casillas. */
+    private int capacidad;
+    /* Número de entradas. */
+    private int elementos;
+    /* Número de casillas con lápida. */
+    private int lapidas;
+    /* Posición donde termina el último registro. */
+    private long fin;
+    /* Bytes ocupados por registros muertos. */
+    private long basura;
+
+    /**
+     * Abre el diccionario guardado en el archivo recibido, o crea uno vacío
+     * con una capacidad inicial predeterminada si el archivo no existe o es
+     * vacío.
+     *
+     * @param archivo el archivo del diccionario.
+     * @throws IOException si ocurre un error de entrada/salida.
+     * @throws IllegalArgumentException si el archivo es nulo, o si no es un
+     *         diccionario persistente.
+     */
+    public DiccionarioPersistente(Path archivo) throws IOException {
+        this(archivo, MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Abre el diccionario guardado en el archivo recibido, o crea uno vacío
+     * con la capacidad inicial recibida si el archivo no existe o es vacío. Si
+     * el diccionario ya existía, la capacidad se ignora.
+     *
+     * @param archivo el archivo del diccionario.
+     * @param capacidad la capacidad inicial de un diccionario nuevo.
+     * @throws IOException si ocurre un error de entrada/salida.
+     * @throws IllegalArgumentException si el archivo es nulo, o si no es un
+     *         diccionario persistente.
+     */
+    public DiccionarioPersistente(Path archivo, int capacidad)
+        throws IOException {
+        if (archivo == null)
+            throw new IllegalArgumentException("Archivo inválido");
+        this.archivo = archivo;
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE);
+        try {
+            if (canal.size() == 0)
+                crea(getPotencia(capacidad), MINIMOS_REGISTROS);
+            else
+                abre();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            canal = null;
+            throw e;
+        }
+    }
+
+    /* Calcula la potencia de 2 que usamos como capacidad. */
+    private int getPotencia(int n) {
+        n = (n < MINIMA_CAPACIDAD) ? MINIMA_CAPACIDAD : n;
+        int c = 1;
+        while (c < n * 2)
+            c *= 2;
+        return c;
+    }
+
+    /* Regresa la posición donde comienzan los registros con la capacidad
+     * recibida. */
+    private static long inicioRegistros(int capacidad) {
+        return ENCABEZADO + (long)capacidad * CASILLA;
+    }
+
+    /* Mapea el canal con el tamaño recibido. */
+    private void mapea(long tamano) throws IOException {
+        if (tamano > MAXIMO_ARCHIVO)
+            throw new IllegalStateException("El diccionario no cabe en el " +
+                                            "archivo");
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /* Inicializa un diccionario vacío en el canal, con la capacidad y el
+     * espacio para registros recibidos. */
+    private void crea(int capacidad, long registros) throws IOException {
+        mapea(inicioRegistros(capacidad) + registros);
+        this.capacidad = capacidad;
+        elementos = 0;
+        lapidas = 0;
+        fin = inicioRegistros(capacidad);
+        basura = 0;
+        mapa.putInt(POS_FIRMA, FIRMA);
+        mapa.putInt(POS_VERSION, VERSION);
+        mapa.putInt(POS_CAPACIDAD, capacidad);
+        escribeEncabezado();
+    }
+
+    /* Mapea y valida un diccionario existente. */
+    private void abre() throws IOException {
+        long tamano = canal.size();
+        if (tamano < ENCABEZADO)
+            throw new IllegalArgumentException("El archivo no es un " +
+                                               "diccionario persistente");
+        mapea(tamano);
+        capacidad = mapa.getInt(POS_CAPACIDAD);
+        elementos = mapa.getInt(POS_ELEMENTOS);
+        lapidas = mapa.getInt(POS_LAPIDAS);
+        fin = mapa.getLong(POS_FIN);
+        basura = mapa.getLong(POS_BASURA);
+        if (mapa.getInt(POS_FIRMA) != FIRMA ||
+            mapa.getInt(POS_VERSION) != VERSION ||
+            capacidad < MINIMA_CAPACIDAD ||
+            Integer.bitCount(capacidad) != 1 ||
+            fin < inicioRegistros(capacidad) || fin > tamano ||
+            elementos < 0 || lapidas < 0 ||
+            elementos + lapidas >= capacidad)
+            throw new IllegalArgumentException("El archivo no es un " +
+                                               "diccionario persistente");
+    }
+
+    /* Escribe los contadores al encabezado. */
+    private void escribeEncabezado() {
+        mapa.putInt(POS_ELEMENTOS, elementos);
+        mapa.putInt(POS_LAPIDAS, lapidas);
+        mapa.putLong(POS_FIN, fin);
+        mapa.putLong(POS_BASURA, basura);
+    }
+
+    /* Lanza una excepción si el diccionario ya se cerró. */
+    private void revisaAbierto() {
+        if (canal == null)
+            throw new IllegalStateException("El diccionario está cerrado");
+    }
+
+    /* Regresa los bytes en UTF-8 de la cadena. */
+    private static byte[] utf8(String cadena) {
+        return cadena.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /* Regresa la dispersión de la llave. */
+    private static int dispersa(byte[] llave) {
+        long h = Dispersores.dispersaXX64(llave);
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /* Regresa la posición de la casilla i. */
+    private static int casilla(int i) {
+        return ENCABEZADO + i * CASILLA;
+    }
+
+    /* Regresa el registro de la casilla i. */
+    private long registro(int i) {
+        return mapa.getLong(casilla(i));
+    }
+
+    /* Nos dice si el registro de una casilla es de una entrada. */
+    private static boolean ocupada(long registro) {
+        return registro != LIBRE && registro != LAPIDA;
+    }
+
+    /* Escribe el registro y la dispersión en la casilla i. */
+    private void ponCasilla(int i, long registro, int dispersion) {
+        mapa.putInt(casilla(i) + 8, dispersion);
+        mapa.putLong(casilla(i), registro);
+    }
+
+    /* Regresa el tamaño en bytes del registro en la posición recibida. */
+    private long largoRegistro(int registro) {
+        return 8L + mapa.getInt(registro) + mapa.getInt(registro + 4);
+    }
+
+    /* Regresa la casilla de la llave, o -1 si no está en el diccionario. */
+    private int busca(byte[] llave, int dispersion) {
+        int mascara = capacidad - 1;
+        int i = dispersion & mascara;
+        long registro;
+        while ((registro = registro(i)) != LIBRE) {
+            if (registro != LAPIDA &&
+                mapa.getInt(casilla(i) + 8) == dispersion &&
+                mismosBytes((int)registro + 8, mapa.getInt((int)registro),
+                            llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /* Regresa la primera casilla libre o con lápida para la dispersión. */
+    private int libre(int dispersion) {
+        int mascara = capacidad - 1;
+        int i = dispersion & mascara;
+        while (ocupada(registro(i)))
+            i = (i + 1) & mascara;
+        return i;
+    }
+
+    /* Nos dice si los n bytes a partir de la posición son los del arreglo. */
+    private boolean mismosBytes(int posicion, int n, byte[] bytes) {
+        if (n != bytes.length)
+            return false;
+        for (int k = 0; k < n; k++)
+            if (mapa.get(posicion + k) != bytes[k])
+                return false;
+        return true;
+    }
+
+    /* Regresa la cadena en los n bytes a partir de la posición. */
+    private String leeCadena(int posicion, int n) {
+        byte[] bytes = new byte[n];
+        ByteBuffer b = mapa.duplicate();
+        b.position(posicion);
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /* Regresa la llave del registro. */
+    private String leeLlave(int registro) {
+        return leeCadena(registro + 8, mapa.getInt(registro));
+    }
+
+    /* Regresa el valor del registro. */
+    private String leeValor(int registro) {
+        return leeCadena(registro + 8 + mapa.getInt(registro),
+                         mapa.getInt(registro + 4));
+    }
+
+    /* Se asegura de que quepan n bytes más de registros. Si los registros
+     * muertos ocupan la mitad de la región, compacta el diccionario antes
+     * de agrandar el archivo. Regresa true si lo reescribió. */
+    private boolean reserva(long n) throws IOException {
+        if (fin + n <= mapa.capacity())
+            return false;
+        if (basura > 0 && 2 * basura >= fin - inicioRegistros(capacidad)) {
+            reescribe(capacidad, n);
+            return true;
+        }
+        long tamano = mapa.capacity();
+        while (tamano < fin + n)
+            tamano *= 2;
+        mapea(Math.max(fin + n, Math.min(tamano, MAXIMO_ARCHIVO)));
+        return false;
+    }
+
+    /* Escribe un registro al final de la región y regresa su posición. Tiene
+     * que haber espacio reservado. */
+    private long escribeRegistro(byte[] llave, byte[] valor) {
+        int posicion = (int)fin;
+        mapa.putInt(posicion, llave.length);
+        mapa.putInt(posicion + 4, valor.length);
+        ByteBuffer b = mapa.duplicate();
+        b.position(posicion + 8);
+        b.put(llave);
+        b.put(valor);
+        fin += 8L + llave.length + valor.length;
+        return posicion;
+    }
+
+    /* Reescribe el diccionario en un archivo nuevo con la capacidad recibida
+     * y espacio para al menos n bytes más de registros, descartando los
+     * registros muertos y las lápidas. El archivo nuevo reemplaza al viejo
+     * sólo si todo salió bien. */
+    private void reescribe(int nuevaCapacidad, long n) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        FileChannel viejoCanal = canal;
+        MappedByteBuffer viejoMapa = mapa;
+        int viejaCapacidad = capacidad;
+        long vivos = fin - inicioRegistros(capacidad) - basura;
+        long viejoFin = fin, viejaBasura = basura;
+        int viejosElementos = elementos, viejasLapidas = lapidas;
+        canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                                 StandardOpenOption.TRUNCATE_EXISTING,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE);
+        try {
+            crea(nuevaCapacidad, Math.max(2 * vivos + n, MINIMOS_REGISTROS));
+            for (int j = 0; j < viejaCapacidad; j++) {
+                int casilla = casilla(j);
+                long registro = viejoMapa.getLong(casilla);
+                if (!ocupada(registro))
+                    continue;
+                int dispersion = viejoMapa.getInt(casilla + 8);
+                int largo = 8 + viejoMapa.getInt((int)registro) +
+                    viejoMapa.getInt((int)registro + 4);
+                ByteBuffer origen = viejoMapa.duplicate();
+                origen.position((int)registro);
+                origen.limit((int)registro + largo);
+                ByteBuffer destino = mapa.duplicate();
+                destino.position((int)fin);
+                destino.put(origen);
+                ponCasilla(libre(dispersion), fin, dispersion);
+                fin += largo;
+                elementos++;
+            }
+            escribeEncabezado();
+            mapa.force();
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            Files.deleteIfExists(temporal);
+            canal = viejoCanal;
+            mapa = viejoMapa;
+            capacidad = viejaCapacidad;
+            elementos = viejosElementos;
+            lapidas = viejasLapidas;
+            fin = viejoFin;
+            basura = viejaBasura;
+            throw e;
+        }
+        viejoCanal.close();
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     *
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     * @throws IllegalStateException si el diccionario está cerrado, o si el
+     *         archivo rebasaría su tamaño máximo.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida al
+     *         crecer el archivo.
+     */
+    public void agrega(String llave, String valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        revisaAbierto();
+        byte[] l = utf8(llave), v = utf8(valor);
+        int dispersion = dispersa(l);
+        int i = busca(l, dispersion);
+        if (i != -1) {
+            int registro = (int)registro(i);
+            int n = mapa.getInt(registro);
+            if (mismosBytes(registro + 8 + n, mapa.getInt(registro + 4), v))
+                return;
+        }
+        try {
+            if (i == -1 &&
+                (elementos + lapidas + 1.0) / capacidad >= MAXIMA_CARGA) {
+                // Si la carga es sobre todo de lápidas, basta con reescribir
+                boolean crece =
+                    (elementos + 1.0) / capacidad >= MAXIMA_CARGA / 2;
+                reescribe(crece ? capacidad * 2 : capacidad, 0);
+            }
+            if (reserva(8L + l.length + v.length) && i != -1)
+                i = busca(l, dispersion);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        long registro = escribeRegistro(l, v);
+        if (i != -1) {
+            basura += largoRegistro((int)registro(i));
+        } else {
+            i = libre(dispersion);
+            if (registro(i) == LAPIDA)
+                lapidas--;
+            elementos++;
+        }
+        ponCasilla(i, registro, dispersion);
+        escribeEncabezado();
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public String get(String llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave es inválida");
+        revisaAbierto();
+        byte[] l = utf8(llave);
+        int i = busca(l, dispersa(l));
+        if (i == -1)
+            throw new NoSuchElementException("No se encontró el elemento");
+        return leeValor((int)registro(i));
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     *
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public boolean contiene(String llave) {
+        revisaAbierto();
+        if (llave == null)
+            return false;
+        byte[] l = utf8(llave);
+        return busca(l, dispersa(l)) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     *
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en el
+     *         diccionario.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public void elimina(String llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        revisaAbierto();
+        byte[] l = utf8(llave);
+        int i = busca(l, dispersa(l));
+        if (i == -1)
+            throw new NoSuchElementException("No se encontró la llave");
+        basura += largoRegistro((int)registro(i));
+        elementos--;
+        if (registro((i + 1) & (capacidad - 1)) == LIBRE) {
+            ponCasilla(i, LIBRE, 0);
+        } else {
+            ponCasilla(i, LAPIDA, 0);
+            lapidas++;
+        }
+        escribeEncabezado();
+    }
+
+    /**
+     * Reescribe el diccionario descartando los registros muertos y las
+     * lápidas, con la capacidad que le corresponde a su número de elementos.
+     *
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void compacta() {
+        revisaAbierto();
+        try {
+            reescribe(getPotencia(elementos), 0);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     *
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     *
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     *
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / capacidad;
+    }
+
+    /**
+     * Regresa el número de bytes ocupados por registros muertos, que se
+     * recuperan al compactar el diccionario.
+     *
+     * @return el número de bytes ocupados por registros muertos.
+     */
+    public long getBasura() {
+        return basura;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. El archivo
+     * conserva su tamaño.
+     *
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public void limpia() {
+        revisaAbierto();
+        for (int i = 0; i < capacidad; i++)
+            ponCasilla(i, LIBRE, 0);
+        elementos = 0;
+        lapidas = 0;
+        fin = inicioRegistros(capacidad);
+        basura = 0;
+        escribeEncabezado();
+    }
+
+    /**
+     * Escribe al archivo los cambios hechos al diccionario.
+     *
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public void sincroniza() {
+        revisaAbierto();
+        mapa.force();
+    }
+
+    /**
+     * Escribe al archivo los cambios hechos al diccionario y lo cierra.
+     * Cerrar un diccionario cerrado no tiene efecto.
+     *
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Override public void close() throws IOException {
+        if (canal == null)
+            return;
+        mapa.force();
+        canal.close();
+        canal = null;
+        mapa = null;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar las llaves del diccionario.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public Iterator<String> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar los valores del diccionario.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    @Override public Iterator<String> iterator() {
+        return new IteradorValores();
+    }
+}
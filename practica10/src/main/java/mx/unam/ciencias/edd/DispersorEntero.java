@@ -0,0 +1,17 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para dispersores de enteros primitivos. Es la especialización de
+ * {@link Dispersor} que usan los diccionarios con llaves enteras, para no tener
+ * que envolver cada llave en un {@link Integer}.
+ */
+@FunctionalInterface
+public interface DispersorEntero {
+
+    /**
+     * Calcula la función de dispersión del entero recibido.
+     * @param llave el entero que queremos dispersar.
+     * @return el resultado de dispersar el entero recibido.
+     */
+    public int dispersa(int llave);
+}
@@ -1,10 +1,41 @@
 package mx.unam.ciencias.edd;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Clase para métodos estáticos con dispersores de bytes.
  */
 public class Dispersores {
 
+    /* Vista de arreglos de bytes como enteros de 64 bits en little-endian. */
+    private static final VarHandle LARGO =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    /* Vista de arreglos de bytes como enteros de 32 bits en little-endian. */
+    private static final VarHandle ENTERO =
+        MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /* Constantes de MurmurHash3 x64. */
+    private static final long MURMUR_C1 = 0x87c37b91114253d5L;
+    private static final long MURMUR_C2 = 0x4cf5ad432745937fL;
+
+    /* Primos de xxHash64. */
+    private static final long XX_P1 = 0x9E3779B185EBCA87L;
+    private static final long XX_P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XX_P3 = 0x165667B19E3779F9L;
+    private static final long XX_P4 = 0x85EBCA77C2B2AE63L;
+    private static final long XX_P5 = 0x27D4EB2F165667C5L;
+
+    /* Arreglo por hilo donde se codifican las cadenas en UTF-8 para los
+     * dispersores que leen 8 bytes a la vez. */
+    private static final ThreadLocal<byte[]> CODIFICACION =
+        ThreadLocal.withInitial(() -> new byte[64]);
+    /* Tamaño máximo del arreglo por hilo; las cadenas que no caben se
+     * codifican en un arreglo temporal. */
+    private static final int MAXIMA_CODIFICACION = 1 << 16;
+
     /* Constructor privado para evitar instanciación. */
     private Dispersores() {}
 
@@ -14,14 +45,82 @@ public class Dispersores {
      * @return la dispersión de XOR de la llave.
      */
     public static int dispersaXOR(byte[] llave) {
-        if(llave.length % 4 != 0){
-            byte[] nuevoArreglo = new byte[(llave.length + 3) / 4 * 4];
-            System.arraycopy(llave, 0, nuevoArreglo, 0, llave.length);
-            llave = nuevoArreglo;
+        return dispersaXOR(llave, null, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión XOR sobre un pedazo de un arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice donde comienza la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de XOR de la llave.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaXOR(byte[] llave, int inicio, int longitud) {
+        revisaRango(llave.length, inicio, longitud);
+        return dispersaXOR(llave, null, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión XOR sobre los bytes restantes de un buffer, desde
+     * su posición hasta su límite. La posición del buffer no cambia.
+     * @param llave el buffer con la llave a dispersar.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(ByteBuffer llave) {
+        if (llave.hasArray())
+            return dispersaXOR(llave.array(), null,
+                               llave.arrayOffset() + llave.position(),
+                               llave.remaining());
+        return dispersaXOR(null, llave, llave.position(), llave.remaining());
+    }
+
+    /**
+     * Función de dispersión XOR sobre la codificación UTF-8 de una cadena. La
+     * dispersión es la misma que la de {@link #dispersaXOR(byte[])} sobre los
+     * bytes UTF-8 de la cadena, pero se calcula directamente sobre sus
+     * caracteres, sin crear el arreglo de bytes.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(String llave) {
+        int r = 0, k = 0, m = 0;
+        int i = 0, n = llave.length();
+        while (i < n) {
+            int u = utf8(llave, i);
+            int bytes = bytesUtf8(u);
+            i += (bytes == 4) ? 2 : 1;
+            for (int j = 0; j < bytes; j++, u >>>= 8) {
+                k = (k << 8) | (u & 0xFF);
+                if (++m == 4) {
+                    r ^= k;
+                    k = m = 0;
+                }
+            }
         }
+        if (m != 0)
+            r ^= k << (8 * (4 - m));
+        return r;
+    }
+
+    /* Dispersión XOR del arreglo o del buffer (uno de los dos es null). Los
+     * bytes finales que no completan un entero se completan con ceros sin
+     * copiar la llave. */
+    private static int dispersaXOR(byte[] arreglo, ByteBuffer buffer,
+                                   int inicio, int longitud) {
         int r = 0;
-        for(int i = 0; i < llave.length; i+=4){
-            r ^= combina_big_endian(llave[i], llave[i+1], llave[i+2], llave[i+3]);
+        int i = inicio, fin = inicio + longitud;
+        for (; i + 4 <= fin; i += 4)
+            r ^= combina_big_endian(lee(arreglo, buffer, i),
+                                    lee(arreglo, buffer, i+1),
+                                    lee(arreglo, buffer, i+2),
+                                    lee(arreglo, buffer, i+3));
+        if (i < fin) {
+            int k = 0;
+            for (int j = 0; j < 4; j++)
+                k = (k << 8) | (i + j < fin ? lee(arreglo, buffer, i+j) & 0xFF : 0);
+            r ^= k;
         }
         return r;
     }
@@ -32,38 +131,171 @@ public class Dispersores {
      * @return la dispersión de Bob Jenkins de la llave.
      */
     public static int dispersaBJ(byte[] llave) {
+        return dispersaBJ(llave, null, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre un pedazo de un arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice donde comienza la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Bob Jenkins de la llave.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaBJ(byte[] llave, int inicio, int longitud) {
+        revisaRango(llave.length, inicio, longitud);
+        return dispersaBJ(llave, null, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre los bytes restantes de un
+     * buffer, desde su posición hasta su límite. La posición del buffer no
+     * cambia.
+     * @param llave el buffer con la llave a dispersar.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(ByteBuffer llave) {
+        if (llave.hasArray())
+            return dispersaBJ(llave.array(), null,
+                              llave.arrayOffset() + llave.position(),
+                              llave.remaining());
+        return dispersaBJ(null, llave, llave.position(), llave.remaining());
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre la codificación UTF-8 de una
+     * cadena. La dispersión es la misma que la de {@link #dispersaBJ(byte[])}
+     * sobre los bytes UTF-8 de la cadena, pero se calcula directamente sobre
+     * sus caracteres, sin crear el arreglo de bytes.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(String llave) {
+        return dispersaBJ(llave, 0xffffffff);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins con semilla sobre la codificación
+     * UTF-8 de una cadena. La semilla es el valor inicial de la mezcla; con la
+     * semilla <code>0xffffffff</code> la dispersión es la misma que la de
+     * {@link #dispersaBJ(String)}.
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(String llave, int semilla) {
+        int a, b, c;
+        a = b = 0x9e3779b9;
+        c = semilla;
+        int i = 0, n = llave.length();
+        /* Los bytes pendientes del último carácter, y cuántos son. */
+        int u = 0, pendientes = 0;
+        int longitud = 0;
+        boolean ultimo = false;
+        while (!ultimo) {
+            /* Llenamos un bloque de hasta 12 bytes. */
+            int ka = 0, kb = 0, kc = 0, p = 0;
+            while (p < 12) {
+                if (pendientes == 0) {
+                    if (i == n)
+                        break;
+                    u = utf8(llave, i);
+                    pendientes = bytesUtf8(u);
+                    i += (pendientes == 4) ? 2 : 1;
+                }
+                int x = u & 0xFF;
+                u >>>= 8;
+                pendientes--;
+                if (p < 4)
+                    ka |= x << (8 * p);
+                else if (p < 8)
+                    kb |= x << (8 * (p - 4));
+                else
+                    kc |= x << (8 * (p - 8));
+                p++;
+            }
+            longitud += p;
+            a += ka;
+            b += kb;
+            if (p == 12) {
+                c += kc;
+            } else {
+                /* En el último bloque el primer byte de c es para la
+                 * longitud. */
+                ultimo = true;
+                c += longitud + (kc << 8);
+            }
+            /* Mezcla de Bob Jenkins. */
+            a -= b;   a -= c;   a ^= (c >>> 13);
+            b -= c;   b -= a;   b ^= (a << 8);
+            c -= a;   c -= b;   c ^= (b >>> 13);
+            a -= b;   a -= c;   a ^= (c >>> 12);
+            b -= c;   b -= a;   b ^= (a << 16);
+            c -= a;   c -= b;   c ^= (b >>> 5);
+            a -= b;   a -= c;   a ^= (c >>> 3);
+            b -= c;   b -= a;   b ^= (a << 10);
+            c -= a;   c -= b;   c ^= (b >>> 15);
+        }
+        return c;
+    }
+
+    /* Dispersión de Bob Jenkins del arreglo o del buffer (uno de los dos es
+     * null). El estado de la mezcla vive en variables locales: el último
+     * bloque, incompleto y con la longitud sumada a c, pasa por la misma
+     * mezcla que los demás. */
+    private static int dispersaBJ(byte[] arreglo, ByteBuffer buffer,
+                                  int inicio, int longitud) {
         int a, b, c;
-        int[] arr = new int[3];
-        a = b =  0x9e3779b9;
+        a = b = 0x9e3779b9;
         c = 0xffffffff;
-        int i = 0;
- 
-        int residuo = llave.length % 12;
-        while(i < llave.length - residuo){
-            a += combina_little_endian(llave[i], llave[i+1], llave[i+2], llave[i+3]);
-            b += combina_little_endian(llave[i+4], llave[i+5], llave[i+6], llave[i+7]);
-            c += combina_little_endian(llave[i+8], llave[i+9], llave[i+10], llave[i+11]);
-            arr = mezcla_bob_jenkins(a, b, c);
-            a = arr[0]; b = arr[1]; c = arr[2];
-            i += 12;
-        }
-        c += llave.length;
-        /* Revisamos los residuos del arreglo para intentar construir los números que podamos */
-        switch(residuo){
-            case 11: c += ((llave[i+10] & 0xFF)<<24);
-            case 10: c += ((llave[i+9] & 0xFF)<<16);
-            case 9 : c += ((llave[i+8] & 0xFF)<<8);
-            case 8 : b += ((llave[i+7] & 0xFF)<<24);
-            case 7 : b += ((llave[i+6] & 0xFF)<<16);
-            case 6 : b += ((llave[i+5] & 0xFF)<<8);
-            case 5 : b += (llave[i+4] & 0xFF);
-            case 4 : a += ((llave[i+3] & 0xFF)<<24);
-            case 3 : a += ((llave[i+2] & 0xFF)<<16);
-            case 2 : a += ((llave[i+1] & 0xFF)<<8);
-            case 1 : a += (llave[i] & 0xFF);
-        }
-        arr = mezcla_bob_jenkins(a, b, c);
-        return arr[2];
+        int i = inicio, fin = inicio + longitud;
+        boolean ultimo = false;
+        while (!ultimo) {
+            if (fin - i >= 12) {
+                a += combina_little_endian(lee(arreglo, buffer, i),
+                                           lee(arreglo, buffer, i+1),
+                                           lee(arreglo, buffer, i+2),
+                                           lee(arreglo, buffer, i+3));
+                b += combina_little_endian(lee(arreglo, buffer, i+4),
+                                           lee(arreglo, buffer, i+5),
+                                           lee(arreglo, buffer, i+6),
+                                           lee(arreglo, buffer, i+7));
+                c += combina_little_endian(lee(arreglo, buffer, i+8),
+                                           lee(arreglo, buffer, i+9),
+                                           lee(arreglo, buffer, i+10),
+                                           lee(arreglo, buffer, i+11));
+                i += 12;
+            } else {
+                ultimo = true;
+                c += longitud;
+                /* Revisamos los residuos del arreglo para intentar construir los números que podamos */
+                switch (fin - i) {
+                    case 11: c += ((lee(arreglo, buffer, i+10) & 0xFF)<<24);
+                    case 10: c += ((lee(arreglo, buffer, i+9) & 0xFF)<<16);
+                    case 9 : c += ((lee(arreglo, buffer, i+8) & 0xFF)<<8);
+                    case 8 : b += ((lee(arreglo, buffer, i+7) & 0xFF)<<24);
+                    case 7 : b += ((lee(arreglo, buffer, i+6) & 0xFF)<<16);
+                    case 6 : b += ((lee(arreglo, buffer, i+5) & 0xFF)<<8);
+                    case 5 : b += (lee(arreglo, buffer, i+4) & 0xFF);
+                    case 4 : a += ((lee(arreglo, buffer, i+3) & 0xFF)<<24);
+                    case 3 : a += ((lee(arreglo, buffer, i+2) & 0xFF)<<16);
+                    case 2 : a += ((lee(arreglo, buffer, i+1) & 0xFF)<<8);
+                    case 1 : a += (lee(arreglo, buffer, i) & 0xFF);
+                }
+            }
+            /* Mezcla de Bob Jenkins. */
+            a -= b;   a -= c;   a ^= (c >>> 13);
+            b -= c;   b -= a;   b ^= (a << 8);
+            c -= a;   c -= b;   c ^= (b >>> 13);
+            a -= b;   a -= c;   a ^= (c >>> 12);
+            b -= c;   b -= a;   b ^= (a << 16);
+            c -= a;   c -= b;   c ^= (b >>> 5);
+            a -= b;   a -= c;   a ^= (c >>> 3);
+            b -= c;   b -= a;   b ^= (a << 10);
+            c -= a;   c -= b;   c ^= (b >>> 15);
+        }
+        return c;
     }
 
     /**
@@ -72,13 +304,369 @@ public class Dispersores {
      * @return la dispersión de Daniel Bernstein de la llave.
      */
     public static int dispersaDJB(byte[] llave) {
+        return dispersaDJB(llave, null, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre un pedazo de un arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice donde comienza la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaDJB(byte[] llave, int inicio, int longitud) {
+        revisaRango(llave.length, inicio, longitud);
+        return dispersaDJB(llave, null, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre los bytes restantes de
+     * un buffer, desde su posición hasta su límite. La posición del buffer no
+     * cambia.
+     * @param llave el buffer con la llave a dispersar.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(ByteBuffer llave) {
+        if (llave.hasArray())
+            return dispersaDJB(llave.array(), null,
+                               llave.arrayOffset() + llave.position(),
+                               llave.remaining());
+        return dispersaDJB(null, llave, llave.position(), llave.remaining());
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre la codificación UTF-8 de
+     * una cadena. La dispersión es la misma que la de {@link
+     * #dispersaDJB(byte[])} sobre los bytes UTF-8 de la cadena, pero se
+     * calcula directamente sobre sus caracteres, sin crear el arreglo de
+     * bytes.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(String llave) {
         int h = 5381;
-        for(byte b : llave){
-            h = (h << 5) + h + (b & 0xFF);
+        int i = 0, n = llave.length();
+        while (i < n) {
+            int u = utf8(llave, i);
+            int bytes = bytesUtf8(u);
+            i += (bytes == 4) ? 2 : 1;
+            for (int j = 0; j < bytes; j++, u >>>= 8)
+                h = (h << 5) + h + (u & 0xFF);
         }
         return h;
     }
 
+    /* Dispersión de Daniel Bernstein del arreglo o del buffer (uno de los dos
+     * es null). */
+    private static int dispersaDJB(byte[] arreglo, ByteBuffer buffer,
+                                   int inicio, int longitud) {
+        int h = 5381;
+        for (int i = inicio; i < inicio + longitud; i++)
+            h = (h << 5) + h + (lee(arreglo, buffer, i) & 0xFF);
+        return h;
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (variante x64 de 128 bits, con
+     * semilla 0). Procesa la llave 16 bytes a la vez.
+     * @param llave la llave a dispersar.
+     * @return los primeros 64 bits de la dispersión de MurmurHash3 de la
+     *         llave.
+     */
+    public static long dispersaMurmur3(byte[] llave) {
+        return dispersaMurmur3(llave, 0, llave.length, 0, null);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (variante x64 de 128 bits, con
+     * semilla 0) sobre un pedazo de un arreglo, que regresa los 128 bits.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice donde comienza la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param resultado arreglo de al menos dos elementos donde se guardan los
+     *        primeros y los últimos 64 bits de la dispersión.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo, o si el resultado tiene menos de dos elementos.
+     */
+    public static void dispersaMurmur3(byte[] llave, int inicio, int longitud,
+                                       long[] resultado) {
+        revisaRango(llave.length, inicio, longitud);
+        if (resultado.length < 2)
+            throw new IllegalArgumentException("Resultado inválido");
+        resultado[0] = dispersaMurmur3(llave, inicio, longitud, 0, resultado);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (variante x64 de 128 bits, con
+     * semilla 0) sobre la codificación UTF-8 de una cadena.
+     * @param llave la llave a dispersar.
+     * @return los primeros 64 bits de la dispersión de MurmurHash3 de la
+     *         llave.
+     */
+    public static long dispersaMurmur3(String llave) {
+        return dispersaMurmur3(llave, 0);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (variante x64 de 128 bits) con
+     * semilla sobre la codificación UTF-8 de una cadena. Las dos mitades del
+     * estado se inicializan con la semilla completa de 64 bits.
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return los primeros 64 bits de la dispersión de MurmurHash3 de la
+     *         llave.
+     */
+    public static long dispersaMurmur3(String llave, long semilla) {
+        byte[] bytes = arregloUtf8(llave);
+        int n = codificaUtf8(llave, bytes);
+        return dispersaMurmur3(bytes, 0, n, semilla, null);
+    }
+
+    /* MurmurHash3 x64 de 128 bits. Regresa los primeros 64 bits; si el
+     * resultado no es nulo, guarda los últimos 64 en resultado[1]. */
+    private static long dispersaMurmur3(byte[] llave, int inicio, int longitud,
+                                        long semilla, long[] resultado) {
+        long h1 = semilla, h2 = semilla;
+        int i = inicio, fin = inicio + longitud;
+        for (; fin - i >= 16; i += 16) {
+            long k1 = (long)LARGO.get(llave, i);
+            long k2 = (long)LARGO.get(llave, i + 8);
+            k1 *= MURMUR_C1; k1 = Long.rotateLeft(k1, 31); k1 *= MURMUR_C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27); h1 += h2; h1 = h1 * 5 + 0x52dce729;
+            k2 *= MURMUR_C2; k2 = Long.rotateLeft(k2, 33); k2 *= MURMUR_C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31); h2 += h1; h2 = h2 * 5 + 0x38495ab5;
+        }
+        /* Los bytes que no completan un bloque. */
+        long k1 = 0, k2 = 0;
+        switch (fin - i) {
+            case 15: k2 ^= (llave[i+14] & 0xFFL) << 48;
+            case 14: k2 ^= (llave[i+13] & 0xFFL) << 40;
+            case 13: k2 ^= (llave[i+12] & 0xFFL) << 32;
+            case 12: k2 ^= (llave[i+11] & 0xFFL) << 24;
+            case 11: k2 ^= (llave[i+10] & 0xFFL) << 16;
+            case 10: k2 ^= (llave[i+9] & 0xFFL) << 8;
+            case 9 : k2 ^= (llave[i+8] & 0xFFL);
+                     k2 *= MURMUR_C2; k2 = Long.rotateLeft(k2, 33);
+                     k2 *= MURMUR_C1; h2 ^= k2;
+            case 8 : k1 ^= (llave[i+7] & 0xFFL) << 56;
+            case 7 : k1 ^= (llave[i+6] & 0xFFL) << 48;
+            case 6 : k1 ^= (llave[i+5] & 0xFFL) << 40;
+            case 5 : k1 ^= (llave[i+4] & 0xFFL) << 32;
+            case 4 : k1 ^= (llave[i+3] & 0xFFL) << 24;
+            case 3 : k1 ^= (llave[i+2] & 0xFFL) << 16;
+            case 2 : k1 ^= (llave[i+1] & 0xFFL) << 8;
+            case 1 : k1 ^= (llave[i] & 0xFFL);
+                     k1 *= MURMUR_C1; k1 = Long.rotateLeft(k1, 31);
+                     k1 *= MURMUR_C2; h1 ^= k1;
+        }
+        h1 ^= longitud;
+        h2 ^= longitud;
+        h1 += h2;
+        h2 += h1;
+        h1 = mezclaMurmur3(h1);
+        h2 = mezclaMurmur3(h2);
+        h1 += h2;
+        h2 += h1;
+        if (resultado != null)
+            resultado[1] = h2;
+        return h1;
+    }
+
+    /**
+     * Función de dispersión xxHash64 (con semilla 0). Procesa la llave 32
+     * bytes a la vez, en cuatro carriles independientes de 8 bytes.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de xxHash64 de la llave.
+     */
+    public static long dispersaXX64(byte[] llave) {
+        return dispersaXX64(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash64 (con semilla 0) sobre un pedazo de un
+     * arreglo.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice donde comienza la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de xxHash64 de la llave.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo.
+     */
+    public static long dispersaXX64(byte[] llave, int inicio, int longitud) {
+        revisaRango(llave.length, inicio, longitud);
+        return dispersaXX64(llave, inicio, longitud, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash64 (con semilla 0) sobre la codificación
+     * UTF-8 de una cadena.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de xxHash64 de la llave.
+     */
+    public static long dispersaXX64(String llave) {
+        return dispersaXX64(llave, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash64 con semilla sobre la codificación UTF-8
+     * de una cadena.
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión de xxHash64 de la llave.
+     */
+    public static long dispersaXX64(String llave, long semilla) {
+        byte[] bytes = arregloUtf8(llave);
+        int n = codificaUtf8(llave, bytes);
+        return dispersaXX64(bytes, 0, n, semilla);
+    }
+
+    /**
+     * Función de dispersión SipHash-2-4. A diferencia de los demás
+     * dispersores, SipHash es una función pseudoaleatoria con llave: sin
+     * conocer la llave de 128 bits (k0, k1) no se pueden construir a propósito
+     * cadenas que choquen, así que es la que hay que usar con llaves que
+     * vienen de clientes.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice donde comienza la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param k0 los primeros 64 bits de la llave de SipHash.
+     * @param k1 los últimos 64 bits de la llave de SipHash.
+     * @return la dispersión de SipHash-2-4 de la llave.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo.
+     */
+    public static long dispersaSip(byte[] llave, int inicio, int longitud,
+                                   long k0, long k1) {
+        revisaRango(llave.length, inicio, longitud);
+        return sipHash24(llave, inicio, longitud, k0, k1);
+    }
+
+    /**
+     * Función de dispersión SipHash-2-4 sobre la codificación UTF-8 de una
+     * cadena.
+     * @param llave la llave a dispersar.
+     * @param k0 los primeros 64 bits de la llave de SipHash.
+     * @param k1 los últimos 64 bits de la llave de SipHash.
+     * @return la dispersión de SipHash-2-4 de la llave.
+     */
+    public static long dispersaSip(String llave, long k0, long k1) {
+        byte[] bytes = arregloUtf8(llave);
+        int n = codificaUtf8(llave, bytes);
+        return sipHash24(bytes, 0, n, k0, k1);
+    }
+
+    /* SipHash-2-4 sin revisar el rango. */
+    private static long sipHash24(byte[] llave, int inicio, int longitud,
+                                  long k0, long k1) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        int i = inicio, fin = inicio + longitud;
+        boolean ultimo = false;
+        while (!ultimo) {
+            long m;
+            if (fin - i >= 8) {
+                m = (long)LARGO.get(llave, i);
+                i += 8;
+            } else {
+                /* El último bloque lleva la longitud en el byte alto. */
+                ultimo = true;
+                m = (long)longitud << 56;
+                for (int j = 0; i + j < fin; j++)
+                    m |= (llave[i + j] & 0xFFL) << (8 * j);
+            }
+            v3 ^= m;
+            for (int r = 0; r < 2; r++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+        v2 ^= 0xff;
+        for (int r = 0; r < 4; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /* xxHash64 con la semilla recibida. */
+    private static long dispersaXX64(byte[] llave, int inicio, int longitud,
+                                     long semilla) {
+        int i = inicio, fin = inicio + longitud;
+        long h;
+        if (longitud >= 32) {
+            long v1 = semilla + XX_P1 + XX_P2;
+            long v2 = semilla + XX_P2;
+            long v3 = semilla;
+            long v4 = semilla - XX_P1;
+            for (; fin - i >= 32; i += 32) {
+                v1 = rondaXX64(v1, (long)LARGO.get(llave, i));
+                v2 = rondaXX64(v2, (long)LARGO.get(llave, i + 8));
+                v3 = rondaXX64(v3, (long)LARGO.get(llave, i + 16));
+                v4 = rondaXX64(v4, (long)LARGO.get(llave, i + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+                Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = uneXX64(h, v1);
+            h = uneXX64(h, v2);
+            h = uneXX64(h, v3);
+            h = uneXX64(h, v4);
+        } else {
+            h = semilla + XX_P5;
+        }
+        h += longitud;
+        for (; fin - i >= 8; i += 8) {
+            h ^= rondaXX64(0, (long)LARGO.get(llave, i));
+            h = Long.rotateLeft(h, 27) * XX_P1 + XX_P4;
+        }
+        if (fin - i >= 4) {
+            h ^= ((int)ENTERO.get(llave, i) & 0xFFFFFFFFL) * XX_P1;
+            h = Long.rotateLeft(h, 23) * XX_P2 + XX_P3;
+            i += 4;
+        }
+        for (; i < fin; i++) {
+            h ^= (llave[i] & 0xFFL) * XX_P5;
+            h = Long.rotateLeft(h, 11) * XX_P1;
+        }
+        h ^= h >>> 33;
+        h *= XX_P2;
+        h ^= h >>> 29;
+        h *= XX_P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    /**
+     * Función de dispersión para enteros. Es el paso final de MurmurHash3, que
+     * mezcla los 32 bits de la llave de forma que llaves consecutivas terminan
+     * en cubetas lejanas.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de la llave.
+     */
+    public static int dispersaEntero(int llave) {
+        int h = llave;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
     /**
      * Método que combina cuatro bytes en un entero de 32 bits en el esquema big-endian.
      * @param a primer byte.
@@ -104,24 +692,175 @@ public class Dispersores {
     }
 
     /**
-     * Método que se encarga de mezclar tres enteros en el algoritmo de Bob Jenkins.
-     * @param a primer entero.
-     * @param b segundo entero.
-     * @param c tercer entero.
-     * @return arreglo con los tres enteros mezclados.
+     * Método que codifica en UTF-8 el carácter de una cadena en el índice
+     * recibido. Si el carácter es el inicio de un par sustituto válido, se
+     * codifica el par completo; un sustituto sin pareja se codifica como
+     * <code>'?'</code>, igual que lo hace {@link String#getBytes}.
+     * @param cadena la cadena.
+     * @param i el índice del carácter.
+     * @return los bytes de la codificación, el primero en los 8 bits más bajos.
      */
-    private static int[] mezcla_bob_jenkins(int a, int b, int c) {
-        a -= b;   a -= c;   a ^= (c >>> 13);
-        b -= c;   b -= a;   b ^= (a << 8);
-        c -= a;   c -= b;   c ^= (b >>> 13);
-        a -= b;   a -= c;   a ^= (c >>> 12);
-        b -= c;   b -= a;   b ^= (a << 16);
-        c -= a;   c -= b;   c ^= (b >>> 5);
-        a -= b;   a -= c;   a ^= (c >>> 3);
-        b -= c;   b -= a;   b ^= (a << 10);
-        c -= a;   c -= b;   c ^= (b >>> 15);
+    private static int utf8(String cadena, int i) {
+        char ch = cadena.charAt(i);
+        if (ch < 0x80)
+            return ch;
+        if (ch < 0x800)
+            return (0xC0 | (ch >> 6)) | ((0x80 | (ch & 0x3F)) << 8);
+        if (Character.isSurrogate(ch)) {
+            if (Character.isHighSurrogate(ch) && i + 1 < cadena.length() &&
+                Character.isLowSurrogate(cadena.charAt(i + 1))) {
+                int cp = Character.toCodePoint(ch, cadena.charAt(i + 1));
+                return (0xF0 | (cp >> 18)) |
+                    ((0x80 | ((cp >> 12) & 0x3F)) << 8) |
+                    ((0x80 | ((cp >> 6) & 0x3F)) << 16) |
+                    ((0x80 | (cp & 0x3F)) << 24);
+            }
+            return '?';
+        }
+        return (0xE0 | (ch >> 12)) |
+            ((0x80 | ((ch >> 6) & 0x3F)) << 8) |
+            ((0x80 | (ch & 0x3F)) << 16);
+    }
 
-        return new int[]{a, b, c};
+    /**
+     * Método que regresa cuántos bytes tiene una codificación regresada por
+     * {@link #utf8}, a partir de su primer byte.
+     * @param u la codificación.
+     * @return el número de bytes de la codificación.
+     */
+    private static int bytesUtf8(int u) {
+        int b = u & 0xFF;
+        if (b < 0x80)
+            return 1;
+        if (b < 0xE0)
+            return 2;
+        if (b < 0xF0)
+            return 3;
+        return 4;
+    }
+
+    /**
+     * Método que mezcla los 64 bits de un entero; es el paso final de
+     * MurmurHash3 x64.
+     * @param k el entero a mezclar.
+     * @return el entero mezclado.
+     */
+    private static long mezclaMurmur3(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * Método que procesa 8 bytes de entrada en un carril de xxHash64.
+     * @param acumulador el valor del carril.
+     * @param entrada los 8 bytes de entrada.
+     * @return el nuevo valor del carril.
+     */
+    private static long rondaXX64(long acumulador, long entrada) {
+        acumulador += entrada * XX_P2;
+        acumulador = Long.rotateLeft(acumulador, 31);
+        return acumulador * XX_P1;
+    }
+
+    /**
+     * Método que une un carril al acumulador final de xxHash64.
+     * @param acumulador el acumulador final.
+     * @param carril el valor del carril.
+     * @return el nuevo acumulador.
+     */
+    private static long uneXX64(long acumulador, long carril) {
+        acumulador ^= rondaXX64(0, carril);
+        return acumulador * XX_P1 + XX_P4;
+    }
+
+    /**
+     * Método que regresa un arreglo donde cabe la codificación UTF-8 de una
+     * cadena. Una cadena ocupa a lo más tres bytes por carácter; si eso cabe
+     * en {@link #MAXIMA_CODIFICACION} bytes regresa el arreglo por hilo,
+     * haciéndolo crecer si no alcanza, y si no, un arreglo temporal del
+     * tamaño exacto de la codificación, para que ningún hilo se quede con
+     * memoria proporcional a la cadena más larga que haya dispersado.
+     * @param cadena la cadena a codificar.
+     * @return un arreglo donde cabe la codificación de la cadena.
+     */
+    private static byte[] arregloUtf8(String cadena) {
+        long necesarios = 3L * cadena.length();
+        if (necesarios > MAXIMA_CODIFICACION)
+            return new byte[longitudUtf8(cadena)];
+        byte[] bytes = CODIFICACION.get();
+        if (bytes.length < necesarios) {
+            bytes = new byte[(int)Math.min(MAXIMA_CODIFICACION,
+                                           Math.max(necesarios, 2L * bytes.length))];
+            CODIFICACION.set(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Método que regresa el número de bytes de la codificación UTF-8 de una
+     * cadena.
+     * @param cadena la cadena.
+     * @return el número de bytes de la codificación.
+     */
+    private static int longitudUtf8(String cadena) {
+        int n = cadena.length();
+        long k = 0;
+        for (int i = 0; i < n; ) {
+            int m = bytesUtf8(utf8(cadena, i));
+            i += (m == 4) ? 2 : 1;
+            k += m;
+        }
+        if (k > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Cadena demasiado larga");
+        return (int)k;
+    }
+
+    /**
+     * Método que codifica una cadena en UTF-8 al inicio del arreglo
+     * recibido, que debe tener espacio suficiente.
+     * @param cadena la cadena a codificar.
+     * @param bytes el arreglo donde se codifica la cadena.
+     * @return el número de bytes de la codificación.
+     */
+    private static int codificaUtf8(String cadena, byte[] bytes) {
+        int n = cadena.length();
+        int k = 0;
+        for (int i = 0; i < n; ) {
+            int u = utf8(cadena, i);
+            int m = bytesUtf8(u);
+            i += (m == 4) ? 2 : 1;
+            for (int j = 0; j < m; j++, u >>>= 8)
+                bytes[k++] = (byte)u;
+        }
+        return k;
     }
-}
 
+    /**
+     * Método que lee un byte del arreglo o, si el arreglo es nulo, del buffer.
+     * La lectura en el buffer es absoluta y no cambia su posición.
+     * @param arreglo el arreglo, o <code>null</code>.
+     * @param buffer el buffer.
+     * @param i el índice del byte.
+     * @return el byte en el índice.
+     */
+    private static byte lee(byte[] arreglo, ByteBuffer buffer, int i) {
+        return arreglo != null ? arreglo[i] : buffer.get(i);
+    }
+
+    /**
+     * Método que revisa que un pedazo esté dentro de un arreglo.
+     * @param longitudArreglo la longitud del arreglo.
+     * @param inicio el índice donde comienza el pedazo.
+     * @param longitud la longitud del pedazo.
+     * @throws IllegalArgumentException si el pedazo no está dentro del
+     *         arreglo.
+     */
+    private static void revisaRango(int longitudArreglo, int inicio, int longitud) {
+        if (inicio < 0 || longitud < 0 || inicio > longitudArreglo - longitud)
+            throw new IllegalArgumentException("Rango inválido");
+    }
+}
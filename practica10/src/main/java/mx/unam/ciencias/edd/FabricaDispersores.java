@@ -1,15 +1,24 @@
 package mx.unam.ciencias.edd;
 
+import java.security.SecureRandom;
+
 /**
  * Clase para fabricar dispersores.
  */
 public class FabricaDispersores {
 
+    /* Generador de las semillas aleatorias. */
+    private static final SecureRandom SEMILLAS = new SecureRandom();
+
     /* Constructor privado para evitar instanciación. */
     private FabricaDispersores() {}
 
     /**
-     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * Regresa una instancia de {@link Dispersor} para cadenas. Los
+     * dispersores trabajan sobre la codificación UTF-8 de las cadenas, pero la
+     * calculan carácter por carácter, sin crear arreglos de bytes.
+     * Para {@link AlgoritmoDispersor#SIP_STRING} se genera una llave
+     * aleatoria, como en {@link #dispersorCadenaAleatorio}.
      * @param algoritmo el algoritmo de dispersor que se desea.
      * @return una instancia de {@link Dispersor} para cadenas.
      * @throws IllegalArgumentException si recibe un identificador no
@@ -19,12 +28,82 @@ public class FabricaDispersores {
     dispersorCadena(AlgoritmoDispersor algoritmo) {
         switch (algoritmo) {
         case XOR_STRING:
-            return c -> Dispersores.dispersaXOR(c.getBytes());
+            return c -> Dispersores.dispersaXOR(c);
         case BJ_STRING:
-            return c -> Dispersores.dispersaBJ(c.getBytes());
+            return c -> Dispersores.dispersaBJ(c);
         case DJB_STRING:
-            return c -> Dispersores.dispersaDJB(c.getBytes());
+            return c -> Dispersores.dispersaDJB(c);
+        case MURMUR3_STRING:
+            return c -> pliega(Dispersores.dispersaMurmur3(c));
+        case XX64_STRING:
+            return c -> pliega(Dispersores.dispersaXX64(c));
+        case SIP_STRING:
+            return dispersorCadenaAleatorio(algoritmo);
         default: throw new IllegalArgumentException("Algoritmo inválido");
         }
     }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas que usa la
+     * semilla recibida. Dos dispersores con la misma semilla son iguales.
+     * Sólo {@link AlgoritmoDispersor#SIP_STRING} garantiza que, sin conocer
+     * la semilla, no se puedan fabricar cadenas que choquen; las semillas de
+     * Bob Jenkins, MurmurHash3 y xxHash64 sólo hacen más difícil el ataque.
+     * XOR y Daniel J. Bernstein no admiten semilla: con ellos dos cadenas de
+     * la misma longitud chocan o no independientemente de la semilla.
+     * @param algoritmo el algoritmo de dispersor que se desea.
+     * @param semilla la semilla.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     * @throws IllegalArgumentException si el algoritmo no admite semilla.
+     */
+    public static Dispersor<String>
+    dispersorCadena(AlgoritmoDispersor algoritmo, long semilla) {
+        switch (algoritmo) {
+        case BJ_STRING:
+            int s = (int)(semilla ^ (semilla >>> 32));
+            return c -> Dispersores.dispersaBJ(c, s);
+        case MURMUR3_STRING:
+            return c -> pliega(Dispersores.dispersaMurmur3(c, semilla));
+        case XX64_STRING:
+            return c -> pliega(Dispersores.dispersaXX64(c, semilla));
+        case SIP_STRING:
+            return dispersorSip(semilla, mezcla(semilla));
+        default: throw new IllegalArgumentException("El algoritmo no admite semilla");
+        }
+    }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas con una semilla
+     * aleatoria, distinta en cada llamada. Conviene crear un dispersor así
+     * para cada diccionario que guarde llaves que vienen de clientes.
+     * @param algoritmo el algoritmo de dispersor que se desea.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     * @throws IllegalArgumentException si el algoritmo no admite semilla.
+     */
+    public static Dispersor<String>
+    dispersorCadenaAleatorio(AlgoritmoDispersor algoritmo) {
+        if (algoritmo == AlgoritmoDispersor.SIP_STRING)
+            return dispersorSip(SEMILLAS.nextLong(), SEMILLAS.nextLong());
+        return dispersorCadena(algoritmo, SEMILLAS.nextLong());
+    }
+
+    /* Regresa un dispersor SipHash-2-4 con la llave (k0, k1). */
+    private static Dispersor<String> dispersorSip(long k0, long k1) {
+        return c -> pliega(Dispersores.dispersaSip(c, k0, k1));
+    }
+
+    /* Deriva la segunda mitad de la llave de SipHash a partir de la
+     * semilla, con el paso final de SplitMix64. */
+    private static long mezcla(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /* Pliega una dispersión de 64 bits en 32, para que los bits altos
+     * también cuenten al elegir cubeta. */
+    private static int pliega(long h) {
+        return (int)(h ^ (h >>> 32));
+    }
 }
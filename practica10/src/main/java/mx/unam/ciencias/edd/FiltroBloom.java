@@ -0,0 +1,240 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * <p>Clase para filtros de Bloom. Un filtro de Bloom representa un conjunto
+ * en muy poca memoria: nos puede decir con seguridad que un elemento
+ * <em>no</em> fue agregado, pero cuando dice que sí fue agregado se equivoca
+ * con una probabilidad pequeña (un <em>falso positivo</em>). Nunca hay falsos
+ * negativos.</p>
+ *
+ * <p>El filtro tiene <em>m</em> posiciones; agregar un elemento enciende
+ * <em>k</em> de ellas y el elemento está contenido si sus <em>k</em>
+ * posiciones están encendidas. Las <em>k</em> posiciones salen de una sola
+ * dispersión con doble dispersión: la dispersión del {@link Dispersor} se
+ * mezcla con {@link Dispersores#dispersaEntero} para obtener dos enteros
+ * <em>h<sub>1</sub></em> y <em>h<sub>2</sub></em>, y la posición
+ * <em>i</em> es <em>h<sub>1</sub> + i h<sub>2</sub></em> reducida a
+ * <em>[0, m)</em>. Así el dispersor sólo se evalúa una vez por
+ * operación.</p>
+ *
+ * <p>El filtro se configura con el número de elementos esperados y los bits
+ * por elemento; con <em>b</em> bits por elemento se usan <em>k = b ln
+ * 2</em> dispersiones, y la tasa de falsos positivos es alrededor de
+ * <em>0.6185<sup>b</sup></em>: 8 bits dan alrededor de 2%, 10 bits 1% y 16
+ * bits 0.05%. Agregar más elementos que los esperados no falla, pero la tasa
+ * crece; {@link #tasaFalsosPositivos} la estima con los elementos
+ * actuales.</p>
+ *
+ * <p>Un filtro de Bloom no permite eliminar elementos; para eso está {@link
+ * FiltroBloomContador}.</p>
+ */
+public class FiltroBloom<T> {
+
+    /* Máximo número de dispersiones por elemento. */
+    private static final int MAXIMAS_DISPERSIONES = 30;
+    /* Constante para derivar la segunda dispersión de la primera. */
+    private static final int DORADA = 0x9e3779b9;
+
+    /* Las posiciones, empacadas en enteros largos. */
+    protected long[] tabla;
+    /* El número de posiciones. */
+    private long posiciones;
+    /* El número de dispersiones por elemento. */
+    private int dispersiones;
+    /* El dispersor. */
+    private Dispersor<T> dispersor;
+    /* El número de elementos agregados. */
+    protected int elementos;
+
+    /**
+     * Construye un filtro para el número de elementos y los bits por
+     * elemento recibidos, y un dispersor predeterminado.
+     * @param elementos el número de elementos esperados.
+     * @param bitsPorElemento los bits por elemento.
+     * @throws IllegalArgumentException si el número de elementos o de bits
+     *         por elemento no es positivo, o si el filtro sería demasiado
+     *         grande.
+     */
+    public FiltroBloom(int elementos, int bitsPorElemento) {
+        this(elementos, bitsPorElemento, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye un filtro para el número de elementos y los bits por
+     * elemento recibidos, y un dispersor definido por el usuario.
+     * @param elementos el número de elementos esperados.
+     * @param bitsPorElemento los bits por elemento.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el número de elementos o de bits
+     *         por elemento no es positivo, si el filtro sería demasiado
+     *         grande o si el dispersor es <code>null</code>.
+     */
+    public FiltroBloom(int elementos, int bitsPorElemento,
+                       Dispersor<T> dispersor) {
+        this(elementos, bitsPorElemento, dispersor, 1);
+    }
+
+    /**
+     * Construye un filtro con posiciones del ancho en bits recibido. Lo usan
+     * las clases herederas que guardan más de un bit por posición.
+     * @param elementos el número de elementos esperados.
+     * @param posicionesPorElemento las posiciones por elemento.
+     * @param dispersor el dispersor a utilizar.
+     * @param ancho el ancho en bits de cada posición; debe dividir a 64.
+     * @throws IllegalArgumentException si el número de elementos o de
+     *         posiciones por elemento no es positivo, si el filtro sería
+     *         demasiado grande o si el dispersor es <code>null</code>.
+     */
+    protected FiltroBloom(int elementos, int posicionesPorElemento,
+                          Dispersor<T> dispersor, int ancho) {
+        if (elementos < 1 || posicionesPorElemento < 1 || dispersor == null)
+            throw new IllegalArgumentException("Parámetros inválidos");
+        int porLargo = 64 / ancho;
+        long largos = ((long)elementos * posicionesPorElemento + porLargo - 1) /
+            porLargo;
+        if (largos * porLargo > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Filtro demasiado grande");
+        tabla = new long[(int)largos];
+        posiciones = largos * porLargo;
+        this.dispersor = dispersor;
+        dispersiones = (int)Math.round(posicionesPorElemento * Math.log(2));
+        dispersiones = Math.max(1, Math.min(MAXIMAS_DISPERSIONES, dispersiones));
+    }
+
+    /* Regresa la primera dispersión del elemento. */
+    private int primera(T elemento) {
+        return Dispersores.dispersaEntero(dispersor.dispersa(elemento));
+    }
+
+    /* Regresa la segunda dispersión, a partir de la primera. Es impar para
+     * que las posiciones no se repitan tan fácilmente. */
+    private static int segunda(int h1) {
+        return Dispersores.dispersaEntero(h1 + DORADA) | 1;
+    }
+
+    /* Reduce una dispersión a una posición en [0, posiciones), con una
+     * multiplicación en lugar del módulo. */
+    private int posicion(int h) {
+        return (int)(((h & 0xFFFFFFFFL) * posiciones) >>> 32);
+    }
+
+    /**
+     * Agrega un elemento al filtro.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        int h1 = primera(elemento);
+        int h2 = segunda(h1);
+        for (int i = 0; i < dispersiones; i++, h1 += h2)
+            enciende(posicion(h1));
+        elementos++;
+    }
+
+    /**
+     * Nos dice si el elemento pudo haber sido agregado al filtro. Si regresa
+     * <code>false</code>, el elemento seguro no fue agregado; si regresa
+     * <code>true</code>, puede ser un falso positivo.
+     * @param elemento el elemento a buscar.
+     * @return <code>false</code> si el elemento seguro no fue agregado o es
+     *         <code>null</code>, <code>true</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        if (elemento == null)
+            return false;
+        int h1 = primera(elemento);
+        int h2 = segunda(h1);
+        for (int i = 0; i < dispersiones; i++, h1 += h2)
+            if (!encendida(posicion(h1)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Guarda en el arreglo recibido las posiciones del elemento, en el orden
+     * en que {@link #agrega} las enciende. Lo usan las clases herederas que
+     * necesitan recorrer las posiciones de un elemento.
+     * @param elemento el elemento.
+     * @param destino el arreglo donde se guardan las posiciones; debe tener
+     *        al menos {@link #getDispersiones} lugares.
+     */
+    protected void calculaPosiciones(T elemento, int[] destino) {
+        int h1 = primera(elemento);
+        int h2 = segunda(h1);
+        for (int i = 0; i < dispersiones; i++, h1 += h2)
+            destino[i] = posicion(h1);
+    }
+
+    /**
+     * Enciende una posición.
+     * @param p la posición a encender.
+     */
+    protected void enciende(int p) {
+        tabla[p >>> 6] |= 1L << p;
+    }
+
+    /**
+     * Nos dice si una posición está encendida.
+     * @param p la posición.
+     * @return <code>true</code> si la posición está encendida,
+     *         <code>false</code> en otro caso.
+     */
+    protected boolean encendida(int p) {
+        return (tabla[p >>> 6] & (1L << p)) != 0;
+    }
+
+    /**
+     * Regresa el número de elementos agregados al filtro.
+     * @return el número de elementos agregados al filtro.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el filtro es vacío.
+     * @return <code>true</code> si el filtro es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacio() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de posiciones del filtro.
+     * @return el número de posiciones del filtro.
+     */
+    public long getPosiciones() {
+        return posiciones;
+    }
+
+    /**
+     * Regresa el número de dispersiones por elemento.
+     * @return el número de dispersiones por elemento.
+     */
+    public int getDispersiones() {
+        return dispersiones;
+    }
+
+    /**
+     * Regresa la tasa de falsos positivos esperada con los elementos
+     * agregados hasta ahora: <em>(1 - e<sup>-kn/m</sup>)<sup>k</sup></em>.
+     * @return la tasa de falsos positivos esperada.
+     */
+    public double tasaFalsosPositivos() {
+        double vacias = Math.exp(-(double)dispersiones * elementos / posiciones);
+        return Math.pow(1.0 - vacias, dispersiones);
+    }
+
+    /**
+     * Limpia el filtro, dejándolo vacío.
+     */
+    public void limpia() {
+        Arrays.fill(tabla, 0L);
+        elementos = 0;
+    }
+}
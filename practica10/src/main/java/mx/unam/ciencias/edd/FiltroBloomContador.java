@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para filtros de Bloom con contadores. Cada posición del filtro es
+ * un contador de 4 bits en lugar de un bit, así que además de agregar se
+ * pueden eliminar elementos: agregar incrementa los contadores del elemento y
+ * eliminarlo los decrementa.</p>
+ *
+ * <p>Un contador que llega a 15 se queda en 15 para siempre; esto sólo puede
+ * producir falsos positivos de más, nunca falsos negativos. Con las
+ * posiciones por elemento usuales es prácticamente imposible que pase.</p>
+ *
+ * <p>Usa cuatro veces la memoria de un {@link FiltroBloom} con la misma tasa
+ * de falsos positivos: los bits por elemento del constructor son en realidad
+ * contadores por elemento.</p>
+ */
+public class FiltroBloomContador<T> extends FiltroBloom<T> {
+
+    /* El valor máximo de un contador. */
+    private static final int MAXIMO = 15;
+
+    /* Las posiciones del elemento que se elimina. */
+    private int[] eliminadas;
+
+    /**
+     * Construye un filtro para el número de elementos y los contadores por
+     * elemento recibidos, y un dispersor predeterminado.
+     * @param elementos el número de elementos esperados.
+     * @param contadoresPorElemento los contadores por elemento.
+     * @throws IllegalArgumentException si el número de elementos o de
+     *         contadores por elemento no es positivo, o si el filtro sería
+     *         demasiado grande.
+     */
+    public FiltroBloomContador(int elementos, int contadoresPorElemento) {
+        this(elementos, contadoresPorElemento, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye un filtro para el número de elementos y los contadores por
+     * elemento recibidos, y un dispersor definido por el usuario.
+     * @param elementos el número de elementos esperados.
+     * @param contadoresPorElemento los contadores por elemento.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el número de elementos o de
+     *         contadores por elemento no es positivo, si el filtro sería
+     *         demasiado grande o si el dispersor es <code>null</code>.
+     */
+    public FiltroBloomContador(int elementos, int contadoresPorElemento,
+                               Dispersor<T> dispersor) {
+        super(elementos, contadoresPorElemento, dispersor, 4);
+        eliminadas = new int[getDispersiones()];
+    }
+
+    /* Regresa el valor del contador p. */
+    private int contador(int p) {
+        return (int)(tabla[p >>> 4] >>> ((p & 15) << 2)) & MAXIMO;
+    }
+
+    /**
+     * Elimina un elemento del filtro. El elemento debe haber sido agregado
+     * antes; eliminar un elemento que nunca se agregó pero es un falso
+     * positivo decrementa contadores de otros elementos, y puede producir
+     * falsos negativos.
+     * @param elemento el elemento a eliminar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     * @throws NoSuchElementException si el elemento seguro no fue agregado.
+     */
+    public void elimina(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        if (!contiene(elemento))
+            throw new NoSuchElementException("El elemento no está en el " +
+                                             "filtro");
+        calculaPosiciones(elemento, eliminadas);
+        for (int p : eliminadas)
+            decrementa(p);
+        elementos--;
+    }
+
+    /**
+     * Incrementa el contador de una posición, si no ha llegado al máximo.
+     * @param p la posición.
+     */
+    @Override protected void enciende(int p) {
+        if (contador(p) < MAXIMO)
+            tabla[p >>> 4] += 1L << ((p & 15) << 2);
+    }
+
+    /**
+     * Nos dice si el contador de una posición es distinto de cero.
+     * @param p la posición.
+     * @return <code>true</code> si el contador de la posición es distinto de
+     *         cero, <code>false</code> en otro caso.
+     */
+    @Override protected boolean encendida(int p) {
+        return contador(p) != 0;
+    }
+
+    /* Decrementa el contador de una posición, si no ha llegado al
+     * máximo. */
+    private void decrementa(int p) {
+        int c = contador(p);
+        if (c > 0 && c < MAXIMO)
+            tabla[p >>> 4] -= 1L << ((p & 15) << 2);
+    }
+}
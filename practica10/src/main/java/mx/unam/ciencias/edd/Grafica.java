@@ -2,6 +2,13 @@ package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Clase para gráficas. Una gráfica es un conjunto de vértices y aristas, tales
@@ -47,6 +54,8 @@ public class Grafica<T> implements Coleccion<T> {
         private Lista<Vecino> vecinos;
         
         private Vertice predecesor;
+        /* El último recorrido paralelo que visitó al vértice. */
+        volatile int marca;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
@@ -141,10 +150,132 @@ public class Grafica<T> implements Coleccion<T> {
         public boolean seSiguen(Grafica<T>.Vertice v, Grafica<T>.Vecino a);
     }
 
+    /* Clase interna privada para recorridos paralelos. Cada trabajador es
+     * dueño de una bicola; saca de la suya y, cuando se vacía, roba de las
+     * demás. El recorrido termina cuando no queda ningún vértice pendiente,
+     * esté en una bicola o procesándose. Cada vértice toca el contador de
+     * pendientes a lo más una vez, y ninguna si reclamó exactamente un
+     * vecino; los trabajadores sin nada que hacer se duermen cada vez más
+     * tiempo en lugar de ocupar su hilo. */
+    private class RecorridoParalelo extends RecursiveAction {
+
+        /* Las bicolas de los trabajadores. */
+        private BicolaRobo<Vertice>[] bicolas;
+        /* Vértices metidos en alguna bicola y todavía no procesados. */
+        private AtomicLong pendientes;
+        /* El primer error de algún trabajador. */
+        private AtomicReference<Throwable> error;
+        /* La marca de este recorrido. */
+        private int marca;
+        /* La acción a realizar. */
+        private AccionVerticeGrafica<T> accion;
+
+        /* Construye el recorrido desde el vértice recibido, con el número de
+         * trabajadores recibido. */
+        @SuppressWarnings("unchecked")
+        public RecorridoParalelo(Vertice origen, int trabajadores, int marca,
+                                 AccionVerticeGrafica<T> accion) {
+            bicolas = (BicolaRobo<Vertice>[])new BicolaRobo[trabajadores];
+            for (int i = 0; i < trabajadores; i++)
+                bicolas[i] = new BicolaRobo<Vertice>();
+            pendientes = new AtomicLong(1);
+            error = new AtomicReference<Throwable>();
+            this.marca = marca;
+            this.accion = accion;
+            MARCA.set(origen, marca);
+            bicolas[0].mete(origen);
+        }
+
+        /* Arranca a los trabajadores y espera a que terminen. */
+        @Override protected void compute() {
+            ForkJoinTask<?>[] tareas = new ForkJoinTask<?>[bicolas.length];
+            for (int i = 0; i < tareas.length; i++) {
+                final int trabajador = i;
+                tareas[i] = ForkJoinTask.adapt(() -> trabaja(trabajador));
+            }
+            invokeAll(tareas);
+        }
+
+        /* Procesa vértices de la bicola propia o robados hasta que no quede
+         * ninguno pendiente. */
+        private void trabaja(int trabajador) {
+            BicolaRobo<Vertice> propia = bicolas[trabajador];
+            PilaArreglo<Vertice> reclamados = new PilaArreglo<Vertice>();
+            int intentos = 0;
+            try {
+                while (pendientes.get() > 0 && error.get() == null) {
+                    Vertice v = propia.intentaSaca();
+                    if (v == null)
+                        v = roba(trabajador);
+                    if (v == null) {
+                        espera(intentos++);
+                        continue;
+                    }
+                    intentos = 0;
+                    accion.actua(v);
+                    for (Vecino vecino : v.vecinos) {
+                        Vertice u = vecino.vecino;
+                        int m = u.marca;
+                        if (m != marca && MARCA.compareAndSet(u, m, marca))
+                            reclamados.mete(u);
+                    }
+                    // Los reclamados heredan el lugar de v en el contador;
+                    // hay que contarlos antes de que alguien los pueda robar
+                    int n = reclamados.getElementos();
+                    if (n != 1)
+                        pendientes.addAndGet(n - 1);
+                    while (!reclamados.esVacia())
+                        propia.mete(reclamados.saca());
+                }
+            } catch (RuntimeException | Error e) {
+                error.compareAndSet(null, e);
+                throw e;
+            }
+        }
+
+        /* Espera antes de volver a buscar trabajo: primero sólo cede el
+         * procesador y después se duerme, duplicando el tiempo en cada
+         * intento hasta un máximo. */
+        private void espera(int intentos) {
+            if (intentos < CEDIDAS) {
+                Thread.yield();
+                return;
+            }
+            int k = Math.min(intentos - CEDIDAS, 10);
+            LockSupport.parkNanos(Math.min(MAXIMA_ESPERA, MINIMA_ESPERA << k));
+        }
+
+        /* Intenta robar un vértice de las bicolas de los demás, empezando
+         * por la del trabajador siguiente. */
+        private Vertice roba(int trabajador) {
+            for (int i = 1; i < bicolas.length; i++) {
+                Vertice v = bicolas[(trabajador + i) % bicolas.length].roba();
+                if (v != null)
+                    return v;
+            }
+            return null;
+        }
+    }
+
+    /* Veces que un trabajador sin vértices cede el procesador antes de
+     * dormirse. */
+    private static final int CEDIDAS = 16;
+    /* Primera espera de un trabajador sin vértices, en nanosegundos. */
+    private static final long MINIMA_ESPERA = 1000L;
+    /* Máxima espera de un trabajador sin vértices, en nanosegundos. */
+    private static final long MAXIMA_ESPERA = 1000000L;
+
+    /* Actualizador atómico de la marca de un vértice. */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Grafica.Vertice> MARCA =
+        AtomicIntegerFieldUpdater.newUpdater(Grafica.Vertice.class, "marca");
+
     /* Vértices. */
     private Lista<Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Número de recorridos paralelos; la marca del último. */
+    private int recorridos;
 
     /**
      * Constructor único.
@@ -461,7 +592,7 @@ private boolean sonVecinos(Vertice verticeA, Vertice verticeB) {
      */
 public boolean esConexa() {
     if (vertices.getLongitud() == 0 || vertices.getLongitud() == 1) return true;
-    Cola<Vertice> estructura = new Cola<>();
+    ColaArreglo<Vertice> estructura = new ColaArreglo<>();
     Vertice w = vertices.getPrimero();
     paraCadaVertice(v -> setColor(v, Color.ROJO));
     setColor(w, Color.NEGRO);
@@ -507,7 +638,7 @@ public boolean esConexa() {
      */
     public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
           if(elemento == null || !contiene(elemento)) throw new NoSuchElementException("El elemento "+elemento.toString()+" no está en la gráfica");
-        recorridofs(elemento, accion, new Cola<Vertice>());
+        recorridofs(elemento, accion, new ColaArreglo<Vertice>());
     }
     /**
      * Realiza la acción recibida en todos los vértices de la gráfica, en el
@@ -521,9 +652,38 @@ public boolean esConexa() {
      */
     public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
         if(elemento == null || !contiene(elemento)) throw new NoSuchElementException("El elemento "+elemento.toString()+" no está en la gráfica");
-        recorridofs(elemento, accion, new Pila<Vertice>());
+        recorridofs(elemento, accion, new PilaArreglo<Vertice>());
     }
 
+    /**
+     * Realiza la acción recibida en todos los vértices de la gráfica
+     * alcanzables desde el vértice correspondiente al elemento recibido,
+     * usando varios hilos. Cada hilo explora desde los vértices de su propia
+     * {@link BicolaRobo}, y cuando se le acaban roba vértices de las bicolas
+     * de los otros hilos. La acción se realiza exactamente una vez en cada
+     * vértice alcanzable, pero en un orden no determinado y posiblemente
+     * desde varios hilos a la vez, así que debe poder ejecutarse
+     * concurrentemente. Los colores de los vértices no cambian. La gráfica
+     * no debe modificarse durante el recorrido.
+     * @param elemento el elemento sobre cuyo vértice queremos comenzar el
+     *        recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public void recorridoParalelo(T elemento, AccionVerticeGrafica<T> accion) {
+        Vertice w = elemento == null ? null : buscaVertice(elemento);
+        if (w == null)
+            throw new NoSuchElementException("El elemento no está en la gráfica");
+        if (++recorridos == 0) {
+            // Las marcas dieron la vuelta; las reiniciamos
+            for (Vertice v : vertices)
+                v.marca = 0;
+            recorridos = 1;
+        }
+        int trabajadores = ForkJoinPool.getCommonPoolParallelism() + 1;
+        ForkJoinPool.commonPool().invoke(
+            new RecorridoParalelo(w, trabajadores, recorridos, accion));
+    }
 
 private void recorridofs(T elemento, AccionVerticeGrafica<T> accion, MeteSaca<Vertice> estructura) {
     paraCadaVertice(v -> setColor(v, Color.ROJO));
@@ -656,7 +816,7 @@ public Lista<VerticeGrafica<T>> trayectoriaMinima(T origenT, T destinoT) {
 
     inicializaDistancias();
     origen.distancia = 0;
-    Cola<Vertice> cola = new Cola<>();
+    ColaArreglo<Vertice> cola = new ColaArreglo<>();
     cola.mete(origen);
 
     while (!cola.esVacia()) {
@@ -0,0 +1,540 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase genérica para listas en arreglos.</p>
+ *
+ * <p>Tienen los mismos métodos que {@link Lista}, pero los elementos viven en
+ * un arreglo circular que crece al doble cuando se llena. Así {@link #get}
+ * toma tiempo constante en lugar de recorrer los nodos, recorrer la lista
+ * visita memoria contigua, y cada elemento ocupa una referencia en lugar de
+ * un nodo con dos más. Agregar y eliminar en ambos extremos toma tiempo
+ * constante amortizado; {@link #inserta} y {@link #elimina} recorren los
+ * elementos del lado más corto.</p>
+ *
+ * <p>Las listas no aceptan a <code>null</code> como elemento.</p>
+ *
+ * @param <T> El tipo de los elementos de la lista.
+ */
+public class ListaArreglo<T> implements Coleccion<T> {
+
+    /* Capacidad mínima del arreglo; una potencia de 2. */
+    private static final int MINIMA_CAPACIDAD = 8;
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements IteradorLista<T> {
+        /* El índice del elemento siguiente. */
+        private int siguiente;
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return siguiente < longitud;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (siguiente >= longitud)
+                throw new NoSuchElementException();
+            return elemento(siguiente++);
+        }
+
+        /* Nos dice si hay un elemento anterior. */
+        @Override public boolean hasPrevious() {
+            return siguiente > 0;
+        }
+
+        /* Nos da el elemento anterior. */
+        @Override public T previous() {
+            if (siguiente <= 0)
+                throw new NoSuchElementException();
+            return elemento(--siguiente);
+        }
+
+        /* Mueve el iterador al inicio de la lista. */
+        @Override public void start() {
+            siguiente = 0;
+        }
+
+        /* Mueve el iterador al final de la lista. */
+        @Override public void end() {
+            siguiente = longitud;
+        }
+    }
+
+    /* Los elementos; el arreglo tiene como longitud una potencia de 2. */
+    private Object[] arreglo;
+    /* Índice en el arreglo del primer elemento. */
+    private int cabeza;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /**
+     * Construye una lista vacía con la capacidad mínima.
+     */
+    public ListaArreglo() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye una lista vacía con capacidad para el número de elementos
+     * recibido.
+     * @param capacidad el número de elementos que caben en la lista antes de
+     *                  tener que crecer el arreglo.
+     */
+    public ListaArreglo(int capacidad) {
+        int c = MINIMA_CAPACIDAD;
+        while (c < capacidad && c < (1 << 30))
+            c *= 2;
+        arreglo = new Object[c];
+    }
+
+    /* Regresa el índice en el arreglo del i-ésimo elemento. */
+    private int indice(int i) {
+        return (cabeza + i) & (arreglo.length - 1);
+    }
+
+    /* Regresa el i-ésimo elemento, sin revisar el índice. */
+    @SuppressWarnings("unchecked")
+    private T elemento(int i) {
+        return (T)arreglo[indice(i)];
+    }
+
+    /* Duplica el arreglo si está lleno, dejando el primer elemento en el
+     * índice 0. */
+    private void crece() {
+        if (longitud < arreglo.length)
+            return;
+        Object[] nuevo = new Object[arreglo.length * 2];
+        int n = arreglo.length - cabeza;
+        System.arraycopy(arreglo, cabeza, nuevo, 0, n);
+        System.arraycopy(arreglo, 0, nuevo, n, cabeza);
+        arreglo = nuevo;
+        cabeza = 0;
+    }
+
+    /**
+     * Regresa la longitud de la lista. El método es idéntico a {@link
+     * #getElementos}.
+     * @return la longitud de la lista, el número de elementos que contiene.
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa el número elementos en la lista. El método es idéntico a {@link
+     * #getLongitud}.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Agrega un elemento a la lista. Si la lista no tiene elementos, el
+     * elemento a agregar será el primero y último. El método es idéntico a
+     * {@link #agregaFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *                                  <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        crece();
+        arreglo[indice(longitud++)] = elemento;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *                                  <code>null</code>.
+     */
+    public void agregaFinal(T elemento) {
+        agrega(elemento);
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaInicio(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        crece();
+        cabeza = (cabeza - 1) & (arreglo.length - 1);
+        arreglo[cabeza] = elemento;
+        longitud++;
+    }
+
+    /**
+     * Inserta un elemento en un índice explícito.
+     *
+     * Si el índice es menor o igual que cero, el elemento se agrega al inicio
+     * de la lista. Si el índice es mayor o igual que el número de elementos en
+     * la lista, el elemento se agrega al final de la misma. En otro caso,
+     * después de mandar llamar el método, el elemento tendrá el índice que se
+     * especifica en la lista.
+     * @param i el índice dónde insertar el elemento. Si es menor que 0 el
+     *          elemento se agrega al inicio de la lista, y si es mayor o igual
+     *          que el número de elementos en la lista se agrega al final.
+     * @param elemento el elemento a insertar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void inserta(int i, T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (i <= 0) {
+            agregaInicio(elemento);
+            return;
+        }
+        if (i >= longitud) {
+            agregaFinal(elemento);
+            return;
+        }
+        crece();
+        if (i < longitud / 2) {
+            // Recorremos los primeros i elementos una posición a la izquierda
+            cabeza = (cabeza - 1) & (arreglo.length - 1);
+            for (int j = 0; j < i; j++)
+                arreglo[indice(j)] = arreglo[indice(j + 1)];
+        } else {
+            for (int j = longitud; j > i; j--)
+                arreglo[indice(j)] = arreglo[indice(j - 1)];
+        }
+        arreglo[indice(i)] = elemento;
+        longitud++;
+    }
+
+    /* Elimina el i-ésimo elemento, recorriendo los del lado más corto. */
+    private void eliminaIndice(int i) {
+        if (i < longitud / 2) {
+            for (int j = i; j > 0; j--)
+                arreglo[indice(j)] = arreglo[indice(j - 1)];
+            arreglo[cabeza] = null;
+            cabeza = (cabeza + 1) & (arreglo.length - 1);
+        } else {
+            for (int j = i; j < longitud - 1; j++)
+                arreglo[indice(j)] = arreglo[indice(j + 1)];
+            arreglo[indice(longitud - 1)] = null;
+        }
+        longitud--;
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        int i = indiceDe(elemento);
+        if (i != -1)
+            eliminaIndice(i);
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa.
+     * @return el primer elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaPrimero() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        T e = elemento(0);
+        eliminaIndice(0);
+        return e;
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaUltimo() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        T e = elemento(longitud - 1);
+        eliminaIndice(longitud - 1);
+        return e;
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <code>true</code> si <code>elemento</code> está en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Regresa la reversa de la lista.
+     * @return una nueva lista que es la reversa la que manda llamar el método.
+     */
+    public ListaArreglo<T> reversa() {
+        ListaArreglo<T> l = new ListaArreglo<T>(longitud);
+        for (int i = longitud - 1; i >= 0; i--)
+            l.arreglo[l.longitud++] = arreglo[indice(i)];
+        return l;
+    }
+
+    /**
+     * Regresa una copia de la lista. La copia tiene los mismos elementos que la
+     * lista que manda llamar el método, en el mismo orden.
+     * @return una copia de la lista.
+     */
+    public ListaArreglo<T> copia() {
+        ListaArreglo<T> l = new ListaArreglo<T>(longitud);
+        copiaEn(l.arreglo);
+        l.longitud = longitud;
+        return l;
+    }
+
+    /* Copia los elementos en orden al inicio del arreglo recibido. */
+    private void copiaEn(Object[] destino) {
+        int n = Math.min(longitud, arreglo.length - cabeza);
+        System.arraycopy(arreglo, cabeza, destino, 0, n);
+        System.arraycopy(arreglo, 0, destino, n, longitud - n);
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía.
+     */
+    @Override public void limpia() {
+        Arrays.fill(arreglo, null);
+        cabeza = longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return elemento(0);
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (longitud == 0)
+            throw new NoSuchElementException();
+        return elemento(longitud - 1);
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista, en tiempo constante.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T get(int i) {
+        if (i < 0 || i >= longitud)
+            throw new ExcepcionIndiceInvalido();
+        return elemento(i);
+    }
+
+    /**
+     * Reemplaza el <em>i</em>-ésimo elemento de la lista, en tiempo
+     * constante.
+     * @param i el índice del elemento a reemplazar.
+     * @param elemento el elemento nuevo.
+     * @return el elemento que estaba en el índice.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T set(int i, T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        T e = get(i);
+        arreglo[indice(i)] = elemento;
+        return e;
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si el elemento
+     *         no está contenido en la lista.
+     */
+    public int indiceDe(T elemento) {
+        for (int i = 0; i < longitud; i++)
+            if (arreglo[indice(i)].equals(elemento))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        if (longitud == 0)
+            return "[]";
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < longitud; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(arreglo[indice(i)]);
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <code>true</code> si la lista es igual al objeto recibido;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaArreglo<T> lista =
+            (ListaArreglo<T>)objeto;
+        if (longitud != lista.longitud)
+            return false;
+        for (int i = 0; i < longitud; i++)
+            if (!arreglo[indice(i)].equals(lista.arreglo[lista.indice(i)]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en una dirección.
+     * @return un iterador para recorrer la lista en una dirección.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en ambas direcciones.
+     * @return un iterador para recorrer la lista en ambas direcciones.
+     */
+    public IteradorLista<T> iteradorLista() {
+        return new Iterador();
+    }
+
+    /* Mezcla los bloques ordenados [a, m) y [m, b) de origen en destino. */
+    private static void mezcla(Object[] origen, Object[] destino,
+                               int a, int m, int b, Comparator<Object> comparador) {
+        int i = a, j = m, k = a;
+        while (i < m && j < b)
+            if (comparador.compare(origen[i], origen[j]) <= 0)
+                destino[k++] = origen[i++];
+            else
+                destino[k++] = origen[j++];
+        System.arraycopy(origen, i, destino, k, m - i);
+        System.arraycopy(origen, j, destino, k + m - i, b - j);
+    }
+
+    /**
+     * Regresa una copia de la lista, pero ordenada. Para poder hacer el
+     * ordenamiento, el método necesita una instancia de {@link Comparator} para
+     * poder comparar los elementos de la lista. El ordenamiento es estable:
+     * los elementos iguales quedan en el mismo orden que en la lista.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     * @return una copia de la lista, pero ordenada.
+     */
+    @SuppressWarnings("unchecked")
+    public ListaArreglo<T> mergeSort(Comparator<T> comparador) {
+        ListaArreglo<T> l = copia();
+        Comparator<Object> c = (Comparator<Object>)comparador;
+        Object[] origen = l.arreglo;
+        Object[] destino = new Object[origen.length];
+        // Mezclamos bloques de 1, 2, 4... alternando los arreglos
+        for (int ancho = 1; ancho < longitud; ancho *= 2) {
+            for (int a = 0; a < longitud; a += 2 * ancho) {
+                int m = Math.min(a + ancho, longitud);
+                int b = Math.min(a + 2 * ancho, longitud);
+                mezcla(origen, destino, a, m, b, c);
+            }
+            Object[] t = origen;
+            origen = destino;
+            destino = t;
+        }
+        l.arreglo = origen;
+        return l;
+    }
+
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada. La lista recibida
+     * tiene que contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static <T extends Comparable<T>>
+    ListaArreglo<T> mergeSort(ListaArreglo<T> lista) {
+        return lista.mergeSort((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Busca un elemento en la lista ordenada, usando el comparador recibido. El
+     * método supone que la lista está ordenada usando el mismo comparador, y
+     * como tiene acceso aleatorio hace una búsqueda binaria.
+     * @param elemento el elemento a buscar.
+     * @param comparador el comparador con el que la lista está ordenada.
+     * @return <code>true</code> si el elemento está contenido en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean busquedaLineal(T elemento, Comparator<T> comparador) {
+        int a = 0, b = longitud - 1;
+        while (a <= b) {
+            int m = (a + b) >>> 1;
+            int c = comparador.compare(elemento(m), elemento);
+            if (c == 0)
+                return true;
+            if (c < 0)
+                a = m + 1;
+            else
+                b = m - 1;
+        }
+        return false;
+    }
+
+    /**
+     * Busca un elemento en una lista ordenada. La lista recibida tiene que
+     * contener nada más elementos que implementan la interfaz {@link
+     * Comparable}, y se da por hecho que está ordenada.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista donde se buscará.
+     * @param elemento el elemento a buscar.
+     * @return <code>true</code> si el elemento está contenido en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    public static <T extends Comparable<T>>
+    boolean busquedaLineal(ListaArreglo<T> lista, T elemento) {
+        return lista.busquedaLineal(elemento, (a, b) -> a.compareTo(b));
+    }
+}
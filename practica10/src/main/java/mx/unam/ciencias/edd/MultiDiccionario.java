@@ -0,0 +1,293 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para multidiccionarios. Un multidiccionario asocia a cada llave
+ * una secuencia de valores, en el orden en que se agregaron; sirve, por
+ * ejemplo, para índices invertidos que asocian a cada palabra los documentos
+ * donde aparece.</p>
+ *
+ * <p>Los valores de cada llave se guardan juntos en un arreglo que crece a
+ * la mitad más de su tamaño cuando se llena, no en una lista con un nodo por
+ * valor. Agregar un valor hace una sola búsqueda en el {@link Diccionario}
+ * con {@link Diccionario#buscaOAgrega}.</p>
+ */
+public class MultiDiccionario<K, V> implements Iterable<V> {
+
+    /* Capacidad inicial del arreglo de valores de una llave. */
+    private static final int CAPACIDAD_INICIAL = 2;
+
+    /* Clase interna privada para los valores de una llave. */
+    private static class Valores {
+
+        /* Los valores. */
+        public Object[] valores;
+        /* El número de valores. */
+        public int elementos;
+
+        /* Agrega un valor al final, creciendo el arreglo si hace falta. */
+        public void agrega(Object valor) {
+            if (valores == null)
+                valores = new Object[CAPACIDAD_INICIAL];
+            else if (elementos == valores.length)
+                valores = Arrays.copyOf(valores, elementos + (elementos >> 1));
+            valores[elementos++] = valor;
+        }
+
+        /* Regresa el índice de la primera aparición del valor, o -1. */
+        public int indiceDe(Object valor) {
+            for (int i = 0; i < elementos; i++)
+                if (valores[i].equals(valor))
+                    return i;
+            return -1;
+        }
+
+        /* Elimina el valor en el índice, recorriendo los siguientes. */
+        public void elimina(int i) {
+            System.arraycopy(valores, i + 1, valores, i, elementos - i - 1);
+            valores[--elementos] = null;
+        }
+    }
+
+    /* Clase interna privada para iteradores de todos los valores. */
+    private class Iterador implements Iterator<V> {
+
+        /* Iterador de los arreglos de valores. */
+        private Iterator<Valores> iterador;
+        /* El arreglo de valores actual. */
+        private Valores actual;
+        /* El índice del siguiente valor en el arreglo actual. */
+        private int siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            iterador = diccionario.iterator();
+        }
+
+        /* Nos dice si hay un siguiente valor. */
+        @Override public boolean hasNext() {
+            return (actual != null && siguiente < actual.elementos) ||
+                iterador.hasNext();
+        }
+
+        /* Regresa el siguiente valor. */
+        @Override public V next() {
+            if (actual == null || siguiente == actual.elementos) {
+                actual = iterador.next();
+                siguiente = 0;
+            }
+            @SuppressWarnings("unchecked") V v = (V)actual.valores[siguiente++];
+            return v;
+        }
+    }
+
+    /* Los valores de cada llave. */
+    private Diccionario<K, Valores> diccionario;
+    /* Arreglo de valores para la siguiente llave nueva. */
+    private Valores repuesto;
+    /* El número total de valores. */
+    private int elementos;
+
+    /**
+     * Construye un multidiccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public MultiDiccionario() {
+        this(0, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un multidiccionario con una capacidad inicial y dispersor
+     * definidos por el usuario.
+     * @param capacidad la capacidad inicial, en llaves.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el dispersor es <code>null</code>.
+     */
+    public MultiDiccionario(int capacidad, Dispersor<K> dispersor) {
+        if (dispersor == null)
+            throw new IllegalArgumentException("Dispersor inválido");
+        diccionario = new Diccionario<K, Valores>(capacidad, dispersor);
+        repuesto = new Valores();
+    }
+
+    /**
+     * Agrega un valor a los de la llave proporcionada.
+     * @param llave la llave.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        Valores valores = diccionario.buscaOAgrega(llave, repuesto);
+        if (valores == repuesto)
+            repuesto = new Valores();
+        valores.agrega(valor);
+        elementos++;
+    }
+
+    /**
+     * Regresa una lista con los valores de la llave, en el orden en que se
+     * agregaron; vacía si la llave no está.
+     * @param llave la llave.
+     * @return una lista con los valores de la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     */
+    public Lista<V> get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        Lista<V> lista = new Lista<V>();
+        Valores valores = diccionario.busca(llave);
+        if (valores != null)
+            for (int i = 0; i < valores.elementos; i++) {
+                @SuppressWarnings("unchecked") V v = (V)valores.valores[i];
+                lista.agrega(v);
+            }
+        return lista;
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo valor de la llave, sin copiar sus valores.
+     * @param llave la llave.
+     * @param i el índice del valor.
+     * @return el <em>i</em>-ésimo valor de la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor
+     *         o igual que el número de valores de la llave.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K llave, int i) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        Valores valores = diccionario.busca(llave);
+        if (valores == null || i < 0 || i >= valores.elementos)
+            throw new ExcepcionIndiceInvalido("Índice inválido");
+        return (V)valores.valores[i];
+    }
+
+    /**
+     * Regresa el número de valores de la llave; cero si la llave no está.
+     * @param llave la llave.
+     * @return el número de valores de la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     */
+    public int cuenta(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        Valores valores = diccionario.busca(llave);
+        return valores == null ? 0 : valores.elementos;
+    }
+
+    /**
+     * Nos dice si la llave tiene al menos un valor.
+     * @param llave la llave.
+     * @return <code>true</code> si la llave tiene al menos un valor,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return diccionario.contiene(llave);
+    }
+
+    /**
+     * Nos dice si el valor es uno de los de la llave.
+     * @param llave la llave.
+     * @param valor el valor.
+     * @return <code>true</code> si el valor es uno de los de la llave,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave, V valor) {
+        if (valor == null)
+            return false;
+        Valores valores = diccionario.busca(llave);
+        return valores != null && valores.indiceDe(valor) != -1;
+    }
+
+    /**
+     * Elimina la llave con todos sus valores.
+     * @param llave la llave a eliminar.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     * @throws NoSuchElementException si la llave no está.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave inválida");
+        elementos -= diccionario.get(llave).elementos;
+        diccionario.elimina(llave);
+    }
+
+    /**
+     * Elimina la primera aparición del valor entre los de la llave. Si era
+     * el último valor de la llave, la llave se elimina.
+     * @param llave la llave.
+     * @param valor el valor a eliminar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     * @throws NoSuchElementException si el valor no es uno de los de la
+     *         llave.
+     */
+    public void elimina(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("Llave/valor incorrectos");
+        Valores valores = diccionario.busca(llave);
+        int i = valores == null ? -1 : valores.indiceDe(valor);
+        if (i == -1)
+            throw new NoSuchElementException("El valor no está");
+        valores.elimina(i);
+        elementos--;
+        if (valores.elementos == 0)
+            diccionario.elimina(llave);
+    }
+
+    /**
+     * Regresa el número total de valores, de todas las llaves.
+     * @return el número total de valores.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número de llaves.
+     * @return el número de llaves.
+     */
+    public int getLlaves() {
+        return diccionario.getElementos();
+    }
+
+    /**
+     * Nos dice si el multidiccionario es vacío.
+     * @return <code>true</code> si el multidiccionario es vacío,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el multidiccionario.
+     */
+    public void limpia() {
+        diccionario.limpia();
+        elementos = 0;
+    }
+
+    /**
+     * Regresa un iterador para las llaves, sin ningún orden específico.
+     * @return un iterador para las llaves.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return diccionario.iteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para todos los valores. Los valores de una misma
+     * llave salen juntos y en el orden en que se agregaron; las llaves, sin
+     * ningún orden específico.
+     * @return un iterador para todos los valores.
+     */
+    @Override public Iterator<V> iterator() {
+        return new Iterador();
+    }
+}
@@ -0,0 +1,16 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz genérica para pesadores de entradas de un {@link CacheAcotado}.
+ */
+@FunctionalInterface
+public interface Pesador<K, V> {
+
+    /**
+     * Calcula el peso de la entrada recibida.
+     * @param llave la llave de la entrada.
+     * @param valor el valor de la entrada.
+     * @return el peso de la entrada; debe ser no negativo.
+     */
+    public int pesa(K llave, V valor);
+}
@@ -0,0 +1,157 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para pilas genéricas en arreglos.</p>
+ *
+ * <p>Tienen el mismo comportamiento que {@link Pila}, pero los elementos viven
+ * en un arreglo en lugar de en nodos: meter un elemento no crea ningún objeto
+ * (salvo cuando el arreglo crece al doble). Sirven como reemplazo directo de
+ * {@link Pila} en los recorridos DFS.</p>
+ *
+ * <p>Las pilas pueden ser acotadas: en ese caso el arreglo nunca crece, y
+ * meter un elemento en una pila llena lanza una excepción.</p>
+ *
+ * @param <T> El tipo de los elementos de la pila.
+ */
+public class PilaArreglo<T> extends MeteSaca<T> {
+
+    /* Capacidad mínima del arreglo. */
+    private static final int MINIMA_CAPACIDAD = 16;
+
+    /* Los elementos; el tope está en el índice elementos - 1. */
+    private Object[] arreglo;
+    /* Número de elementos en la pila. */
+    private int elementos;
+    /* Número máximo de elementos, o -1 si la pila no es acotada. */
+    private int limite;
+
+    /**
+     * Construye una pila vacía que crece cuando se llena.
+     */
+    public PilaArreglo() {
+        this(MINIMA_CAPACIDAD, false);
+    }
+
+    /**
+     * Construye una pila vacía con capacidad para el número de elementos
+     * recibido. Si la pila es acotada, nunca tendrá más elementos que esa
+     * capacidad; si no, crece al doble cuando se llena.
+     * @param capacidad el número de elementos que caben en la pila antes de
+     *                  tener que crecer el arreglo.
+     * @param acotada si la pila no puede crecer más allá de la capacidad.
+     * @throws IllegalArgumentException si la pila es acotada y la capacidad
+     *         no es positiva.
+     */
+    public PilaArreglo(int capacidad, boolean acotada) {
+        if (acotada && capacidad < 1)
+            throw new IllegalArgumentException("Capacidad inválida");
+        limite = acotada ? capacidad : -1;
+        arreglo = new Object[acotada ? capacidad
+                             : Math.max(capacidad, MINIMA_CAPACIDAD)];
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     * @throws IllegalStateException si la pila es acotada y está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("Elemento inválido");
+        if (estaLlena())
+            throw new IllegalStateException("La pila está llena");
+        if (elementos == arreglo.length)
+            arreglo = Arrays.copyOf(arreglo, arreglo.length * 2);
+        arreglo[elementos++] = elemento;
+    }
+
+    /**
+     * Elimina el elemento en el tope de la pila y lo regresa.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila está vacía.
+     */
+    @Override public T saca() {
+        T elemento = mira();
+        arreglo[--elementos] = null;
+        return elemento;
+    }
+
+    /**
+     * Nos permite ver el elemento en el tope de la pila, sin sacarlo.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila está vacía.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException("Es vacía");
+        return elemento(elementos - 1);
+    }
+
+    /**
+     * Nos dice si la pila está vacía.
+     * @return <code>true</code> si la pila no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Nos dice si la pila está llena. Sólo las pilas acotadas se llenan.
+     * @return <code>true</code> si la pila es acotada y tiene tantos elementos
+     *         como su capacidad, <code>false</code> en otro caso.
+     */
+    public boolean estaLlena() {
+        return elementos == limite;
+    }
+
+    /**
+     * Regresa el número de elementos en la pila.
+     * @return el número de elementos en la pila.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa una representación en cadena de la pila, del tope al fondo.
+     * @return una representación en cadena de la pila.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = elementos - 1; i >= 0; i--)
+            sb.append(elemento(i)).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Compara la pila con un objeto.
+     * @param object el objeto con el que queremos comparar la pila.
+     * @return <code>true</code> si el objeto recibido es una pila en arreglo
+     *         con los mismos elementos en el mismo orden; <code>false</code>
+     *         en otro caso.
+     */
+    @Override public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass())
+            return false;
+        @SuppressWarnings("unchecked") PilaArreglo<T> pila =
+            (PilaArreglo<T>)object;
+        if (elementos != pila.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!elemento(i).equals(pila.elemento(i)))
+                return false;
+        return true;
+    }
+
+    /* Regresa el i-ésimo elemento a partir del fondo. */
+    @SuppressWarnings("unchecked")
+    private T elemento(int i) {
+        return (T)arreglo[i];
+    }
+}
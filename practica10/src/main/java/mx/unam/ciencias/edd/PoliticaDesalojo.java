@@ -0,0 +1,15 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para las políticas de desalojo de {@link CacheAcotado}.
+ */
+public enum PoliticaDesalojo {
+    /** Desaloja la entrada usada menos recientemente. */
+    LRU,
+    /**
+     * Desaloja la entrada usada menos recientemente, pero sólo admite una
+     * entrada nueva si se ha pedido con más frecuencia que la que desalojaría
+     * (TinyLFU).
+     */
+    TINY_LFU;
+}
@@ -77,6 +77,15 @@ public class Practica10 {
                           "con %s elementos.\n",
                           (tiempoTotal/1000000000.0), nf.format(N));
 
+        DiccionarioEntero diccionarioEntero = new DiccionarioEntero(N);
+        tiempoInicial = System.nanoTime();
+        for (int i = 0; i < N; i++)
+            diccionarioEntero.agrega(arreglo[i], arreglo[i]);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un diccionario " +
+                          "de enteros con %s elementos.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+
         tiempoInicial = System.nanoTime();
         abo.contiene(b);
         tiempoTotal = System.nanoTime() - tiempoInicial;
@@ -103,5 +112,12 @@ public class Practica10 {
         System.out.printf("%2.9f segundos en buscar en un " +
                           "diccionario con %s elementos.\n",
                           (tiempoTotal/1000000000.0), nf.format(N));
+
+        tiempoInicial = System.nanoTime();
+        diccionarioEntero.contiene(b);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en buscar en un " +
+                          "diccionario de enteros con %s elementos.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
     }
 }
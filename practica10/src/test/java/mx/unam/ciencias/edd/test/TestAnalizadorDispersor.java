@@ -0,0 +1,153 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.AnalizadorDispersor;
+import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link AnalizadorDispersor}.
+ */
+public class TestAnalizadorDispersor {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número de llaves; una potencia de 2. */
+    private int total;
+    /* Las llaves 0, 1, ..., total - 1. */
+    private Lista<Integer> llaves;
+
+    /**
+     * Crea las llaves para cada prueba.
+     */
+    public TestAnalizadorDispersor() {
+        random = new Random();
+        total = 1 << (6 + random.nextInt(4));
+        llaves = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            llaves.agrega(i);
+    }
+
+    /* Regresa n cadenas aleatorias de letras, de 16 a 31 caracteres. */
+    private Lista<String> cadenas(int n) {
+        Lista<String> cadenas = new Lista<String>();
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder();
+            int l = 16 + random.nextInt(16);
+            for (int j = 0; j < l; j++)
+                sb.append((char)('a' + random.nextInt(26)));
+            cadenas.agrega(sb.toString());
+        }
+        return cadenas;
+    }
+
+    /**
+     * Prueba unitaria para {@link AnalizadorDispersor#AnalizadorDispersor}.
+     */
+    @Test public void testConstructor() {
+        AnalizadorDispersor<Integer> a;
+        a = new AnalizadorDispersor<Integer>(i -> i, llaves);
+        Assert.assertTrue(a.getElementos() == total);
+        try {
+            new AnalizadorDispersor<Integer>(null, llaves);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new AnalizadorDispersor<Integer>(i -> i, new Lista<Integer>());
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            a.histograma(total - 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            a.sondeoLineal(total);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link AnalizadorDispersor} con un dispersor que
+     * reparte las llaves perfectamente.
+     */
+    @Test public void testDispersorPerfecto() {
+        AnalizadorDispersor<Integer> a;
+        a = new AnalizadorDispersor<Integer>(i -> i, llaves);
+        int[] histograma = a.histograma(total);
+        Assert.assertTrue(histograma.length == 2);
+        Assert.assertTrue(histograma[0] == 0 && histograma[1] == total);
+        Assert.assertTrue(a.jiCuadrada(total) == 0.0);
+        Assert.assertTrue(a.sondeoEncadenado(total) == 1.0);
+        Assert.assertTrue(a.sondeoLineal(total * 2) == 1.0);
+        // Con la mitad de cubetas, cada una tiene dos llaves
+        histograma = a.histograma(total / 2);
+        Assert.assertTrue(histograma.length == 3 && histograma[2] == total / 2);
+        Assert.assertTrue(a.sondeoEncadenado(total / 2) == 1.5);
+        Assert.assertFalse(a.reporte(total / 2, total, total * 2).isEmpty());
+    }
+
+    /**
+     * Prueba unitaria para {@link AnalizadorDispersor} con un dispersor que
+     * manda todas las llaves a la misma cubeta.
+     */
+    @Test public void testDispersorConstante() {
+        AnalizadorDispersor<Integer> a;
+        a = new AnalizadorDispersor<Integer>(i -> 0, llaves);
+        int[] histograma = a.histograma(total);
+        Assert.assertTrue(histograma.length == total + 1);
+        Assert.assertTrue(histograma[0] == total - 1 && histograma[total] == 1);
+        Assert.assertTrue(Math.abs(a.jiCuadrada(total) - total * (total - 1.0)) < 1e-6);
+        Assert.assertTrue(a.sondeoEncadenado(total) == (total + 1) / 2.0);
+        Assert.assertTrue(a.sondeoLineal(total * 2) == (total + 1) / 2.0);
+    }
+
+    /**
+     * Prueba unitaria para {@link AnalizadorDispersor} con dispersores reales
+     * sobre llaves aleatorias: deben estar cerca de lo que se espera de un
+     * dispersor ideal.
+     */
+    @Test public void testDispersoresReales() {
+        Lista<String> cadenas = cadenas(total * 4);
+        int m = total;
+        for (AlgoritmoDispersor algoritmo : new AlgoritmoDispersor[] {
+                AlgoritmoDispersor.MURMUR3_STRING,
+                AlgoritmoDispersor.XX64_STRING,
+                AlgoritmoDispersor.SIP_STRING }) {
+            Dispersor<String> d = FabricaDispersores.dispersorCadena(algoritmo);
+            AnalizadorDispersor<String> a = new AnalizadorDispersor<String>(d, cadenas);
+            // Diez desviaciones estándar es un margen muy holgado
+            double z = (a.jiCuadrada(m) - (m - 1)) / Math.sqrt(2.0 * (m - 1));
+            Assert.assertTrue(Math.abs(z) < 10);
+            double encadenado = 1 + cadenas.getElementos() / (2.0 * m);
+            Assert.assertTrue(Math.abs(a.sondeoEncadenado(m) - encadenado) < 0.5);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link AnalizadorDispersor#avalancha}.
+     */
+    @Test public void testAvalancha() {
+        Lista<String> cadenas = cadenas(2000);
+        try {
+            AnalizadorDispersor.avalancha(s -> 0, new Lista<String>());
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(AnalizadorDispersor.avalancha(s -> 0, cadenas) == 1.0);
+        Assert.assertTrue(AnalizadorDispersor.avalancha(s -> s.length(), cadenas) == 1.0);
+        Dispersor<String> xor;
+        xor = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XOR_STRING);
+        Assert.assertTrue(AnalizadorDispersor.avalancha(xor, cadenas) == 1.0);
+        Dispersor<String> murmur;
+        murmur = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.MURMUR3_STRING);
+        Assert.assertTrue(AnalizadorDispersor.avalancha(murmur, cadenas) < 0.25);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Random;
 import mx.unam.ciencias.edd.ArbolAVL;
 import mx.unam.ciencias.edd.ArbolBinario;
 import mx.unam.ciencias.edd.ArbolBinarioCompleto;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
 import mx.unam.ciencias.edd.Cola;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
@@ -157,6 +158,47 @@ public class TestArbolAVL {
         arbol.elimina(a[a.length/2]);
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#seleccion}, {@link
+     * ArbolBinarioOrdenado#rango} y {@link
+     * ArbolBinarioOrdenado#cuentaEnRango} mientras el árbol se rebalancea.
+     */
+    @Test public void testSeleccionYRango() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        int n = total;
+        for (int i = 0; i < total; i += 2) {
+            arbol.elimina(a[i]);
+            a[i] = -1;
+            n--;
+        }
+        arbolAVLValido(arbol);
+        Assert.assertTrue(arbol.getElementos() == n);
+        int k = 0;
+        for (Integer e : arbol) {
+            Assert.assertTrue(arbol.seleccion(k).equals(e));
+            Assert.assertTrue(arbol.rango(e) <= k);
+            k++;
+        }
+        for (int x = 0; x < total; x++) {
+            int menores = 0, iguales = 0;
+            for (int e : a) {
+                if (e == -1)
+                    continue;
+                if (e < x)
+                    menores++;
+                else if (e == x)
+                    iguales++;
+            }
+            Assert.assertTrue(arbol.rango(x) == menores);
+            Assert.assertTrue(arbol.cuentaEnRango(x, x) == iguales);
+            Assert.assertTrue(arbol.cuentaEnRango(0, x) == menores + iguales);
+        }
+    }
+
     /**
      * Prueba unitaria para {@link ArbolAVL#giraIzquierda}.
      */
@@ -6,6 +6,7 @@ import java.util.Random;
 import mx.unam.ciencias.edd.ArbolBinario;
 import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
 import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
 import org.junit.Assert;
@@ -184,6 +185,108 @@ public class TestArbolBinarioOrdenado {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinario#altura} cuando el árbol se
+     * gira y se eliminan elementos.
+     */
+    @Test public void testAlturaGirosYEliminaciones() {
+        int[] a = arregloSinRepetidos();
+        for (int n : a)
+            arbol.agrega(n);
+        for (int i = 0; i < total; i++) {
+            VerticeArbolBinario<Integer> v = arbol.busca(a[random.nextInt(total)]);
+            if (random.nextBoolean())
+                arbol.giraDerecha(v);
+            else
+                arbol.giraIzquierda(v);
+            arbolBinarioOrdenadoValido(arbol);
+        }
+        for (int i = 0; i < total; i++) {
+            arbol.elimina(a[i]);
+            arbolBinarioOrdenadoValido(arbol);
+            if (!arbol.esVacia())
+                Assert.assertTrue(arbol.altura() == arbol.raiz().altura());
+            else
+                Assert.assertTrue(arbol.altura() == -1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#seleccion}.
+     */
+    @Test public void testSeleccion() {
+        try {
+            arbol.seleccion(0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        for (int i = 0; i < total; i++)
+            arbol.agrega(random.nextInt(total));
+        int k = 0;
+        for (Integer e : arbol)
+            Assert.assertTrue(arbol.seleccion(k++).equals(e));
+        try {
+            arbol.seleccion(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            arbol.seleccion(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#rango}.
+     */
+    @Test public void testRango() {
+        try {
+            arbol.rango(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(arbol.rango(0) == 0);
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        for (int x = -1; x <= total; x++) {
+            int menores = 0;
+            for (int n : a)
+                if (n < x)
+                    menores++;
+            Assert.assertTrue(arbol.rango(x) == menores);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#cuentaEnRango}.
+     */
+    @Test public void testCuentaEnRango() {
+        try {
+            arbol.cuentaEnRango(null, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            arbol.cuentaEnRango(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        for (int i = 0; i < total; i++) {
+            int x = random.nextInt(total + 2) - 1;
+            int y = random.nextInt(total + 2) - 1;
+            int c = 0;
+            for (int n : a)
+                if (x <= n && n <= y)
+                    c++;
+            Assert.assertTrue(arbol.cuentaEnRango(x, y) == c);
+        }
+        Assert.assertTrue(arbol.cuentaEnRango(-1, total) == total);
+        Assert.assertTrue(arbol.cuentaEnRango(total, -1) == 0);
+    }
+
     /**
      * Prueba unitaria para {@link ArbolBinario#getElementos}.
      */
@@ -3,6 +3,7 @@ package mx.unam.ciencias.edd.test;
 import java.util.Iterator;
 import java.util.Random;
 import mx.unam.ciencias.edd.ArbolBinario;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
 import mx.unam.ciencias.edd.ArbolRojinegro;
 import mx.unam.ciencias.edd.Cola;
 import mx.unam.ciencias.edd.Color;
@@ -456,6 +457,47 @@ public class TestArbolRojinegro {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#seleccion}, {@link
+     * ArbolBinarioOrdenado#rango} y {@link
+     * ArbolBinarioOrdenado#cuentaEnRango} mientras el árbol se rebalancea.
+     */
+    @Test public void testSeleccionYRango() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        int n = total;
+        for (int i = 0; i < total; i += 2) {
+            arbol.elimina(a[i]);
+            a[i] = -1;
+            n--;
+        }
+        arbolRojinegroValido(arbol);
+        Assert.assertTrue(arbol.getElementos() == n);
+        int k = 0;
+        for (Integer e : arbol) {
+            Assert.assertTrue(arbol.seleccion(k).equals(e));
+            Assert.assertTrue(arbol.rango(e) <= k);
+            k++;
+        }
+        for (int x = 0; x < total; x++) {
+            int menores = 0, iguales = 0;
+            for (int e : a) {
+                if (e == -1)
+                    continue;
+                if (e < x)
+                    menores++;
+                else if (e == x)
+                    iguales++;
+            }
+            Assert.assertTrue(arbol.rango(x) == menores);
+            Assert.assertTrue(arbol.cuentaEnRango(x, x) == iguales);
+            Assert.assertTrue(arbol.cuentaEnRango(0, x) == menores + iguales);
+        }
+    }
+
     /**
      * Prueba unitaria para {@link ArbolRojinegro#getColor}.
      */
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.Random;
 import mx.unam.ciencias.edd.Arreglos;
 import org.junit.Assert;
@@ -93,6 +94,61 @@ public class TestArreglos {
         Assert.assertTrue(estaOrdenado(arreglo));
     }
 
+    /* Ordena en paralelo una copia del arreglo y la compara con el arreglo
+     * ordenado por la biblioteca estándar. */
+    private static void validaOrdenaParalelo(Integer[] a) {
+        Integer[] copia = a.clone();
+        Integer[] esperado = a.clone();
+        Arrays.sort(esperado);
+        Arreglos.ordenaParalelo(copia);
+        Assert.assertTrue(Arrays.equals(copia, esperado));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#ordenaParalelo(Comparable[])}, con
+     * arreglos pequeños y con arreglos lo bastante grandes para partirse,
+     * incluyendo entradas ordenadas, en reversa y con muchos repetidos.
+     */
+    @Test public void testOrdenaParalelo() {
+        Arreglos.ordenaParalelo(new Integer[0]);
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        validaOrdenaParalelo(arreglo);
+        int n = 50000 + random.nextInt(50000);
+        Integer[] grande = new Integer[n];
+        for (int i = 0; i < n; i++)
+            grande[i] = random.nextInt();
+        validaOrdenaParalelo(grande);
+        for (int i = 0; i < n; i++)
+            grande[i] = i;
+        validaOrdenaParalelo(grande);
+        for (int i = 0; i < n; i++)
+            grande[i] = n - i;
+        validaOrdenaParalelo(grande);
+        for (int i = 0; i < n; i++)
+            grande[i] = random.nextInt(3);
+        validaOrdenaParalelo(grande);
+        for (int i = 0; i < n; i++)
+            grande[i] = 7;
+        validaOrdenaParalelo(grande);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#ordenaParalelo(Object[],Comparator)}.
+     */
+    @Test public void testOrdenaParaleloComparator() {
+        int n = 50000 + random.nextInt(50000);
+        Integer[] grande = new Integer[n];
+        // Órgano: sube y baja; rompe los pivotes ingenuos
+        for (int i = 0; i < n; i++)
+            grande[i] = Math.min(i, n - i);
+        Arreglos.ordenaParalelo(grande, (a, b) -> b.compareTo(a));
+        for (int i = 1; i < n; i++)
+            Assert.assertTrue(grande[i - 1] >= grande[i]);
+        Assert.assertTrue(grande[0] == n / 2);
+    }
+
     /**
      * Prueba unitaria para {@link
      * Arreglos#busquedaBinaria(Comparable[],Comparable)}.
@@ -0,0 +1,175 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import mx.unam.ciencias.edd.BicolaRobo;
+import mx.unam.ciencias.edd.Pila;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link BicolaRobo}.
+ */
+public class TestBicolaRobo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de ladrones para las pruebas concurrentes. */
+    private static final int LADRONES = 3;
+    /* Número de elementos que mete el dueño. */
+    private static final int N = 100000;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La bicola. */
+    private BicolaRobo<Integer> bicola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra bicola, y una bicola.
+     */
+    public TestBicolaRobo() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        bicola = new BicolaRobo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link BicolaRobo#BicolaRobo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(bicola.esVacia());
+        Assert.assertTrue(bicola.getElementos() == 0);
+        Assert.assertTrue(bicola.intentaSaca() == null);
+        Assert.assertTrue(bicola.roba() == null);
+        try {
+            bicola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            bicola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link BicolaRobo#mete} y {@link BicolaRobo#saca}
+     * en un solo hilo, contra {@link Pila}, pasando por el crecimiento del
+     * arreglo.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            bicola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Pila<Integer> pila = new Pila<Integer>();
+        for (int i = 0; i < total * 10; i++) {
+            if (pila.esVacia() || random.nextInt(3) > 0) {
+                bicola.mete(i);
+                pila.mete(i);
+            } else {
+                Assert.assertTrue(bicola.mira().equals(pila.mira()));
+                Assert.assertTrue(bicola.saca().equals(pila.saca()));
+            }
+        }
+        Assert.assertTrue(bicola.toString().equals(pila.toString()));
+        while (!pila.esVacia())
+            Assert.assertTrue(bicola.intentaSaca().equals(pila.saca()));
+        Assert.assertTrue(bicola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link BicolaRobo#roba} en un solo hilo: roba
+     * los elementos más viejos, y el dueño saca los más nuevos.
+     */
+    @Test public void testRoba() {
+        for (int i = 0; i < total; i++)
+            bicola.mete(i);
+        for (int i = 0; i < total / 2; i++)
+            Assert.assertTrue(bicola.roba() == i);
+        Assert.assertTrue(bicola.getElementos() == total - total / 2);
+        for (int i = total - 1; i >= total / 2; i--)
+            Assert.assertTrue(bicola.saca() == i);
+        Assert.assertTrue(bicola.roba() == null);
+        // Mezclando las dos puntas con el arreglo dando la vuelta
+        for (int i = 0; i < total; i++) {
+            bicola.mete(2 * i);
+            bicola.mete(2 * i + 1);
+            Assert.assertTrue(bicola.roba() == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link BicolaRobo#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(bicola.equals(null));
+        Assert.assertFalse(bicola.equals(new Pila<Integer>()));
+        BicolaRobo<Integer> bicola2 = new BicolaRobo<Integer>();
+        Assert.assertTrue(bicola.equals(bicola2));
+        for (int i = 0; i < total; i++) {
+            bicola.mete(i);
+            Assert.assertFalse(bicola.equals(bicola2));
+            bicola2.mete(i);
+            Assert.assertTrue(bicola.equals(bicola2));
+        }
+        bicola.roba();
+        bicola2.saca();
+        Assert.assertFalse(bicola.equals(bicola2));
+    }
+
+    /**
+     * Prueba unitaria para {@link BicolaRobo} con el dueño metiendo y
+     * sacando mientras varios ladrones roban: cada elemento debe salir
+     * exactamente una vez.
+     */
+    @Test public void testConcurrente() {
+        AtomicIntegerArray salidas = new AtomicIntegerArray(N);
+        AtomicBoolean termina = new AtomicBoolean(false);
+        AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] ladrones = new Thread[LADRONES];
+        for (int h = 0; h < LADRONES; h++) {
+            ladrones[h] = new Thread(() -> {
+                    try {
+                        while (!termina.get() || !bicola.esVacia()) {
+                            Integer e = bicola.roba();
+                            if (e != null)
+                                salidas.incrementAndGet(e);
+                            else
+                                Thread.yield();
+                        }
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+            });
+            ladrones[h].start();
+        }
+        for (int i = 0; i < N; i++) {
+            bicola.mete(i);
+            if (random.nextBoolean()) {
+                Integer e = bicola.intentaSaca();
+                if (e != null)
+                    salidas.incrementAndGet(e);
+            }
+        }
+        termina.set(true);
+        try {
+            for (Thread ladron : ladrones)
+                ladron.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+        for (int i = 0; i < N; i++)
+            Assert.assertTrue(salidas.get(i) == 1);
+    }
+}
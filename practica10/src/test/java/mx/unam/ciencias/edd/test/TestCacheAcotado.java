@@ -0,0 +1,249 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.CacheAcotado;
+import mx.unam.ciencias.edd.PoliticaDesalojo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link CacheAcotado}.
+ */
+public class TestCacheAcotado {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número máximo de entradas. */
+    private int maximo;
+    /* El caché. */
+    private CacheAcotado<Integer, String> cache;
+
+    /**
+     * Crea un caché para cada prueba.
+     */
+    public TestCacheAcotado() {
+        int N = 64;
+        random = new Random();
+        maximo = N + random.nextInt(N);
+        cache = new CacheAcotado<Integer, String>(maximo);
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheAcotado#CacheAcotado}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cache.esVacia());
+        Assert.assertTrue(cache.getElementos() == 0);
+        Assert.assertTrue(cache.getPeso() == 0);
+        Assert.assertTrue(cache.getPesoMaximo() == maximo);
+        Assert.assertTrue(cache.tasaAciertos() == 0.0);
+        Assert.assertFalse(cache.iterator().hasNext());
+        try {
+            new CacheAcotado<Integer, String>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new CacheAcotado<Integer, String>(maximo, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new CacheAcotado<Integer, String>(maximo, null, PoliticaDesalojo.LRU);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheAcotado#agrega} y {@link
+     * CacheAcotado#get}.
+     */
+    @Test public void testAgregaGet() {
+        try {
+            cache.agrega(null, "");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cache.agrega(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cache.get(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < maximo; i++) {
+            Assert.assertTrue(cache.get(i) == null);
+            cache.agrega(i, String.valueOf(i));
+            Assert.assertTrue(cache.getElementos() == i + 1);
+            Assert.assertTrue(cache.get(i).equals(String.valueOf(i)));
+        }
+        Assert.assertTrue(cache.getAciertos() == maximo);
+        Assert.assertTrue(cache.getFallos() == maximo);
+        Assert.assertTrue(cache.tasaAciertos() == 0.5);
+        Assert.assertTrue(cache.getDesalojos() == 0);
+        cache.agrega(0, "nuevo");
+        Assert.assertTrue(cache.getElementos() == maximo);
+        Assert.assertTrue(cache.get(0).equals("nuevo"));
+    }
+
+    /**
+     * Prueba unitaria para el desalojo LRU de {@link CacheAcotado}.
+     */
+    @Test public void testDesalojoLRU() {
+        for (int i = 0; i < maximo; i++)
+            cache.agrega(i, String.valueOf(i));
+        // Usamos las llaves pares, que quedan como las más recientes
+        for (int i = 0; i < maximo; i += 2)
+            Assert.assertTrue(cache.get(i) != null);
+        int nones = maximo / 2;
+        for (int i = 0; i < nones; i++)
+            cache.agrega(maximo + i, String.valueOf(maximo + i));
+        Assert.assertTrue(cache.getElementos() == maximo);
+        Assert.assertTrue(cache.getDesalojos() == nones);
+        for (int i = 0; i < maximo; i++)
+            Assert.assertTrue(cache.contiene(i) == (i % 2 == 0));
+        // El iterador va de la más reciente a la menos reciente
+        Iterator<Integer> iterador = cache.iteradorLlaves();
+        for (int i = nones - 1; i >= 0; i--)
+            Assert.assertTrue(iterador.next() == maximo + i);
+        for (int i = (maximo - 1) / 2 * 2; i >= 0; i -= 2)
+            Assert.assertTrue(iterador.next() == i);
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheAcotado} con pesos.
+     */
+    @Test public void testPesos() {
+        CacheAcotado<Integer, String> c;
+        c = new CacheAcotado<Integer, String>(100, (k, v) -> v.length(),
+                                              PoliticaDesalojo.LRU);
+        c.agrega(1, "x".repeat(40));
+        c.agrega(2, "x".repeat(40));
+        Assert.assertTrue(c.getPeso() == 80);
+        c.agrega(3, "x".repeat(30));
+        Assert.assertTrue(c.getPeso() == 70);
+        Assert.assertFalse(c.contiene(1));
+        Assert.assertTrue(c.getDesalojos() == 1);
+        // Crecer una entrada existente también desaloja
+        c.agrega(3, "x".repeat(60));
+        Assert.assertTrue(c.getPeso() == 100);
+        c.agrega(3, "x".repeat(61));
+        Assert.assertTrue(c.getPeso() == 61);
+        Assert.assertFalse(c.contiene(2));
+        // Lo que pesa más que el máximo no se agrega
+        c.agrega(4, "x".repeat(101));
+        Assert.assertFalse(c.contiene(4));
+        Assert.assertTrue(c.getRechazos() == 1);
+        c.agrega(3, "x".repeat(101));
+        Assert.assertFalse(c.contiene(3));
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getPeso() == 0);
+        c = new CacheAcotado<Integer, String>(100, (k, v) -> -1,
+                                              PoliticaDesalojo.LRU);
+        try {
+            c.agrega(1, "");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Pide una llave al caché y la agrega si no estaba. */
+    private static void usa(CacheAcotado<Integer, String> c, int llave) {
+        if (c.get(llave) == null)
+            c.agrega(llave, String.valueOf(llave));
+    }
+
+    /* Comprueba que un recorrido de llaves que se piden una sola vez desaloja
+     * a las llaves frecuentes del caché LRU pero no del caché TinyLFU. */
+    private void validaTinyLFU(CacheAcotado<Integer, String> lfu) {
+        CacheAcotado<Integer, String> lru;
+        lru = new CacheAcotado<Integer, String>(maximo, PoliticaDesalojo.LRU);
+        for (int r = 0; r < 3; r++) {
+            for (int i = 0; i < maximo; i++) {
+                usa(lru, i);
+                usa(lfu, i);
+            }
+        }
+        // Un recorrido más corto que el periodo en que las frecuencias se
+        // reducen a la mitad
+        for (int i = 0; i < 2 * maximo; i++) {
+            usa(lru, maximo + i);
+            usa(lfu, maximo + i);
+        }
+        int enLRU = 0, enLFU = 0;
+        for (int i = 0; i < maximo; i++) {
+            if (lru.contiene(i))
+                enLRU++;
+            if (lfu.contiene(i))
+                enLFU++;
+        }
+        Assert.assertTrue(enLRU == 0);
+        Assert.assertTrue(enLFU >= maximo * 9 / 10);
+        Assert.assertTrue(lfu.getRechazos() > 0);
+        Assert.assertTrue(lfu.getElementos() == maximo);
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheAcotado} con {@link
+     * PoliticaDesalojo#TINY_LFU}: un recorrido de llaves que se piden una
+     * sola vez no desaloja a las llaves frecuentes.
+     */
+    @Test public void testTinyLFU() {
+        validaTinyLFU(new CacheAcotado<Integer, String>(maximo,
+                                                        PoliticaDesalojo.TINY_LFU));
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheAcotado} con {@link
+     * PoliticaDesalojo#TINY_LFU} y un pesador: el estimador de frecuencias
+     * empieza chico y crece con el número de entradas.
+     */
+    @Test public void testTinyLFUConPesador() {
+        validaTinyLFU(new CacheAcotado<Integer, String>(maximo, (k, v) -> 1,
+                                                        PoliticaDesalojo.TINY_LFU));
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheAcotado#elimina} y {@link
+     * CacheAcotado#limpia}.
+     */
+    @Test public void testEliminaLimpia() {
+        try {
+            cache.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cache.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < maximo; i++)
+            cache.agrega(i, String.valueOf(i));
+        for (int i = 0; i < maximo; i += 2) {
+            cache.elimina(i);
+            Assert.assertFalse(cache.contiene(i));
+        }
+        Assert.assertTrue(cache.getElementos() == maximo / 2);
+        Assert.assertTrue(cache.getPeso() == maximo / 2);
+        int c = 0;
+        for (String s : cache) {
+            Assert.assertTrue(Integer.parseInt(s) % 2 == 1);
+            c++;
+        }
+        Assert.assertTrue(c == maximo / 2);
+        cache.limpia();
+        Assert.assertTrue(cache.esVacia());
+        Assert.assertTrue(cache.getPeso() == 0);
+        Assert.assertFalse(cache.iterator().hasNext());
+        cache.agrega(1, "1");
+        Assert.assertTrue(cache.get(1).equals("1"));
+    }
+}
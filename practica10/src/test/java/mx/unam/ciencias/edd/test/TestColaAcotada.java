@@ -0,0 +1,210 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaAcotada;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaAcotada}.
+ */
+public class TestColaAcotada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de elementos que pasan del productor al consumidor. */
+    private static final int N = 100000;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaAcotada<Integer> cola;
+
+    /* Interfaz para el productor de las pruebas concurrentes. */
+    private interface Productor {
+        /* Mete los elementos. */
+        public void produce() throws InterruptedException;
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola con capacidad
+     * para ellos.
+     */
+    public TestColaAcotada() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaAcotada<Integer>(total);
+    }
+
+    /* Corre el productor en otro hilo, espera a que termine, y vuelve a
+     * lanzar su error si tuvo uno. */
+    private void enHilo(Productor productor, Runnable consumidor) {
+        AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread hilo = new Thread(() -> {
+                try {
+                    productor.produce();
+                } catch (Throwable t) {
+                    error.set(t);
+                }
+        });
+        hilo.start();
+        consumidor.run();
+        try {
+            hilo.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#ColaAcotada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getElementos() == 0);
+        Assert.assertTrue(cola.getCapacidad() == total);
+        Assert.assertTrue(cola.intentaSaca() == null);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            new ColaAcotada<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#mete}, {@link
+     * ColaAcotada#intentaMete} y {@link ColaAcotada#saca} en un solo hilo,
+     * contra {@link Cola}.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Cola<Integer> ligada = new Cola<Integer>();
+        int elementos = 0;
+        for (int i = 0; i < total * 20; i++) {
+            if (elementos == 0 || random.nextInt(3) > 0) {
+                if (elementos == total) {
+                    Assert.assertFalse(cola.intentaMete(i));
+                    try {
+                        cola.mete(i);
+                        Assert.fail();
+                    } catch (IllegalStateException ise) {}
+                    continue;
+                }
+                cola.mete(i);
+                ligada.mete(i);
+                elementos++;
+            } else {
+                Assert.assertTrue(cola.mira().equals(ligada.mira()));
+                Assert.assertTrue(cola.saca().equals(ligada.saca()));
+                elementos--;
+            }
+            Assert.assertTrue(cola.getElementos() == elementos);
+        }
+        Assert.assertTrue(cola.toString().equals(ligada.toString()));
+        while (!ligada.esVacia())
+            Assert.assertTrue(cola.intentaSaca().equals(ligada.saca()));
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(new Cola<Integer>()));
+        ColaAcotada<Integer> cola2 = new ColaAcotada<Integer>(total + 1);
+        cola2.mete(-1);
+        cola2.saca();
+        Assert.assertTrue(cola.equals(cola2));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#intentaMete} y {@link
+     * ColaAcotada#intentaSaca} con el productor y el consumidor en hilos
+     * distintos.
+     */
+    @Test public void testConcurrente() {
+        enHilo(() -> {
+                for (int i = 0; i < N; i++)
+                    while (!cola.intentaMete(i))
+                        Thread.yield();
+        }, () -> {
+                for (int i = 0; i < N; i++) {
+                    Integer e;
+                    while ((e = cola.intentaSaca()) == null)
+                        Thread.yield();
+                    Assert.assertTrue(e == i);
+                }
+        });
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#meteEspera} y {@link
+     * ColaAcotada#sacaEspera} con el productor y el consumidor en hilos
+     * distintos.
+     */
+    @Test public void testEspera() {
+        enHilo(() -> {
+                for (int i = 0; i < N; i++)
+                    cola.meteEspera(i);
+        }, () -> {
+                try {
+                    for (int i = 0; i < N; i++)
+                        Assert.assertTrue(cola.sacaEspera() == i);
+                } catch (InterruptedException ie) {
+                    Assert.fail();
+                }
+        });
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#meteEspera} y {@link
+     * ColaAcotada#sacaEspera} con capacidad 1, para que el productor y el
+     * consumidor se duerman casi en cada operación y un aviso perdido deje
+     * a alguno dormido para siempre.
+     */
+    @Test public void testEsperaCapacidadUno() {
+        cola = new ColaAcotada<Integer>(1);
+        enHilo(() -> {
+                for (int i = 0; i < N; i++)
+                    cola.meteEspera(i);
+        }, () -> {
+                try {
+                    for (int i = 0; i < N; i++)
+                        Assert.assertTrue(cola.sacaEspera() == i);
+                } catch (InterruptedException ie) {
+                    Assert.fail();
+                }
+        });
+        Assert.assertTrue(cola.esVacia());
+    }
+}
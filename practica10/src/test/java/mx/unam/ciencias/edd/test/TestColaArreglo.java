@@ -0,0 +1,135 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaArreglo}.
+ */
+public class TestColaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaArreglo<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaArreglo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#ColaArreglo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getElementos() == 0);
+        Assert.assertFalse(cola.estaLlena());
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            new ColaArreglo<Integer>(0, true);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(new ColaArreglo<Integer>(-1, false).esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#mete} y {@link
+     * ColaArreglo#saca}, contra {@link Cola}, intercalando operaciones para
+     * que el arreglo dé la vuelta y crezca.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Cola<Integer> ligada = new Cola<Integer>();
+        for (int i = 0; i < total * 20; i++) {
+            if (ligada.esVacia() || random.nextInt(3) > 0) {
+                cola.mete(i);
+                ligada.mete(i);
+            } else {
+                Assert.assertTrue(cola.mira().equals(ligada.mira()));
+                Assert.assertTrue(cola.saca().equals(ligada.saca()));
+            }
+            Assert.assertTrue(cola.toString().equals(ligada.toString()));
+        }
+        while (!ligada.esVacia())
+            Assert.assertTrue(cola.saca().equals(ligada.saca()));
+        Assert.assertTrue(cola.esVacia());
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#estaLlena} con una cola
+     * acotada.
+     */
+    @Test public void testAcotada() {
+        cola = new ColaArreglo<Integer>(total, true);
+        for (int r = 0; r < 3; r++) {
+            for (int i = 0; i < total; i++) {
+                Assert.assertFalse(cola.estaLlena());
+                cola.mete(i);
+            }
+            Assert.assertTrue(cola.estaLlena());
+            Assert.assertTrue(cola.getElementos() == total);
+            try {
+                cola.mete(total);
+                Assert.fail();
+            } catch (IllegalStateException ise) {}
+            for (int i = 0; i < total / 2; i++)
+                Assert.assertTrue(cola.saca() == i);
+            for (int i = 0; i < total / 2; i++)
+                cola.mete(i);
+            for (int i = total / 2; i < total; i++)
+                Assert.assertTrue(cola.saca() == i);
+            for (int i = 0; i < total / 2; i++)
+                Assert.assertTrue(cola.saca() == i);
+            Assert.assertTrue(cola.esVacia());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(""));
+        Assert.assertFalse(cola.equals(new Cola<Integer>()));
+        Assert.assertFalse(cola.equals(new PilaArreglo<Integer>()));
+        ColaArreglo<Integer> cola2 = new ColaArreglo<Integer>(1, false);
+        Assert.assertTrue(cola.equals(cola2));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+        cola.saca();
+        cola.mete(0);
+        Assert.assertFalse(cola.equals(cola2));
+    }
+}
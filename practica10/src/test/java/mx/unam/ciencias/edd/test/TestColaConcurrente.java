@@ -0,0 +1,213 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrente}.
+ */
+public class TestColaConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de productores y de consumidores. */
+    private static final int HILOS = 4;
+    /* Número de elementos que mete cada productor. */
+    private static final int N = 20000;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaConcurrente<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrente<Integer>();
+    }
+
+    /* Ejecuta la acción recibida en 2 * HILOS hilos: los primeros HILOS son
+     * productores y los demás consumidores. Espera a que terminen, y vuelve
+     * a lanzar el primer error de cualquiera de ellos. */
+    private void enHilos(IntConsumer accion) {
+        AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] hilos = new Thread[2 * HILOS];
+        for (int h = 0; h < hilos.length; h++) {
+            final int hilo = h;
+            hilos[h] = new Thread(() -> {
+                    try {
+                        accion.accept(hilo);
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+            });
+            hilos[h].start();
+        }
+        try {
+            for (Thread hilo : hilos)
+                hilo.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+    }
+
+    /* Valida que cada consumidor vio los elementos de cada productor en el
+     * orden en que se metieron, y que cada elemento se vio exactamente una
+     * vez. Los elementos del productor p son p * N, ..., p * N + N - 1. */
+    private void validaConsumidos(int[][] consumidos, int[] cuantos) {
+        boolean[] visto = new boolean[HILOS * N];
+        int c = 0;
+        for (int h = 0; h < HILOS; h++) {
+            int[] ultimo = new int[HILOS];
+            for (int p = 0; p < HILOS; p++)
+                ultimo[p] = -1;
+            for (int i = 0; i < cuantos[h]; i++) {
+                int e = consumidos[h][i];
+                Assert.assertFalse(visto[e]);
+                visto[e] = true;
+                Assert.assertTrue(e % N > ultimo[e / N]);
+                ultimo[e / N] = e % N;
+                c++;
+            }
+        }
+        Assert.assertTrue(c == HILOS * N);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#ColaConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.intentaSaca() == null);
+        Assert.assertTrue(cola.toString().equals(""));
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#mete} y {@link
+     * ColaConcurrente#saca} en un solo hilo, contra {@link Cola}.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Cola<Integer> ligada = new Cola<Integer>();
+        for (int i = 0; i < total * 20; i++) {
+            if (ligada.esVacia() || random.nextInt(3) > 0) {
+                cola.mete(i);
+                ligada.mete(i);
+            } else {
+                Assert.assertTrue(cola.mira().equals(ligada.mira()));
+                Assert.assertTrue(cola.saca().equals(ligada.saca()));
+            }
+            Assert.assertTrue(cola.esVacia() == ligada.esVacia());
+        }
+        Assert.assertTrue(cola.toString().equals(ligada.toString()));
+        while (!ligada.esVacia())
+            Assert.assertTrue(cola.intentaSaca().equals(ligada.saca()));
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(new Cola<Integer>()));
+        ColaConcurrente<Integer> cola2 = new ColaConcurrente<Integer>();
+        Assert.assertTrue(cola.equals(cola2));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente} con varios productores y
+     * consumidores que no bloquean.
+     */
+    @Test public void testConcurrente() {
+        AtomicInteger restantes = new AtomicInteger(HILOS * N);
+        int[][] consumidos = new int[HILOS][HILOS * N];
+        int[] cuantos = new int[HILOS];
+        enHilos(h -> {
+                if (h < HILOS) {
+                    for (int i = 0; i < N; i++)
+                        cola.mete(h * N + i);
+                    return;
+                }
+                int c = h - HILOS;
+                while (restantes.get() > 0) {
+                    Integer e = cola.intentaSaca();
+                    if (e == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    consumidos[c][cuantos[c]++] = e;
+                    restantes.decrementAndGet();
+                }
+        });
+        Assert.assertTrue(cola.esVacia());
+        validaConsumidos(consumidos, cuantos);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#sacaEspera} con varios
+     * productores y consumidores. Cada consumidor termina al sacar un
+     * elemento negativo.
+     */
+    @Test public void testSacaEspera() {
+        int[][] consumidos = new int[HILOS][HILOS * N];
+        int[] cuantos = new int[HILOS];
+        AtomicInteger productores = new AtomicInteger(HILOS);
+        enHilos(h -> {
+                if (h < HILOS) {
+                    for (int i = 0; i < N; i++)
+                        cola.mete(h * N + i);
+                    // El último productor avisa a los consumidores
+                    if (productores.decrementAndGet() == 0)
+                        for (int c = 0; c < HILOS; c++)
+                            cola.mete(-1);
+                    return;
+                }
+                int c = h - HILOS;
+                try {
+                    int e;
+                    while ((e = cola.sacaEspera()) >= 0)
+                        consumidos[c][cuantos[c]++] = e;
+                } catch (InterruptedException ie) {
+                    Assert.fail();
+                }
+        });
+        Assert.assertTrue(cola.esVacia());
+        validaConsumidos(consumidos, cuantos);
+    }
+}
@@ -0,0 +1,119 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ColeccionFiltrada;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColeccionFiltrada}.
+ */
+public class TestColeccionFiltrada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El árbol envuelto. */
+    private ArbolRojinegro<Integer> arbol;
+    /* La colección filtrada. */
+    private ColeccionFiltrada<Integer> coleccion;
+
+    /**
+     * Crea una colección filtrada para cada prueba.
+     */
+    public TestColeccionFiltrada() {
+        int N = 500;
+        random = new Random();
+        total = N + random.nextInt(N);
+        arbol = new ArbolRojinegro<Integer>();
+        coleccion = new ColeccionFiltrada<Integer>(arbol, 10);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColeccionFiltrada#ColeccionFiltrada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(coleccion.esVacia());
+        Assert.assertTrue(coleccion.getElementos() == 0);
+        try {
+            new ColeccionFiltrada<Integer>(null, 10);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new ColeccionFiltrada<Integer>(arbol, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        ColeccionFiltrada<Integer> c = new ColeccionFiltrada<Integer>(lista, 10);
+        Assert.assertTrue(c.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(c.contiene(i));
+        Assert.assertFalse(c.contiene(-1));
+    }
+
+    /**
+     * Prueba unitaria para {@link ColeccionFiltrada#agrega} y {@link
+     * ColeccionFiltrada#contiene}, incluyendo cuando el filtro se
+     * reconstruye.
+     */
+    @Test public void testAgregaContiene() {
+        try {
+            coleccion.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(coleccion.contiene(null));
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total) * 2;
+            coleccion.agrega(e);
+            Assert.assertTrue(coleccion.getElementos() == i + 1);
+            Assert.assertTrue(arbol.getElementos() == i + 1);
+            Assert.assertTrue(coleccion.contiene(e));
+        }
+        for (Integer e : arbol)
+            Assert.assertTrue(coleccion.contiene(e));
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(coleccion.contiene(i * 2 + 1));
+        Assert.assertTrue(coleccion.tasaFalsosPositivos() < 0.05);
+        Assert.assertTrue(coleccion.toString().equals(arbol.toString()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ColeccionFiltrada#elimina} y {@link
+     * ColeccionFiltrada#limpia}.
+     */
+    @Test public void testEliminaLimpia() {
+        for (int i = 0; i < total; i++)
+            coleccion.agrega(i);
+        coleccion.elimina(-1);
+        coleccion.elimina(null);
+        Assert.assertTrue(coleccion.getElementos() == total);
+        for (int i = 0; i < total; i += 2) {
+            coleccion.elimina(i);
+            Assert.assertFalse(coleccion.contiene(i));
+        }
+        Assert.assertTrue(coleccion.getElementos() == total - (total + 1) / 2);
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(coleccion.contiene(i));
+        // Los elementos repetidos se cuentan en el filtro
+        coleccion.agrega(1);
+        coleccion.elimina(1);
+        Assert.assertTrue(coleccion.contiene(1));
+        coleccion.limpia();
+        Assert.assertTrue(coleccion.esVacia());
+        Assert.assertTrue(arbol.esVacia());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(coleccion.contiene(i));
+        coleccion.agrega(1);
+        Assert.assertTrue(coleccion.contiene(1));
+    }
+}
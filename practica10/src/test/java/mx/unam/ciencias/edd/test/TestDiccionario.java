@@ -126,6 +126,48 @@ public class TestDiccionario {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#busca}.
+     */
+    @Test public void testBusca() {
+        Assert.assertTrue(diccionario.busca(null) == null);
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.busca(s) == null);
+            diccionario.agrega(s, "v" + s);
+            Assert.assertTrue(diccionario.busca(s).equals("v" + s));
+        }
+        diccionario.elimina(String.format("%x", ini));
+        Assert.assertTrue(diccionario.busca(String.format("%x", ini)) == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#buscaOAgrega}.
+     */
+    @Test public void testBuscaOAgrega() {
+        try {
+            diccionario.buscaOAgrega(null, "");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.buscaOAgrega("", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            String v = "v" + s;
+            Assert.assertTrue(diccionario.buscaOAgrega(s, v) == v);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            // La segunda vez regresa el valor que ya estaba
+            Assert.assertTrue(diccionario.buscaOAgrega(s, "otro") == v);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.get(s) == v);
+        }
+        Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#contiene}.
      */
@@ -425,4 +467,447 @@ public class TestDiccionario {
             c++;
         Assert.assertTrue(c == 0);
     }
+    /**
+     * Prueba unitaria para {@link Diccionario#elimina} con llaves que caen en
+     * la misma cubeta.
+     */
+    @Test public void testEliminaConColisiones() {
+        diccionario = new Diccionario<String, String>(total, s -> 0);
+        for (int i = 0; i < 10; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        try {
+            diccionario.elimina("10");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(diccionario.getElementos() == 10);
+        for (int i = 9; i >= 0; i -= 2) {
+            diccionario.elimina(String.valueOf(i));
+            Assert.assertFalse(diccionario.contiene(String.valueOf(i)));
+        }
+        Assert.assertTrue(diccionario.getElementos() == 5);
+        for (int i = 0; i < 10; i += 2)
+            Assert.assertTrue(diccionario.get(String.valueOf(i)).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario} con crecimiento incremental,
+     * operando mientras la migración está en curso.
+     */
+    @Test public void testIncremental() {
+        Dispersor<String> hd;
+        hd = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+        diccionario = new Diccionario<String, String>(64, hd, true);
+        int capacidad = calculaCapacidad(64);
+        // El último agrega dispara la redimensión sin migrar ninguna cubeta
+        int n = (int)Math.ceil(capacidad * Diccionario.MAXIMA_CARGA);
+        String[] arreglo = new String[n];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < n; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        }
+        Assert.assertTrue(diccionario.getElementos() == n);
+        Assert.assertTrue(diccionario.carga() == (double)n / (capacidad * 2));
+        Lista<String> lista = new Lista<String>();
+        Iterator<String> iterador = diccionario.iteradorLlaves();
+        // La migración avanza mientras iteramos
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(iterador.hasNext());
+            String s = iterador.next();
+            Assert.assertFalse(lista.contiene(s));
+            lista.agrega(s);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        Assert.assertFalse(iterador.hasNext());
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(lista.contiene(arreglo[i]));
+        diccionario = new Diccionario<String, String>(64, hd, true);
+        for (int i = 0; i < n; i++)
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        for (int i = 0; i < n; i += 2) {
+            diccionario.elimina(arreglo[i]);
+            Assert.assertFalse(diccionario.contiene(arreglo[i]));
+        }
+        int m = n / 2;
+        Assert.assertTrue(diccionario.getElementos() == m);
+        int c = 0;
+        for (String s : diccionario) {
+            Assert.assertTrue(diccionario.contiene(s));
+            c++;
+        }
+        Assert.assertTrue(c == m);
+        for (int i = 1; i < n; i += 2)
+            Assert.assertTrue(diccionario.get(arreglo[i]).equals(arreglo[i]));
+        Diccionario<String, String> d2 = new Diccionario<String, String>(hd);
+        for (int i = 1; i < n; i += 2)
+            d2.agrega(arreglo[i], arreglo[i]);
+        Assert.assertTrue(diccionario.equals(d2));
+        Assert.assertTrue(d2.equals(diccionario));
+    }
+    /**
+     * Prueba unitaria para {@link Diccionario#cubetasPorMigrar}: con
+     * crecimiento incremental, ningún {@link Diccionario#agrega} ni {@link
+     * Diccionario#elimina} migra más de unas cuantas cubetas, ni al crecer ni
+     * al encogerse, y una migración nueva sólo comienza cuando terminó la
+     * anterior.
+     */
+    @Test public void testIncrementalAcotado() {
+        Dispersor<String> hd;
+        hd = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+        diccionario = new Diccionario<String, String>(64, hd, true);
+        int n = 1 << 16;
+        int antes = 0;
+        for (int i = 0; i < n; i++) {
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+            antes = revisaMigracion(antes);
+        }
+        for (int i = 0; i < n; i++) {
+            diccionario.elimina(String.valueOf(i));
+            antes = revisaMigracion(antes);
+        }
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getMascara() + 1 == calculaCapacidad(64));
+    }
+
+    /* Revisa que desde la última operación la migración haya avanzado a lo
+     * más unas cuantas cubetas, o que haya comenzado una sin que hubiera otra
+     * pendiente; regresa las cubetas que faltan por migrar. */
+    private int revisaMigracion(int antes) {
+        int despues = diccionario.cubetasPorMigrar();
+        if (despues > antes)
+            Assert.assertTrue(antes == 0);
+        else
+            Assert.assertTrue(antes - despues <= 16);
+        return despues;
+    }
+
+    /* Llave no comparable, para probar cubetas de árbol con llaves que sólo
+     * se distinguen con equals. */
+    private static class Llave {
+        private int n;
+        public Llave(int n) { this.n = n; }
+        @Override public boolean equals(Object o) {
+            return o instanceof Llave && ((Llave)o).n == n;
+        }
+        @Override public int hashCode() { return n; }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#cubetasArbolizadas}.
+     */
+    @Test public void testCubetasArbolizadas() {
+        Assert.assertTrue(diccionario.cubetasArbolizadas() == 0);
+        // Todas las llaves en la misma cubeta, con dispersiones distintas
+        diccionario = new Diccionario<String, String>(total, s -> Integer.parseInt(s) << 16);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+            int arboles = (i + 1 > Diccionario.UMBRAL_ARBOL) ? 1 : 0;
+            Assert.assertTrue(diccionario.cubetasArbolizadas() == arboles);
+        }
+        Assert.assertTrue(diccionario.colisionMaxima() == total - 1);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(String.valueOf(i)).equals(String.valueOf(i)));
+        Assert.assertFalse(diccionario.contiene(String.valueOf(total)));
+        int c = 0;
+        for (String s : diccionario)
+            c++;
+        Assert.assertTrue(c == total);
+        int m = total - Diccionario.UMBRAL_LISTA;
+        for (int i = 0; i < m - 1; i++) {
+            diccionario.elimina(String.valueOf(i));
+            Assert.assertTrue(diccionario.cubetasArbolizadas() == 1);
+        }
+        diccionario.elimina(String.valueOf(m - 1));
+        Assert.assertTrue(diccionario.cubetasArbolizadas() == 0);
+        for (int i = m; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i)));
+
+        // Llaves no comparables con la misma dispersión
+        Diccionario<Llave, Integer> d;
+        d = new Diccionario<Llave, Integer>(total, llave -> 0);
+        for (int i = 0; i < total; i++)
+            d.agrega(new Llave(i), i);
+        Assert.assertTrue(d.cubetasArbolizadas() == 1);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(new Llave(i)) == i);
+        for (int i = 0; i < total; i += 2)
+            d.elimina(new Llave(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.contiene(new Llave(i)) == (i % 2 == 1));
+        Assert.assertTrue(d.getElementos() == total / 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#get} y {@link
+     * Diccionario#contiene} en una cubeta arbolizada con llaves comparables
+     * de clases distintas.
+     */
+    @Test public void testCubetaArbolizadaLlavesMezcladas() {
+        Diccionario<Object, Integer> d;
+        d = new Diccionario<Object, Integer>(total, llave -> 0);
+        Object[] llaves = new Object[3 * total];
+        // Intercalamos las clases y en cada una alternamos el orden
+        for (int i = 0; i < total; i++) {
+            int j = (i % 2 == 0) ? i : -i;
+            llaves[3*i] = Long.valueOf(j);
+            llaves[3*i + 1] = String.valueOf(j);
+            llaves[3*i + 2] = Integer.valueOf(total - j);
+        }
+        for (int i = 0; i < llaves.length; i++) {
+            d.agrega(llaves[i], i);
+            for (int j = 0; j <= i; j++)
+                Assert.assertTrue(d.get(llaves[j]) == j);
+        }
+        Assert.assertTrue(d.cubetasArbolizadas() == 1);
+        for (int i = 0; i < llaves.length; i += 2)
+            d.elimina(llaves[i]);
+        for (int i = 0; i < llaves.length; i++)
+            Assert.assertTrue(d.contiene(llaves[i]) == (i % 2 == 1));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        String[] llaves = new String[total * 4];
+        String[] valores = new String[llaves.length];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < llaves.length; i++) {
+            llaves[i] = String.format("%x", ini + i * 1000);
+            valores[i] = "v" + i;
+        }
+        valores[1] = null;
+        try {
+            diccionario.agregaTodos(llaves, valores);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(diccionario.esVacia());
+        valores[1] = "v1";
+        try {
+            diccionario.agregaTodos(llaves, new String[1]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        diccionario.agrega(llaves[0], "viejo");
+        // Las llaves repetidas se quedan con su último valor
+        llaves[llaves.length - 1] = llaves[2];
+        diccionario.agregaTodos(llaves, valores);
+        int n = llaves.length - 1;
+        Assert.assertTrue(diccionario.getElementos() == n);
+        Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        Assert.assertTrue(diccionario.get(llaves[0]).equals("v0"));
+        Assert.assertTrue(diccionario.get(llaves[2]).equals(valores[n]));
+        for (int i = 3; i < n; i++)
+            Assert.assertTrue(diccionario.get(llaves[i]).equals(valores[i]));
+        Diccionario<String, String> d2 = new Diccionario<String, String>();
+        for (int i = 0; i < llaves.length; i++)
+            d2.agrega(llaves[i], valores[i]);
+        Assert.assertTrue(diccionario.equals(d2));
+
+        // Con una migración incremental en curso
+        Dispersor<String> hd;
+        hd = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+        diccionario = new Diccionario<String, String>(64, hd, true);
+        int m = (int)Math.ceil(calculaCapacidad(64) * Diccionario.MAXIMA_CARGA);
+        for (int i = 0; i < m; i++)
+            diccionario.agrega(llaves[i], valores[i]);
+        String[] resto = new String[n - m];
+        String[] restoValores = new String[n - m];
+        for (int i = m; i < n; i++) {
+            resto[i - m] = llaves[i];
+            restoValores[i - m] = valores[i];
+        }
+        diccionario.agregaTodos(resto, restoValores);
+        Assert.assertTrue(diccionario.getElementos() == n);
+        int c = 0;
+        for (String v : diccionario)
+            c++;
+        Assert.assertTrue(c == n);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(diccionario.get(llaves[i]).equals(valores[i]));
+
+        // Un lote que no hace crecer al diccionario sólo avanza la migración
+        diccionario = new Diccionario<String, String>(64, hd, true);
+        for (int i = 0; i < m; i++)
+            diccionario.agrega(llaves[i], valores[i]);
+        int pendientes = diccionario.cubetasPorMigrar();
+        Assert.assertTrue(pendientes > 0);
+        diccionario.agregaTodos(new String[] { llaves[m], llaves[0] },
+                                new String[] { valores[m], "w0" });
+        Assert.assertTrue(diccionario.cubetasPorMigrar() > 0);
+        Assert.assertTrue(diccionario.cubetasPorMigrar() < pendientes);
+        Assert.assertTrue(diccionario.getElementos() == m + 1);
+        Assert.assertTrue(diccionario.get(llaves[0]).equals("w0"));
+        for (int i = 1; i <= m; i++)
+            Assert.assertTrue(diccionario.get(llaves[i]).equals(valores[i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#getTodos} y {@link
+     * Diccionario#contieneTodos}.
+     */
+    @Test public void testGetTodosContieneTodos() {
+        String[] llaves = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            llaves[i] = String.format("%x", ini + i * 1000);
+            if (i % 2 == 0)
+                diccionario.agrega(llaves[i], "v" + i);
+        }
+        try {
+            diccionario.getTodos(llaves, new String[total - 1]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        String[] valores = new String[total];
+        int c = diccionario.getTodos(llaves, valores);
+        Assert.assertTrue(c == (total + 1) / 2);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(i % 2 == 0 ? valores[i].equals("v" + i) :
+                              valores[i] == null);
+        Assert.assertFalse(diccionario.contieneTodos(llaves));
+        String[] pares = new String[(total + 1) / 2];
+        for (int i = 0; i < pares.length; i++)
+            pares[i] = llaves[2 * i];
+        Assert.assertTrue(diccionario.contieneTodos(pares));
+        Assert.assertTrue(diccionario.contieneTodos(new String[0]));
+        pares[0] = null;
+        Assert.assertFalse(diccionario.contieneTodos(pares));
+        try {
+            diccionario.getTodos(pares, new String[pares.length]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#eliminaTodos}.
+     */
+    @Test public void testEliminaTodos() {
+        // Todas las llaves en una cubeta, para pasar de árbol a lista
+        diccionario = new Diccionario<String, String>(total, s -> 0);
+        String[] llaves = new String[total];
+        for (int i = 0; i < total; i++) {
+            llaves[i] = String.valueOf(i);
+            diccionario.agrega(llaves[i], llaves[i]);
+        }
+        String[] a = new String[total];
+        for (int i = 0; i < total; i++)
+            a[i] = String.valueOf(2 * i);
+        a[total - 1] = null;
+        try {
+            diccionario.eliminaTodos(a);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(diccionario.getElementos() == total);
+        a[total - 1] = "0";
+        // Las llaves que no están se ignoran, las repetidas cuentan una vez
+        int c = diccionario.eliminaTodos(a);
+        Assert.assertTrue(c == (total + 1) / 2);
+        Assert.assertTrue(diccionario.getElementos() == total / 2);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(llaves[i]) == (i % 2 == 1));
+        Assert.assertTrue(diccionario.cubetasArbolizadas() ==
+                          (total / 2 > Diccionario.UMBRAL_LISTA ? 1 : 0));
+        Assert.assertTrue(diccionario.eliminaTodos(llaves) == total / 2);
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.colisiones() == 0);
+
+        // Con una migración incremental en curso
+        Dispersor<String> hd;
+        hd = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+        diccionario = new Diccionario<String, String>(64, hd, true);
+        int m = (int)Math.ceil(calculaCapacidad(64) * Diccionario.MAXIMA_CARGA);
+        String[] b = new String[m + 1];
+        for (int i = 0; i <= m; i++) {
+            b[i] = String.valueOf(i);
+            diccionario.agrega(b[i], b[i]);
+        }
+        String[] impares = new String[(m + 1) / 2];
+        for (int i = 0; i < impares.length; i++)
+            impares[i] = b[2 * i + 1];
+        Assert.assertTrue(diccionario.eliminaTodos(impares) == impares.length);
+        Assert.assertTrue(diccionario.getElementos() == m + 1 - impares.length);
+        c = 0;
+        for (String v : diccionario)
+            c++;
+        Assert.assertTrue(c == m + 1 - impares.length);
+        for (int i = 0; i <= m; i++)
+            Assert.assertTrue(diccionario.contiene(b[i]) == (i % 2 == 0));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#elimina} con una carga debajo
+     * de la carga mínima, y para {@link Diccionario#setCargaMinima}.
+     */
+    @Test public void testEncoge() {
+        for (boolean incremental : new boolean[] { false, true }) {
+            Dispersor<String> hd;
+            hd = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+            diccionario = new Diccionario<String, String>(total, hd, incremental);
+            int inicial = diccionario.getMascara() + 1;
+            int n = total * 20;
+            for (int i = 0; i < n; i++)
+                diccionario.agrega(String.valueOf(i), String.valueOf(i));
+            int maxima = diccionario.getMascara() + 1;
+            Assert.assertTrue(maxima > inicial);
+            for (int i = 0; i < n - 1; i++) {
+                diccionario.elimina(String.valueOf(i));
+                int capacidad = diccionario.getMascara() + 1;
+                Assert.assertTrue(capacidad >= inicial);
+                Assert.assertTrue(capacidad == inicial ||
+                                  diccionario.carga() >= Diccionario.CARGA_MINIMA);
+                Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+            }
+            Assert.assertTrue(diccionario.getMascara() + 1 == inicial);
+            Assert.assertTrue(diccionario.get(String.valueOf(n - 1)).equals(String.valueOf(n - 1)));
+            int c = 0;
+            for (String s : diccionario)
+                c++;
+            Assert.assertTrue(c == 1);
+        }
+        // Eliminar por lote también encoge
+        String[] llaves = new String[total * 20];
+        for (int i = 0; i < llaves.length; i++)
+            llaves[i] = String.valueOf(i);
+        diccionario.agregaTodos(llaves, llaves);
+        Assert.assertTrue(diccionario.eliminaTodos(llaves) == llaves.length);
+        Assert.assertTrue(diccionario.getMascara() + 1 == calculaCapacidad(total));
+
+        // Con carga mínima 0 no se encoge
+        diccionario.setCargaMinima(0.0);
+        diccionario.agregaTodos(llaves, llaves);
+        int maxima = diccionario.getMascara() + 1;
+        diccionario.eliminaTodos(llaves);
+        Assert.assertTrue(diccionario.getMascara() + 1 == maxima);
+        for (double carga : new double[] { -0.1, Diccionario.MAXIMA_CARGA / 2, Double.NaN }) {
+            try {
+                diccionario.setCargaMinima(carga);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        // Subir la carga mínima encoge en ese momento
+        diccionario.setCargaMinima(Diccionario.CARGA_MINIMA);
+        Assert.assertTrue(diccionario.getCargaMinima() == Diccionario.CARGA_MINIMA);
+        Assert.assertTrue(diccionario.getMascara() + 1 == calculaCapacidad(total));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#compacta}.
+     */
+    @Test public void testCompacta() {
+        diccionario = new Diccionario<String, String>(total * 20);
+        int inicial = diccionario.getMascara() + 1;
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        // La capacidad inicial no se reduce sola
+        for (int i = 0; i < total; i += 2)
+            diccionario.elimina(String.valueOf(i));
+        Assert.assertTrue(diccionario.getMascara() + 1 == inicial);
+        diccionario.compacta();
+        Assert.assertTrue(diccionario.getMascara() + 1 == calculaCapacidad(total / 2));
+        Assert.assertTrue(diccionario.getElementos() == total / 2);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i)) == (i % 2 == 1));
+        int capacidad = diccionario.getMascara() + 1;
+        diccionario.compacta();
+        Assert.assertTrue(diccionario.getMascara() + 1 == capacidad);
+    }
 }
@@ -0,0 +1,272 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de hilos para las pruebas concurrentes. */
+    private static final int HILOS = 4;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioConcurrente<String, String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        Dispersor<String> hd;
+        hd = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+        diccionario = new DiccionarioConcurrente<String, String>(total, hd);
+    }
+
+    /* Ejecuta la acción recibida en varios hilos, espera a que terminen, y
+     * vuelve a lanzar el primer error de cualquiera de ellos. */
+    private void enHilos(IntConsumer accion) {
+        AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] hilos = new Thread[HILOS];
+        for (int h = 0; h < HILOS; h++) {
+            final int hilo = h;
+            hilos[h] = new Thread(() -> {
+                    try {
+                        accion.accept(hilo);
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+            });
+            hilos[h].start();
+        }
+        try {
+            for (Thread hilo : hilos)
+                hilo.join();
+        } catch (InterruptedException ie) {
+            Assert.fail();
+        }
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+        try {
+            new DiccionarioConcurrente<String, String>(total, s -> 0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        DiccionarioConcurrente<String, String> d =
+            new DiccionarioConcurrente<String, String>(total, s -> 0, 1);
+        d.agrega("a", "a");
+        Assert.assertTrue(d.get("a").equals("a"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            diccionario.agrega(null, "");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agrega("", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        String s = String.format("%x", ini);
+        diccionario.agrega(s, "nuevo");
+        Assert.assertTrue(diccionario.getElementos() == total);
+        Assert.assertTrue(diccionario.get(s).equals("nuevo"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#get} y {@link
+     * DiccionarioConcurrente#contiene}.
+     */
+    @Test public void testGetContiene() {
+        try {
+            diccionario.get(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(diccionario.contiene(null));
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertFalse(diccionario.contiene(s));
+            try {
+                diccionario.get(s);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.contiene(s));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            diccionario.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        // Todas las llaves en una cubeta, para eliminar a mitad de cadena
+        diccionario = new DiccionarioConcurrente<String, String>(total, s -> 0);
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        try {
+            diccionario.elimina("-1");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i += 2) {
+            diccionario.elimina(String.valueOf(i));
+            Assert.assertFalse(diccionario.contiene(String.valueOf(i)));
+        }
+        Assert.assertTrue(diccionario.getElementos() == total / 2);
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(diccionario.get(String.valueOf(i)).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertFalse(diccionario.contiene("0"));
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iterator} y {@link
+     * DiccionarioConcurrente#iteradorLlaves}.
+     */
+    @Test public void testIteradores() {
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(String.valueOf(i), "v" + i);
+            lista.agrega(String.valueOf(i));
+        }
+        Iterator<String> iterador = diccionario.iteradorLlaves();
+        int c = 0;
+        while (iterador.hasNext()) {
+            String s = iterador.next();
+            Assert.assertTrue(lista.contiene(s));
+            lista.elimina(s);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        c = 0;
+        for (String v : diccionario) {
+            Assert.assertTrue(v.startsWith("v"));
+            c++;
+        }
+        Assert.assertTrue(c == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iterator} mientras
+     * otro hilo modifica el diccionario.
+     */
+    @Test public void testIteradorConcurrente() throws InterruptedException {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        AtomicBoolean termina = new AtomicBoolean(false);
+        Thread escritor = new Thread(() -> {
+                // Agrega y elimina llaves distintas de las iniciales
+                for (int i = 0; !termina.get(); i = (i + 1) % total) {
+                    String s = String.valueOf(total + i);
+                    if (diccionario.contiene(s))
+                        diccionario.elimina(s);
+                    else
+                        diccionario.agrega(s, s);
+                }
+        });
+        escritor.start();
+        for (int r = 0; r < 10; r++) {
+            Lista<String> vistas = new Lista<String>();
+            Iterator<String> iterador = diccionario.iteradorLlaves();
+            while (iterador.hasNext()) {
+                String s = iterador.next();
+                Assert.assertFalse(vistas.contiene(s));
+                vistas.agrega(s);
+            }
+            // Las llaves que ya estaban al crear el iterador se ven siempre
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(vistas.contiene(String.valueOf(i)));
+        }
+        termina.set(true);
+        escritor.join();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente} con varios hilos
+     * agregando, leyendo y eliminando a la vez.
+     */
+    @Test public void testConcurrente() {
+        int n = 2000;
+        enHilos(h -> {
+                for (int i = 0; i < n; i++) {
+                    String s = h + ":" + i;
+                    diccionario.agrega(s, s);
+                    Assert.assertTrue(diccionario.get(s).equals(s));
+                }
+        });
+        Assert.assertTrue(diccionario.getElementos() == HILOS * n);
+        enHilos(h -> {
+                for (int i = 0; i < n; i += 2)
+                    diccionario.elimina(h + ":" + i);
+        });
+        Assert.assertTrue(diccionario.getElementos() == HILOS * n / 2);
+        for (int h = 0; h < HILOS; h++) {
+            for (int i = 0; i < n; i++) {
+                String s = h + ":" + i;
+                Assert.assertTrue(diccionario.contiene(s) == (i % 2 == 1));
+            }
+        }
+    }
+}
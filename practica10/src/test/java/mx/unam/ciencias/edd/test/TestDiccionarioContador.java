@@ -0,0 +1,138 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioContador;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioContador}.
+ */
+public class TestDiccionarioContador {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario contador. */
+    private DiccionarioContador<String> contador;
+
+    /**
+     * Crea un diccionario contador para cada prueba.
+     */
+    public TestDiccionarioContador() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        contador = new DiccionarioContador<String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioContador#DiccionarioContador}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getElementos() == 0);
+        Assert.assertTrue(contador.getTotal() == 0);
+        Assert.assertFalse(contador.iterator().hasNext());
+        try {
+            new DiccionarioContador<String>(total, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioContador#incrementa} y {@link
+     * DiccionarioContador#get}.
+     */
+    @Test public void testIncrementa() {
+        try {
+            contador.incrementa(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            contador.get(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        long[] cuentas = new long[total];
+        long suma = 0;
+        for (int r = 0; r < total * 10; r++) {
+            int i = random.nextInt(total);
+            String s = String.valueOf(i);
+            Assert.assertTrue(contador.get(s) == cuentas[i]);
+            if (random.nextBoolean()) {
+                Assert.assertTrue(contador.incrementa(s) == ++cuentas[i]);
+                suma++;
+            } else {
+                long delta = random.nextInt(5) + 1;
+                cuentas[i] += delta;
+                suma += delta;
+                Assert.assertTrue(contador.incrementa(s, delta) == cuentas[i]);
+            }
+            Assert.assertTrue(contador.getTotal() == suma);
+        }
+        int llaves = 0;
+        for (int i = 0; i < total; i++)
+            if (cuentas[i] != 0)
+                llaves++;
+        Assert.assertTrue(contador.getElementos() == llaves);
+        int c = 0;
+        for (String s : contador) {
+            Assert.assertTrue(contador.get(s) == cuentas[Integer.parseInt(s)]);
+            c++;
+        }
+        Assert.assertTrue(c == llaves);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioContador#incrementa} con
+     * valores negativos: una llave cuya cuenta llega a cero se elimina.
+     */
+    @Test public void testDecrementa() {
+        Assert.assertTrue(contador.incrementa("a", 0) == 0);
+        Assert.assertFalse(contador.contiene("a"));
+        Assert.assertTrue(contador.incrementa("a", -3) == -3);
+        Assert.assertTrue(contador.contiene("a"));
+        Assert.assertTrue(contador.incrementa("a", 3) == 0);
+        Assert.assertFalse(contador.contiene("a"));
+        Assert.assertTrue(contador.esVacia());
+        for (int i = 0; i < total; i++)
+            contador.incrementa("b");
+        for (int i = total - 1; i >= 0; i--)
+            Assert.assertTrue(contador.incrementa("b", -1) == i);
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getTotal() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioContador#elimina} y {@link
+     * DiccionarioContador#limpia}.
+     */
+    @Test public void testEliminaLimpia() {
+        try {
+            contador.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            contador.elimina("a");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            contador.incrementa(String.valueOf(i), i + 1);
+        contador.elimina("0");
+        Assert.assertFalse(contador.contiene("0"));
+        Assert.assertTrue(contador.get("0") == 0);
+        Assert.assertTrue(contador.getElementos() == total - 1);
+        Assert.assertTrue(contador.getTotal() == (long)total * (total + 1) / 2 - 1);
+        contador.limpia();
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getTotal() == 0);
+        Assert.assertTrue(contador.incrementa("1") == 1);
+    }
+}
@@ -0,0 +1,216 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioEnteroObjeto;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioEnteroObjeto}.
+ */
+public class TestDiccionarioEnteroObjeto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioEnteroObjeto<String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioEnteroObjeto() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioEnteroObjeto<String>(total);
+    }
+
+    /* Calcula la capacidad. */
+    private int calculaCapacidad(int n) {
+        n = (n < 64) ? 64 : n;
+        int c = 1;
+        while (c < n * 2)
+            c *= 2;
+        return c;
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#DiccionarioEnteroObjeto}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        diccionario.agrega(1, "1");
+        int c = calculaCapacidad(total);
+        Assert.assertTrue(diccionario.carga() == 1.0 / c);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#agrega}.
+     */
+    @Test public void testAgrega() {
+        boolean crecio = false;
+        double l = 0.0;
+        int ini = random.nextInt(10000);
+        int cap = calculaCapacidad(total);
+        for (int i = 0; i < total * 4; i++) {
+            int n = ini + i * 1000;
+            Assert.assertFalse(diccionario.contiene(n));
+            diccionario.agrega(n, String.valueOf(-n));
+            if (diccionario.carga() < l) {
+                crecio = true;
+                cap *= 2;
+            }
+            Assert.assertTrue(diccionario.carga() == ((double)(i+1)) / cap);
+            Assert.assertTrue(diccionario.getElementos() == i+1);
+            Assert.assertTrue(diccionario.contiene(n));
+            Assert.assertTrue(diccionario.get(n).equals(String.valueOf(-n)));
+            Assert.assertTrue(diccionario.carga() < DiccionarioEnteroObjeto.MAXIMA_CARGA);
+            l = diccionario.carga();
+        }
+        Assert.assertTrue(crecio);
+        diccionario.agrega(ini, "X");
+        Assert.assertTrue(diccionario.getElementos() == total*4);
+        Assert.assertTrue(diccionario.get(ini).equals("X"));
+        try {
+            diccionario.agrega(ini, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#get}.
+     */
+    @Test public void testGet() {
+        int ini = 1 + random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(ini + i, String.valueOf(i));
+            Assert.assertTrue(diccionario.get(ini + i).equals(String.valueOf(i)));
+        }
+        try {
+            diccionario.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#elimina}.
+     */
+    @Test public void testElimina() {
+        int[] arreglo = new int[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = ini + i * 1000;
+            diccionario.agrega(arreglo[i], String.valueOf(i));
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.contiene(arreglo[i]));
+            diccionario.elimina(arreglo[i]);
+            Assert.assertFalse(diccionario.contiene(arreglo[i]));
+            Assert.assertTrue(diccionario.getElementos() == total - (i+1));
+            try {
+                diccionario.elimina(arreglo[i]);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#colisiones} y {@link
+     * DiccionarioEnteroObjeto#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        diccionario = new DiccionarioEnteroObjeto<String>(total, n -> 0);
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Assert.assertTrue(diccionario.colisionMaxima() == total - 1);
+        Assert.assertTrue(diccionario.colisiones() == total * (total - 1) / 2);
+        for (int i = 0; i < total; i += 2)
+            diccionario.elimina(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(i) == (i % 2 == 1));
+        for (int i = 0; i < total; i += 2)
+            diccionario.agrega(i, String.valueOf(i));
+        Assert.assertTrue(diccionario.colisionMaxima() == total - 1);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Assert.assertFalse(diccionario.esVacia());
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#equals}.
+     */
+    @Test public void testEquals() {
+        DiccionarioEnteroObjeto<String> d2 =
+            new DiccionarioEnteroObjeto<String>();
+        Assert.assertTrue(diccionario.equals(d2));
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            d2.agrega(total - i - 1, String.valueOf(total - i - 1));
+        }
+        Assert.assertTrue(diccionario.equals(d2));
+        d2.agrega(0, "1");
+        Assert.assertFalse(diccionario.equals(d2));
+        d2.elimina(0);
+        Assert.assertFalse(diccionario.equals(d2));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#iteradorLlaves} y {@link
+     * DiccionarioEnteroObjeto#iterator}.
+     */
+    @Test public void testIteradores() {
+        Lista<Integer> lista = new Lista<Integer>();
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(ini + i, String.valueOf(ini + i));
+            lista.agrega(ini + i);
+        }
+        int c = 0;
+        PrimitiveIterator.OfInt llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            Assert.assertTrue(lista.contiene(llaves.nextInt()));
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        c = 0;
+        Iterator<String> valores = diccionario.iterator();
+        while (valores.hasNext()) {
+            Assert.assertTrue(lista.contiene(Integer.parseInt(valores.next())));
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        try {
+            valores.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -0,0 +1,290 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioPersistente;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioPersistente}.
+ */
+public class TestDiccionarioPersistente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /** Directorio temporal para los archivos de las pruebas. */
+    @Rule public TemporaryFolder directorio = new TemporaryFolder();
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El archivo del diccionario. */
+    private Path archivo;
+    /* El diccionario. */
+    private DiccionarioPersistente diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     * @throws IOException si no se puede crear el diccionario.
+     */
+    @Before public void creaDiccionario() throws IOException {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        archivo = directorio.getRoot().toPath().resolve("diccionario.edd");
+        diccionario = new DiccionarioPersistente(archivo, total);
+    }
+
+    /**
+     * Cierra el diccionario después de cada prueba.
+     * @throws IOException si no se puede cerrar el diccionario.
+     */
+    @After public void cierraDiccionario() throws IOException {
+        diccionario.close();
+    }
+
+    /* Cierra el diccionario y lo vuelve a abrir. */
+    private void reabre() throws IOException {
+        diccionario.close();
+        diccionario = new DiccionarioPersistente(archivo);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioPersistente#DiccionarioPersistente}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testConstructor() throws IOException {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        Assert.assertTrue(Files.size(archivo) > DiccionarioPersistente.ENCABEZADO);
+        try {
+            new DiccionarioPersistente(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Path basura = directorio.newFile("basura").toPath();
+        Files.write(basura, new byte[DiccionarioPersistente.ENCABEZADO * 2]);
+        try {
+            new DiccionarioPersistente(basura);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Files.write(basura, new byte[] { 1, 2, 3 });
+        try {
+            new DiccionarioPersistente(basura);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente#agrega} y {@link
+     * DiccionarioPersistente#get}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testAgregaGet() throws IOException {
+        try {
+            diccionario.agrega(null, "");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agrega("", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.get(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            try {
+                diccionario.get(s);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+            diccionario.agrega(s, "v" + s);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.get(s).equals("v" + s));
+        }
+        diccionario.agrega("", "vacía");
+        diccionario.agrega("ñandú", "ave ☃");
+        Assert.assertTrue(diccionario.get("").equals("vacía"));
+        Assert.assertTrue(diccionario.get("ñandú").equals("ave ☃"));
+        String s = String.format("%x", ini);
+        diccionario.agrega(s, "nuevo");
+        Assert.assertTrue(diccionario.getElementos() == total + 2);
+        Assert.assertTrue(diccionario.get(s).equals("nuevo"));
+        Assert.assertTrue(diccionario.carga() < DiccionarioPersistente.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente#contiene}.
+     */
+    @Test public void testContiene() {
+        Assert.assertFalse(diccionario.contiene(null));
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            Assert.assertFalse(diccionario.contiene(s));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.contiene(s));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente#elimina}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testElimina() throws IOException {
+        try {
+            diccionario.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.elimina("a");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        for (int i = 0; i < total; i += 2) {
+            diccionario.elimina(String.valueOf(i));
+            Assert.assertFalse(diccionario.contiene(String.valueOf(i)));
+        }
+        Assert.assertTrue(diccionario.getElementos() == total / 2);
+        Assert.assertTrue(diccionario.getBasura() > 0);
+        reabre();
+        Assert.assertTrue(diccionario.getElementos() == total / 2);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i)) == (i % 2 == 1));
+        // Las lápidas no impiden volver a agregar ni encontrar llaves
+        for (int r = 0; r < 10; r++) {
+            for (int i = 0; i < total; i += 2)
+                diccionario.agrega(String.valueOf(i), "r" + r);
+            for (int i = 0; i < total; i += 2)
+                diccionario.elimina(String.valueOf(i));
+        }
+        Assert.assertTrue(diccionario.getElementos() == total / 2);
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(diccionario.get(String.valueOf(i)).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente} al cerrarlo y
+     * volverlo a abrir, después de que creció varias veces.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testPersistencia() throws IOException {
+        int n = total * 50;
+        for (int i = 0; i < n; i++)
+            diccionario.agrega("llave" + i, "valor" + i);
+        diccionario.sincroniza();
+        reabre();
+        Assert.assertTrue(diccionario.getElementos() == n);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(diccionario.get("llave" + i).equals("valor" + i));
+        Assert.assertFalse(diccionario.contiene("llave" + n));
+        diccionario.agrega("llave" + n, "otro");
+        reabre();
+        Assert.assertTrue(diccionario.get("llave" + n).equals("otro"));
+        Assert.assertFalse(Files.exists(archivo.resolveSibling("diccionario.edd.tmp")));
+        diccionario.close();
+        diccionario.close();
+        try {
+            diccionario.get("llave0");
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            diccionario.agrega("a", "a");
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente#compacta} y la
+     * compactación automática de los registros muertos.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testCompacta() throws IOException {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), "valor");
+        Assert.assertTrue(diccionario.getBasura() == 0);
+        // Agregar el mismo valor no deja registros muertos
+        diccionario.agrega("0", "valor");
+        Assert.assertTrue(diccionario.getBasura() == 0);
+        long tamano = Files.size(archivo);
+        // Reemplazar muchas veces los valores no hace crecer el archivo sin
+        // límite
+        for (int r = 0; r < 200; r++)
+            for (int i = 0; i < total; i++)
+                diccionario.agrega(String.valueOf(i), "valor " + r);
+        Assert.assertTrue(Files.size(archivo) <= 4 * tamano);
+        Assert.assertTrue(diccionario.getBasura() > 0);
+        diccionario.compacta();
+        Assert.assertTrue(diccionario.getBasura() == 0);
+        Assert.assertTrue(diccionario.getElementos() == total);
+        reabre();
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(String.valueOf(i)).equals("valor 199"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente#limpia}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testLimpia() throws IOException {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.contiene("0"));
+        reabre();
+        Assert.assertTrue(diccionario.esVacia());
+        diccionario.agrega("0", "0");
+        Assert.assertTrue(diccionario.get("0").equals("0"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioPersistente#iterator} y {@link
+     * DiccionarioPersistente#iteradorLlaves}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testIteradores() throws IOException {
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(String.valueOf(i), "v" + i);
+            lista.agrega(String.valueOf(i));
+        }
+        reabre();
+        Iterator<String> iterador = diccionario.iteradorLlaves();
+        int c = 0;
+        while (iterador.hasNext()) {
+            String s = iterador.next();
+            Assert.assertTrue(lista.contiene(s));
+            lista.elimina(s);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        c = 0;
+        for (String v : diccionario) {
+            Assert.assertTrue(v.startsWith("v"));
+            c++;
+        }
+        Assert.assertTrue(c == total);
+    }
+}
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
@@ -156,4 +158,226 @@ public class TestDispersores {
             Assert.assertTrue(RESULTADOS_DJB[i-1] == r);
         }
     }
+
+    /* Índice de inicio de los pedazos. */
+    private static final int INICIO = 7;
+
+    /* Regresa un arreglo con el subarreglo de longitud n de ARREGLO rodeado
+     * de basura, empezando en el índice INICIO. */
+    private byte[] conBasura(int n) {
+        byte[] a = new byte[n + INICIO + 5];
+        for (int i = 0; i < a.length; i++)
+            a[i] = (byte)0xa5;
+        System.arraycopy(ARREGLO, 0, a, INICIO, n);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link Dispersores#dispersaXOR},
+     * {@link Dispersores#dispersaBJ} y {@link Dispersores#dispersaDJB} que
+     * reciben un pedazo de un arreglo o un buffer.
+     */
+    @Test public void testDispersaPedazos() {
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] a = conBasura(i);
+            Assert.assertTrue(Dispersores.dispersaXOR(a, INICIO, i) == RESULTADOS_XOR[i-1]);
+            Assert.assertTrue(Dispersores.dispersaBJ(a, INICIO, i) == RESULTADOS_BJ[i-1]);
+            Assert.assertTrue(Dispersores.dispersaDJB(a, INICIO, i) == RESULTADOS_DJB[i-1]);
+            ByteBuffer[] buffers = {
+                ByteBuffer.wrap(a, INICIO, i),
+                ByteBuffer.wrap(a, 1, INICIO + i - 1).slice(),
+                ByteBuffer.allocateDirect(a.length).put(a)
+            };
+            buffers[1].position(INICIO - 1);
+            buffers[2].position(INICIO).limit(INICIO + i);
+            for (ByteBuffer b : buffers) {
+                int posicion = b.position();
+                Assert.assertTrue(Dispersores.dispersaXOR(b) == RESULTADOS_XOR[i-1]);
+                Assert.assertTrue(Dispersores.dispersaBJ(b) == RESULTADOS_BJ[i-1]);
+                Assert.assertTrue(Dispersores.dispersaDJB(b) == RESULTADOS_DJB[i-1]);
+                Assert.assertTrue(b.position() == posicion);
+            }
+        }
+        byte[] a = conBasura(0);
+        try {
+            Dispersores.dispersaBJ(a, -1, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            Dispersores.dispersaXOR(a, 2, a.length);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(Dispersores.dispersaDJB(a, a.length, 0) == 5381);
+    }
+
+    /* Caracteres para construir cadenas: ASCII, de dos y tres bytes en UTF-8,
+     * sustitutos altos y bajos. */
+    private static final char[] CARACTERES = {
+        'a', 'Z', '0', ' ', '\u00e1', '\u00f1', '\u07ff', '\u0800',
+        '\u20ac', '\uffff', '\ud83d', '\ude00', '\udbff', '\udc00'
+    };
+
+    /**
+     * Prueba unitaria para las versiones de {@link Dispersores#dispersaXOR},
+     * {@link Dispersores#dispersaBJ} y {@link Dispersores#dispersaDJB} que
+     * reciben cadenas.
+     */
+    @Test public void testDispersaCadenas() {
+        Random random = new Random();
+        for (int n = 0; n < 40; n++) {
+            for (int r = 0; r < 20; r++) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < n; i++)
+                    sb.append(CARACTERES[random.nextInt(CARACTERES.length)]);
+                String cadena = sb.toString();
+                byte[] bytes = cadena.getBytes(StandardCharsets.UTF_8);
+                Assert.assertTrue(Dispersores.dispersaXOR(cadena) ==
+                                  Dispersores.dispersaXOR(bytes));
+                Assert.assertTrue(Dispersores.dispersaBJ(cadena) ==
+                                  Dispersores.dispersaBJ(bytes));
+                Assert.assertTrue(Dispersores.dispersaDJB(cadena) ==
+                                  Dispersores.dispersaDJB(bytes));
+                Assert.assertTrue(Dispersores.dispersaMurmur3(cadena) ==
+                                  Dispersores.dispersaMurmur3(bytes));
+                Assert.assertTrue(Dispersores.dispersaXX64(cadena) ==
+                                  Dispersores.dispersaXX64(bytes));
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link
+     * Dispersores#dispersaMurmur3}, {@link Dispersores#dispersaXX64} y {@link
+     * Dispersores#dispersaSip} que reciben cadenas, con cadenas más largas
+     * que el arreglo donde se codifican por hilo.
+     */
+    @Test public void testDispersaCadenaLarga() {
+        Random random = new Random();
+        for (int n : new int[] { 1 << 14, 1 << 15, 1 << 18, 100 }) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < n; i++)
+                sb.append(CARACTERES[random.nextInt(CARACTERES.length)]);
+            String cadena = sb.toString();
+            byte[] bytes = cadena.getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(Dispersores.dispersaMurmur3(cadena) ==
+                              Dispersores.dispersaMurmur3(bytes));
+            Assert.assertTrue(Dispersores.dispersaXX64(cadena) ==
+                              Dispersores.dispersaXX64(bytes));
+            Assert.assertTrue(Dispersores.dispersaSip(cadena, 1L, 2L) ==
+                              Dispersores.dispersaSip(bytes, 0, bytes.length,
+                                                      1L, 2L));
+        }
+    }
+
+    /* Regresa un arreglo con los bytes 0, 1, ..., n-1. */
+    private byte[] consecutivos(int n) {
+        byte[] a = new byte[n];
+        for (int i = 0; i < n; i++)
+            a[i] = (byte)i;
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3}.
+     */
+    @Test public void testDispersaMurmur3() {
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[0]) == 0L);
+        String zorro = "The quick brown fox jumps over the lazy dog";
+        byte[] bytes = zorro.getBytes(StandardCharsets.UTF_8);
+        long[] r = new long[2];
+        Dispersores.dispersaMurmur3(bytes, 0, bytes.length, r);
+        Assert.assertTrue(r[0] == 0xe34bbc7bbc071b6cL);
+        Assert.assertTrue(r[1] == 0x7a433ca9c49a9347L);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes) == r[0]);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(zorro) == r[0]);
+        Dispersores.dispersaMurmur3(consecutivos(100), 0, 100, r);
+        Assert.assertTrue(r[0] == 0xb06f9999c14051caL);
+        Assert.assertTrue(r[1] == 0x0fbd6d93c8340799L);
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] a = conBasura(i);
+            Dispersores.dispersaMurmur3(a, INICIO, i, r);
+            Assert.assertTrue(r[0] == Dispersores.dispersaMurmur3(subArreglo(i)));
+        }
+        try {
+            Dispersores.dispersaMurmur3(bytes, 0, bytes.length, new long[1]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXX64}.
+     */
+    @Test public void testDispersaXX64() {
+        Assert.assertTrue(Dispersores.dispersaXX64(new byte[0]) == 0xef46db3751d8e999L);
+        Assert.assertTrue(Dispersores.dispersaXX64("abc") == 0x44bc2cf5ad770999L);
+        String zorro = "The quick brown fox jumps over the lazy dog";
+        Assert.assertTrue(Dispersores.dispersaXX64(zorro) == 0x0b242d361fda71bcL);
+        Assert.assertTrue(Dispersores.dispersaXX64(consecutivos(100)) == 0x6ac1e58032166597L);
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] a = conBasura(i);
+            Assert.assertTrue(Dispersores.dispersaXX64(a, INICIO, i) ==
+                              Dispersores.dispersaXX64(subArreglo(i)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaSip}, con los vectores
+     * de prueba de SipHash-2-4 (llave 00 01 ... 0f).
+     */
+    @Test public void testDispersaSip() {
+        long k0 = 0x0706050403020100L, k1 = 0x0f0e0d0c0b0a0908L;
+        int[] longitudes = { 0, 8, 15, 63 };
+        long[] resultados = {
+            0x726fdb47dd0e0e31L, 0x93f5f5799a932462L,
+            0xa129ca6149be45e5L, 0x958a324ceb064572L
+        };
+        for (int i = 0; i < longitudes.length; i++) {
+            byte[] a = consecutivos(longitudes[i]);
+            Assert.assertTrue(Dispersores.dispersaSip(a, 0, a.length, k0, k1) == resultados[i]);
+        }
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] a = conBasura(i);
+            byte[] sub = subArreglo(i);
+            Assert.assertTrue(Dispersores.dispersaSip(a, INICIO, i, k0, k1) ==
+                              Dispersores.dispersaSip(sub, 0, i, k0, k1));
+            Assert.assertTrue(Dispersores.dispersaSip(sub, 0, i, k0, k1) !=
+                              Dispersores.dispersaSip(sub, 0, i, k0, k1 + 1));
+        }
+        String cadena = "sintonizándomelo";
+        byte[] bytes = cadena.getBytes(StandardCharsets.UTF_8);
+        Assert.assertTrue(Dispersores.dispersaSip(cadena, k0, k1) ==
+                          Dispersores.dispersaSip(bytes, 0, bytes.length, k0, k1));
+    }
+
+    /**
+     * Prueba unitaria para los dispersores de cadenas con semilla.
+     */
+    @Test public void testDispersaConSemilla() {
+        String cadena = "sintonizándomelo";
+        Assert.assertTrue(Dispersores.dispersaBJ(cadena, 0xffffffff) ==
+                          Dispersores.dispersaBJ(cadena));
+        Assert.assertTrue(Dispersores.dispersaMurmur3(cadena, 0) ==
+                          Dispersores.dispersaMurmur3(cadena));
+        Assert.assertTrue(Dispersores.dispersaXX64(cadena, 0) ==
+                          Dispersores.dispersaXX64(cadena));
+        Assert.assertTrue(Dispersores.dispersaBJ(cadena, 1) !=
+                          Dispersores.dispersaBJ(cadena, 2));
+        Assert.assertTrue(Dispersores.dispersaMurmur3(cadena, 1) !=
+                          Dispersores.dispersaMurmur3(cadena, 2));
+        Assert.assertTrue(Dispersores.dispersaXX64(cadena, 1) !=
+                          Dispersores.dispersaXX64(cadena, 2));
+        Assert.assertTrue(Dispersores.dispersaXX64("abc", 0) == 0x44bc2cf5ad770999L);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaEntero}.
+     */
+    @Test public void testDispersaEntero() {
+        Assert.assertTrue(Dispersores.dispersaEntero(0) == 0);
+        int[] cubetas = new int[64];
+        for (int i = 0; i < 64 * 64; i++)
+            cubetas[Dispersores.dispersaEntero(i) & 63]++;
+        for (int c : cubetas)
+            Assert.assertTrue(c > 32 && c < 96);
+    }
 }
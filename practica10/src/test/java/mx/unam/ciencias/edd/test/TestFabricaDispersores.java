@@ -1,7 +1,9 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.Dispersores;
 import mx.unam.ciencias.edd.FabricaDispersores;
 import mx.unam.ciencias.edd.Dispersor;
 import org.junit.Assert;
@@ -115,4 +117,74 @@ public class TestFabricaDispersores {
         for (String mensaje : MENSAJES)
             Assert.assertTrue(djb.dispersa(mensaje) == DISPERSORES_DJB[i++]);
     }
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con la
+     * huella digital MurmurHash3.
+     */
+    @Test public void testDispersorCadenaMurmur3() {
+        Dispersor<String> murmur =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.MURMUR3_STRING);
+        for (String mensaje : MENSAJES) {
+            long h = Dispersores.dispersaMurmur3(mensaje.getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(murmur.dispersa(mensaje) == (int)(h ^ (h >>> 32)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con la
+     * huella digital xxHash64.
+     */
+    @Test public void testDispersorCadenaXX64() {
+        Dispersor<String> xx =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XX64_STRING);
+        for (String mensaje : MENSAJES) {
+            long h = Dispersores.dispersaXX64(mensaje.getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(xx.dispersa(mensaje) == (int)(h ^ (h >>> 32)));
+        }
+    }
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * semilla, y para {@link FabricaDispersores#dispersorCadenaAleatorio}.
+     */
+    @Test public void testDispersorCadenaConSemilla() {
+        AlgoritmoDispersor[] conSemilla = {
+            AlgoritmoDispersor.BJ_STRING, AlgoritmoDispersor.MURMUR3_STRING,
+            AlgoritmoDispersor.XX64_STRING, AlgoritmoDispersor.SIP_STRING
+        };
+        for (AlgoritmoDispersor a : conSemilla) {
+            Dispersor<String> d1 = FabricaDispersores.dispersorCadena(a, 1);
+            Dispersor<String> d2 = FabricaDispersores.dispersorCadena(a, 1);
+            Dispersor<String> d3 = FabricaDispersores.dispersorCadena(a, 2);
+            Dispersor<String> d4 = FabricaDispersores.dispersorCadenaAleatorio(a);
+            Dispersor<String> d5 = FabricaDispersores.dispersorCadenaAleatorio(a);
+            int distintas = 0, aleatorias = 0;
+            for (String mensaje : MENSAJES) {
+                Assert.assertTrue(d1.dispersa(mensaje) == d2.dispersa(mensaje));
+                Assert.assertTrue(d4.dispersa(mensaje) == d4.dispersa(mensaje));
+                if (d1.dispersa(mensaje) != d3.dispersa(mensaje))
+                    distintas++;
+                if (d4.dispersa(mensaje) != d5.dispersa(mensaje))
+                    aleatorias++;
+            }
+            Assert.assertTrue(distintas > MENSAJES.length / 2);
+            Assert.assertTrue(aleatorias > MENSAJES.length / 2);
+        }
+        AlgoritmoDispersor[] sinSemilla = {
+            AlgoritmoDispersor.XOR_STRING, AlgoritmoDispersor.DJB_STRING
+        };
+        for (AlgoritmoDispersor a : sinSemilla) {
+            try {
+                FabricaDispersores.dispersorCadena(a, 1);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+            try {
+                FabricaDispersores.dispersorCadenaAleatorio(a);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        Dispersor<String> sip =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.SIP_STRING);
+        for (String mensaje : MENSAJES)
+            Assert.assertTrue(sip.dispersa(mensaje) == sip.dispersa(mensaje));
+    }
 }
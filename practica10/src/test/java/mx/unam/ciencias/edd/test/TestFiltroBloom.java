@@ -0,0 +1,126 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import mx.unam.ciencias.edd.FiltroBloom;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link FiltroBloom}.
+ */
+public class TestFiltroBloom {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El filtro. */
+    private FiltroBloom<Integer> filtro;
+
+    /**
+     * Crea un filtro para cada prueba.
+     */
+    public TestFiltroBloom() {
+        int N = 1000;
+        random = new Random();
+        total = N + random.nextInt(N);
+        filtro = new FiltroBloom<Integer>(total, 10);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#FiltroBloom}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(filtro.esVacio());
+        Assert.assertTrue(filtro.getElementos() == 0);
+        Assert.assertTrue(filtro.getPosiciones() >= total * 10L);
+        Assert.assertTrue(filtro.getDispersiones() == 7);
+        Assert.assertTrue(filtro.tasaFalsosPositivos() == 0.0);
+        Assert.assertTrue(new FiltroBloom<Integer>(1, 1).getDispersiones() == 1);
+        try {
+            new FiltroBloom<Integer>(0, 10);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new FiltroBloom<Integer>(total, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new FiltroBloom<Integer>(total, 10, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new FiltroBloom<Integer>(Integer.MAX_VALUE, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#agrega} y {@link
+     * FiltroBloom#contiene}: no hay falsos negativos.
+     */
+    @Test public void testAgregaContiene() {
+        try {
+            filtro.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(filtro.contiene(null));
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt();
+            filtro.agrega(a[i]);
+            Assert.assertTrue(filtro.getElementos() == i + 1);
+            Assert.assertTrue(filtro.contiene(a[i]));
+        }
+        Assert.assertFalse(filtro.esVacio());
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(filtro.contiene(a[i]));
+    }
+
+    /**
+     * Prueba unitaria para la tasa de falsos positivos de {@link FiltroBloom}
+     * con distintos bits por elemento: la tasa medida debe estar cerca de la
+     * esperada.
+     */
+    @Test public void testFalsosPositivos() {
+        int n = 20000, pruebas = 200000;
+        for (int bits : new int[] { 4, 8, 12 }) {
+            FiltroBloom<String> f;
+            f = new FiltroBloom<String>(n, bits,
+                                        FabricaDispersores.dispersorCadena(
+                                            AlgoritmoDispersor.XX64_STRING));
+            for (int i = 0; i < n; i++)
+                f.agrega("agregado" + i);
+            int positivos = 0;
+            for (int i = 0; i < pruebas; i++)
+                if (f.contiene("ausente" + i))
+                    positivos++;
+            double medida = (double)positivos / pruebas;
+            double esperada = f.tasaFalsosPositivos();
+            Assert.assertTrue(medida < esperada * 1.5 + 0.001);
+            Assert.assertTrue(medida > esperada / 1.5 - 0.001);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        filtro.limpia();
+        Assert.assertTrue(filtro.esVacio());
+        int positivos = 0;
+        for (int i = 0; i < total; i++)
+            if (filtro.contiene(i))
+                positivos++;
+        Assert.assertTrue(positivos == 0);
+    }
+}
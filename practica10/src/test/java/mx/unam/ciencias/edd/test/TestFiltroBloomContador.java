@@ -0,0 +1,90 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.FiltroBloomContador;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link FiltroBloomContador}.
+ */
+public class TestFiltroBloomContador {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El filtro. */
+    private FiltroBloomContador<Integer> filtro;
+
+    /**
+     * Crea un filtro para cada prueba.
+     */
+    public TestFiltroBloomContador() {
+        int N = 1000;
+        random = new Random();
+        total = N + random.nextInt(N);
+        filtro = new FiltroBloomContador<Integer>(total, 10);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            filtro.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            filtro.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        for (int i = 0; i < total; i += 2) {
+            filtro.elimina(i);
+            Assert.assertTrue(filtro.getElementos() == total - i / 2 - 1);
+        }
+        // Eliminar no produce falsos negativos
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(filtro.contiene(i));
+        int positivos = 0;
+        for (int i = 0; i < total; i += 2)
+            if (filtro.contiene(i))
+                positivos++;
+        Assert.assertTrue(positivos < total / 20);
+        for (int i = 1; i < total; i += 2)
+            filtro.elimina(i);
+        Assert.assertTrue(filtro.esVacio());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(filtro.contiene(i));
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador} con un elemento
+     * agregado varias veces: sigue contenido hasta que se elimina las mismas
+     * veces.
+     */
+    @Test public void testRepetidos() {
+        int veces = 1 + random.nextInt(10);
+        for (int i = 0; i < veces; i++)
+            filtro.agrega(-1);
+        for (int i = 0; i < veces; i++) {
+            Assert.assertTrue(filtro.contiene(-1));
+            filtro.elimina(-1);
+        }
+        Assert.assertFalse(filtro.contiene(-1));
+        // Un contador saturado no vuelve a bajar
+        for (int i = 0; i < 20; i++)
+            filtro.agrega(-2);
+        for (int i = 0; i < 20; i++)
+            filtro.elimina(-2);
+        Assert.assertTrue(filtro.contiene(-2));
+    }
+}
@@ -2,6 +2,7 @@ package mx.unam.ciencias.edd.test;
 
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import mx.unam.ciencias.edd.AccionVerticeGrafica;
 import mx.unam.ciencias.edd.Color;
 import mx.unam.ciencias.edd.Grafica;
@@ -519,6 +520,48 @@ public class TestGrafica {
                                                        Color.NINGUNO));
     }
 
+    /**
+     * Prueba unitaria para {@link Grafica#recorridoParalelo}, contra {@link
+     * Grafica#bfs}, en una gráfica aleatoria con varias componentes.
+     */
+    @Test public void testRecorridoParalelo() {
+        try {
+            grafica.recorridoParalelo(0, v -> {});
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int n = 500 + random.nextInt(1000);
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        // Los vértices múltiplos de 10 se quedan aislados
+        for (int i = 0; i < 2 * n; i++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a != b && a % 10 != 0 && b % 10 != 0 &&
+                !grafica.sonVecinos(a, b))
+                grafica.conecta(a, b);
+        }
+        for (int r = 0; r < 5; r++) {
+            int origen = 1 + random.nextInt(n - 1);
+            boolean[] alcanzable = new boolean[n];
+            grafica.bfs(origen, v -> alcanzable[v.get()] = true);
+            AtomicIntegerArray visitas = new AtomicIntegerArray(n);
+            grafica.recorridoParalelo(origen,
+                                      v -> visitas.incrementAndGet(v.get()));
+            for (int i = 0; i < n; i++)
+                Assert.assertTrue(visitas.get(i) == (alcanzable[i] ? 1 : 0));
+        }
+        grafica.paraCadaVertice(v -> Assert.assertTrue(v.getColor() ==
+                                                       Color.NINGUNO));
+        try {
+            grafica.recorridoParalelo(1, v -> {
+                    throw new IllegalStateException();
+                });
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        int[] c = { 0 };
+        grafica.recorridoParalelo(0, v -> c[0]++);
+        Assert.assertTrue(c[0] == 1);
+    }
+
     /**
      * Prueba unitaria para {@link Grafica#esVacia}.
      */
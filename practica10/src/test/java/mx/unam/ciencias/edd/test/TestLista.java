@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -838,6 +839,108 @@ public class TestLista {
         }
     }
 
+    /* Valida que los pares estén ordenados por valor y, entre valores
+     * iguales, por etiqueta. */
+    private void validaEstabilidad(Lista<Par> pares) {
+        Par u = null;
+        for (Par par : pares) {
+            if (u != null) {
+                Assert.assertTrue(u.getValor() <= par.getValor());
+                if (u.getValor() == par.getValor())
+                    Assert.assertTrue(u.getEtiqueta() < par.getEtiqueta());
+            }
+            u = par;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#ordena}.
+     */
+    @Test public void testOrdena() {
+        lista.ordena((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.esVacia());
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(str(random.nextInt(total)));
+        Lista<String> copia = lista.copia();
+        lista.ordena((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.getLongitud() == copia.getLongitud());
+        for (String e : copia)
+            Assert.assertTrue(lista.contiene(e));
+        String a = lista.getPrimero();
+        for (String e : lista) {
+            Assert.assertTrue(a.compareTo(e) <= 0);
+            a = e;
+        }
+        validaLista(lista);
+        Assert.assertTrue(lista.equals(Lista.mergeSort(copia)));
+        /* Prueba estabilidad. */
+        int m = 7 + random.nextInt(20);
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < total * 10; i++) {
+            int v = ((i % m) == 0) ? m : random.nextInt(total);
+            pares.agrega(new Par(v, i));
+        }
+        pares.ordena((p, q) -> p.compareTo(q));
+        validaEstabilidad(pares);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#ordenaNatural}, con listas en
+     * desorden, ordenadas, al revés y casi ordenadas.
+     */
+    @Test public void testOrdenaNatural() {
+        int[] comparaciones = { 0 };
+        Comparator<Integer> comparador = (a, b) -> {
+            comparaciones[0]++;
+            return a.compareTo(b);
+        };
+        int n = 1000 + total;
+        Lista<Integer> l = new Lista<Integer>();
+        l.ordenaNatural(comparador);
+        Assert.assertTrue(l.esVacia());
+        for (int i = 0; i < n; i++)
+            l.agrega(random.nextInt(n));
+        Lista<Integer> esperada = l.mergeSort(comparador);
+        l.ordenaNatural(comparador);
+        Assert.assertTrue(l.equals(esperada));
+        Assert.assertTrue(l.getUltimo() == esperada.getUltimo());
+        // Ya ordenada: una sola pasada
+        comparaciones[0] = 0;
+        l.ordenaNatural(comparador);
+        Assert.assertTrue(comparaciones[0] == n - 1);
+        Assert.assertTrue(l.equals(esperada));
+        // Al revés
+        l = esperada.reversa();
+        l.ordenaNatural(comparador);
+        Assert.assertTrue(l.equals(esperada));
+        // Casi ordenada: cuatro tramos ordenados, dos pasadas
+        l = new Lista<Integer>();
+        for (int t = 0; t < 4; t++)
+            for (int i = 0; i < n / 4; i++)
+                l.agrega(random.nextInt(n / 4) + i * 4);
+        l = l.mergeSort(comparador);
+        Lista<Integer> tramos = new Lista<Integer>();
+        for (int t = 0; t < 4; t++) {
+            int i = 0;
+            for (Integer e : l)
+                if (i++ % 4 == t)
+                    tramos.agrega(e);
+        }
+        comparaciones[0] = 0;
+        tramos.ordenaNatural(comparador);
+        Assert.assertTrue(tramos.equals(l));
+        Assert.assertTrue(comparaciones[0] <= 4 * n);
+        /* Prueba estabilidad. */
+        int m = 7 + random.nextInt(20);
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < total * 10; i++) {
+            int v = ((i % m) == 0) ? m : i / 3;
+            pares.agrega(new Par(v, i));
+        }
+        pares.ordenaNatural((p, q) -> p.compareTo(q));
+        validaEstabilidad(pares);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#busquedaLineal}.
      */
@@ -0,0 +1,272 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.ListaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaArreglo}.
+ */
+public class TestListaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La lista. */
+    private ListaArreglo<String> lista;
+
+    /* Clase para probar estabilidad de MergeSort. */
+    private class Par implements Comparable<Par> {
+
+        /* Valor del par.*/
+        private int valor;
+        /* Etiqueta del par.*/
+        private int etiqueta;
+
+        /* Constructor. */
+        public Par(int valor, int etiqueta) {
+            this.valor = valor;
+            this.etiqueta = etiqueta;
+        }
+
+        /* Compara dos pares. */
+        @Override public int compareTo(Par par) {
+            return valor - par.valor;
+        }
+    }
+
+    /* Valida que la lista tenga los mismos elementos que la lista ligada,
+     * en el mismo orden, con get y con los iteradores. */
+    private void validaLista(ListaArreglo<String> lista, Lista<String> ligada) {
+        Assert.assertTrue(lista.getLongitud() == ligada.getLongitud());
+        Assert.assertTrue(lista.getElementos() == ligada.getElementos());
+        Assert.assertTrue(lista.esVacia() == ligada.esVacia());
+        int c = 0;
+        for (String e : ligada)
+            Assert.assertTrue(lista.get(c++).equals(e));
+        c = 0;
+        Iterator<String> i = ligada.iterator();
+        for (String e : lista)
+            Assert.assertTrue(i.next().equals(e));
+        IteradorLista<String> j = lista.iteradorLista();
+        IteradorLista<String> k = ligada.iteradorLista();
+        j.end();
+        k.end();
+        while (k.hasPrevious())
+            Assert.assertTrue(j.previous().equals(k.previous()));
+        Assert.assertFalse(j.hasPrevious());
+        Assert.assertTrue(lista.toString().equals(ligada.toString()));
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestra lista, y una lista.
+     */
+    public TestListaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new ListaArreglo<String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#ListaArreglo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Assert.assertTrue(lista.toString().equals("[]"));
+        Assert.assertFalse(lista.iterator().hasNext());
+        Assert.assertTrue(new ListaArreglo<String>(-1).esVacia());
+        Assert.assertTrue(new ListaArreglo<String>(1000).esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo} contra {@link Lista}, con
+     * operaciones aleatorias en ambos extremos y en medio, para que el
+     * arreglo circular dé la vuelta y crezca.
+     */
+    @Test public void testOperaciones() {
+        Lista<String> ligada = new Lista<String>();
+        for (int r = 0; r < total * 20; r++) {
+            String e = String.valueOf(random.nextInt(total));
+            int i = random.nextInt(ligada.getLongitud() + 2) - 1;
+            switch (random.nextInt(7)) {
+            case 0:
+                lista.agrega(e);
+                ligada.agrega(e);
+                break;
+            case 1:
+                lista.agregaInicio(e);
+                ligada.agregaInicio(e);
+                break;
+            case 2:
+                lista.inserta(i, e);
+                ligada.inserta(i, e);
+                break;
+            case 3:
+                lista.elimina(e);
+                ligada.elimina(e);
+                break;
+            case 4:
+                if (!ligada.esVacia())
+                    Assert.assertTrue(lista.eliminaPrimero().equals(ligada.eliminaPrimero()));
+                break;
+            case 5:
+                if (!ligada.esVacia())
+                    Assert.assertTrue(lista.eliminaUltimo().equals(ligada.eliminaUltimo()));
+                break;
+            default:
+                Assert.assertTrue(lista.contiene(e) == ligada.contiene(e));
+                Assert.assertTrue(lista.indiceDe(e) == ligada.indiceDe(e));
+            }
+            Assert.assertTrue(lista.getLongitud() == ligada.getLongitud());
+        }
+        validaLista(lista, ligada);
+        validaLista(lista.reversa(), ligada.reversa());
+        validaLista(lista.copia(), ligada.copia());
+        if (!ligada.esVacia()) {
+            Assert.assertTrue(lista.getPrimero().equals(ligada.getPrimero()));
+            Assert.assertTrue(lista.getUltimo().equals(ligada.getUltimo()));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#agrega} y {@link
+     * ListaArreglo#agregaInicio} con <code>null</code>, y para los métodos
+     * que fallan con la lista vacía.
+     */
+    @Test public void testErrores() {
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.agregaInicio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.inserta(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.get(0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.iterator().next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.iteradorLista().previous();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#get} y {@link
+     * ListaArreglo#set}.
+     */
+    @Test public void testGetSet() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(String.valueOf(total - i - 1));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i).equals(String.valueOf(i)));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.set(i, "x" + i).equals(String.valueOf(i)));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i).equals("x" + i));
+        try {
+            lista.get(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.set(-1, "");
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.set(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#equals} y {@link
+     * ListaArreglo#limpia}.
+     */
+    @Test public void testEqualsLimpia() {
+        ListaArreglo<String> otra = new ListaArreglo<String>();
+        Assert.assertTrue(lista.equals(otra));
+        for (int i = 0; i < total; i++) {
+            lista.agrega(String.valueOf(i));
+            otra.agregaInicio(String.valueOf(total - i - 1));
+        }
+        Assert.assertTrue(lista.equals(otra));
+        otra.set(0, "x");
+        Assert.assertFalse(lista.equals(otra));
+        Assert.assertFalse(lista.equals(null));
+        Assert.assertFalse(lista.equals(new Lista<String>()));
+        lista.limpia();
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertFalse(lista.contiene("0"));
+        lista.agrega("a");
+        Assert.assertTrue(lista.getPrimero().equals("a"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaArreglo#mergeSort(java.util.Comparator)}
+     * y {@link ListaArreglo#busquedaLineal}.
+     */
+    @Test public void testMergeSort() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(String.valueOf(random.nextInt(total)));
+        ListaArreglo<String> ordenada = ListaArreglo.mergeSort(lista);
+        Assert.assertFalse(lista == ordenada);
+        Assert.assertTrue(lista.getLongitud() == ordenada.getLongitud());
+        for (String e : lista) {
+            Assert.assertTrue(ordenada.contiene(e));
+            Assert.assertTrue(ListaArreglo.busquedaLineal(ordenada, e));
+        }
+        Assert.assertFalse(ListaArreglo.busquedaLineal(ordenada, "x"));
+        for (int i = 1; i < ordenada.getLongitud(); i++)
+            Assert.assertTrue(ordenada.get(i - 1).compareTo(ordenada.get(i)) <= 0);
+        /* Prueba estabilidad. */
+        total = 100 + total * 10;
+        int m = 7 + random.nextInt(20);
+        ListaArreglo<Par> pares = new ListaArreglo<Par>();
+        for (int i = 0; i < total; i++) {
+            int v = ((i % m) == 0) ? m : random.nextInt(total);
+            pares.agrega(new Par(v, i));
+        }
+        pares = ListaArreglo.mergeSort(pares);
+        for (int i = 1; i < total; i++) {
+            Par u = pares.get(i - 1), par = pares.get(i);
+            Assert.assertTrue(u.valor <= par.valor);
+            if (u.valor == par.valor)
+                Assert.assertTrue(u.etiqueta < par.etiqueta);
+        }
+    }
+}
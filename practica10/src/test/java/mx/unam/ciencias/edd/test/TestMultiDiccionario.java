@@ -0,0 +1,171 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MultiDiccionario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MultiDiccionario}.
+ */
+public class TestMultiDiccionario {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de llaves. */
+    private int total;
+    /* El multidiccionario. */
+    private MultiDiccionario<String, Integer> multi;
+
+    /**
+     * Crea un multidiccionario para cada prueba.
+     */
+    public TestMultiDiccionario() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        multi = new MultiDiccionario<String, Integer>();
+    }
+
+    /* Agrega a la llave i los valores 0, 1, ..., i. */
+    private void llena() {
+        for (int v = 0; v < total; v++)
+            for (int i = v; i < total; i++)
+                multi.agrega(String.valueOf(i), v);
+    }
+
+    /**
+     * Prueba unitaria para {@link MultiDiccionario#MultiDiccionario}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(multi.esVacia());
+        Assert.assertTrue(multi.getElementos() == 0);
+        Assert.assertTrue(multi.getLlaves() == 0);
+        Assert.assertFalse(multi.iterator().hasNext());
+        try {
+            new MultiDiccionario<String, Integer>(total, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MultiDiccionario#agrega} y {@link
+     * MultiDiccionario#get}.
+     */
+    @Test public void testAgregaGet() {
+        try {
+            multi.agrega(null, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            multi.agrega("a", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        llena();
+        Assert.assertTrue(multi.getLlaves() == total);
+        Assert.assertTrue(multi.getElementos() == total * (total + 1) / 2);
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            Assert.assertTrue(multi.cuenta(s) == i + 1);
+            Lista<Integer> valores = multi.get(s);
+            Assert.assertTrue(valores.getLongitud() == i + 1);
+            int v = 0;
+            for (Integer valor : valores)
+                Assert.assertTrue(valor == v++);
+            Assert.assertTrue(multi.get(s, i) == i);
+            Assert.assertTrue(multi.contiene(s, i));
+            Assert.assertFalse(multi.contiene(s, i + 1));
+        }
+        Assert.assertTrue(multi.get("-1").esVacia());
+        Assert.assertTrue(multi.cuenta("-1") == 0);
+        Assert.assertFalse(multi.contiene("-1"));
+        try {
+            multi.get("0", 1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            multi.get("-1", 0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        // Los valores repetidos se guardan todos
+        multi.agrega("0", 0);
+        Assert.assertTrue(multi.cuenta("0") == 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link MultiDiccionario#elimina}.
+     */
+    @Test public void testElimina() {
+        try {
+            multi.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            multi.elimina("a");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            multi.elimina("a", 0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        llena();
+        int elementos = multi.getElementos();
+        String ultima = String.valueOf(total - 1);
+        multi.elimina(ultima);
+        elementos -= total;
+        Assert.assertFalse(multi.contiene(ultima));
+        Assert.assertTrue(multi.getElementos() == elementos);
+        String s = String.valueOf(total / 2);
+        multi.elimina(s, 0);
+        Assert.assertTrue(multi.get(s, 0) == 1);
+        Assert.assertTrue(multi.cuenta(s) == total / 2);
+        try {
+            multi.elimina(s, 0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        multi.elimina("0", 0);
+        Assert.assertFalse(multi.contiene("0"));
+        Assert.assertTrue(multi.getLlaves() == total - 2);
+        Assert.assertTrue(multi.getElementos() == elementos - 2);
+        multi.limpia();
+        Assert.assertTrue(multi.esVacia());
+        Assert.assertTrue(multi.getLlaves() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link MultiDiccionario#iterator} y {@link
+     * MultiDiccionario#iteradorLlaves}.
+     */
+    @Test public void testIteradores() {
+        llena();
+        int[] siguientes = new int[total];
+        int c = 0;
+        Iterator<Integer> iterador = multi.iterator();
+        while (iterador.hasNext()) {
+            iterador.next();
+            c++;
+        }
+        Assert.assertTrue(c == multi.getElementos());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Iterator<String> llaves = multi.iteradorLlaves();
+        c = 0;
+        while (llaves.hasNext()) {
+            int i = Integer.parseInt(llaves.next());
+            Assert.assertTrue(siguientes[i]++ == 0);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+    }
+}
@@ -0,0 +1,124 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PilaArreglo}.
+ */
+public class TestPilaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La pila. */
+    private PilaArreglo<Integer> pila;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra pila, y una pila.
+     */
+    public TestPilaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        pila = new PilaArreglo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#PilaArreglo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(pila.esVacia());
+        Assert.assertTrue(pila.getElementos() == 0);
+        Assert.assertFalse(pila.estaLlena());
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            new PilaArreglo<Integer>(0, true);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(new PilaArreglo<Integer>(-1, false).esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#mete} y {@link
+     * PilaArreglo#saca}, contra {@link Pila}.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            pila.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Pila<Integer> ligada = new Pila<Integer>();
+        for (int i = 0; i < total * 20; i++) {
+            if (ligada.esVacia() || random.nextInt(3) > 0) {
+                pila.mete(i);
+                ligada.mete(i);
+            } else {
+                Assert.assertTrue(pila.mira().equals(ligada.mira()));
+                Assert.assertTrue(pila.saca().equals(ligada.saca()));
+            }
+            Assert.assertTrue(pila.toString().equals(ligada.toString()));
+        }
+        while (!ligada.esVacia())
+            Assert.assertTrue(pila.saca().equals(ligada.saca()));
+        Assert.assertTrue(pila.esVacia());
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#estaLlena} con una pila
+     * acotada.
+     */
+    @Test public void testAcotada() {
+        pila = new PilaArreglo<Integer>(total, true);
+        for (int i = 0; i < total; i++) {
+            Assert.assertFalse(pila.estaLlena());
+            pila.mete(i);
+        }
+        Assert.assertTrue(pila.estaLlena());
+        try {
+            pila.mete(total);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(pila.saca() == total - 1);
+        Assert.assertFalse(pila.estaLlena());
+        pila.mete(total);
+        Assert.assertTrue(pila.mira() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(pila.equals(null));
+        Assert.assertFalse(pila.equals(""));
+        Assert.assertFalse(pila.equals(new Pila<Integer>()));
+        Assert.assertFalse(pila.equals(new ColaArreglo<Integer>()));
+        PilaArreglo<Integer> pila2 = new PilaArreglo<Integer>(1, false);
+        Assert.assertTrue(pila.equals(pila2));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertFalse(pila.equals(pila2));
+            Assert.assertFalse(pila2.equals(pila));
+            pila2.mete(i);
+            Assert.assertTrue(pila.equals(pila2));
+        }
+    }
+}
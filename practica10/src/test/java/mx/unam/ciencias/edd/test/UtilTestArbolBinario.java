@@ -13,30 +13,36 @@ import org.junit.Test;
  */
 public class UtilTestArbolBinario {
 
-    /* Valida un vértice, y recursivamente valida sus hijos. */
-    private static void arbolBinarioValido(VerticeArbolBinario<?> v) {
+    /* Valida un vértice, y recursivamente valida sus hijos. Regresa la
+     * altura del vértice. */
+    private static int arbolBinarioValido(VerticeArbolBinario<?> v) {
+        int ai = -1, ad = -1;
         try {
             if (v.hayIzquierdo()) {
                 VerticeArbolBinario<?> i = v.izquierdo();
                 Assert.assertTrue(i.hayPadre());
                 Assert.assertTrue(i.padre() == v);
-                arbolBinarioValido(i);
+                ai = arbolBinarioValido(i);
             }
             if (v.hayDerecho()) {
                 VerticeArbolBinario<?> d = v.derecho();
                 Assert.assertTrue(d.hayPadre());
                 Assert.assertTrue(d.padre() == v);
-                arbolBinarioValido(d);
+                ad = arbolBinarioValido(d);
             }
         } catch (NoSuchElementException sdee) {
             Assert.fail();
         }
+        int altura = 1 + Math.max(ai, ad);
+        Assert.assertTrue(v.altura() == altura);
+        return altura;
     }
 
     /**
      * Valida un árbol binario. Para todos sus vértices comprueba que si un
      * vértice A tiene como hijo al vértice B, entonces el vértice B tiene al
-     * vértice A como padre.
+     * vértice A como padre, y que la altura que guarda el vértice es la de su
+     * subárbol.
      * @param arbol el árbol a validar.
      */
     public static void arbolBinarioValido(ArbolBinario<?> arbol) {
@@ -538,70 +538,127 @@ public class Lista<T> implements Coleccion<T> {
         return new Iterador();
     }
 
-    /**
-     * Mezcla dos listas ordenadas.
-     *
-     * @param l          la primera lista a mezclar.
-     * @param m          la segunda lista a mezclar.
-     * @param comparador el comparador que se usará para mezclar las listas.
-     * @return una lista ordenada que contiene todos los elementos de las listas
-     */
-    private Lista<T> mezcla(Lista<T> l, Lista<T> m, Comparator<T> comparador) {
-        Lista<T> ordenada = new Lista<T>();
-
-        while (!l.esVacia() && !m.esVacia())
-            if (comparador.compare(l.getPrimero(), m.getPrimero()) <= 0)
-                ordenada.agregaFinal(l.eliminaPrimero());
-            else
-                ordenada.agregaFinal(m.eliminaPrimero());
+    /* Regresa el último nodo de la corrida que empieza en el nodo recibido:
+     * el ancho-ésimo nodo, o si el ancho es 0, el último antes de que los
+     * elementos bajen. */
+    private Nodo finCorrida(Nodo inicio, int ancho, Comparator<T> comparador) {
+        Nodo n = inicio;
+        if (ancho > 0) {
+            for (int i = 1; i < ancho && n.siguiente != null; i++)
+                n = n.siguiente;
+        } else {
+            while (n.siguiente != null &&
+                   comparador.compare(n.elemento, n.siguiente.elemento) <= 0)
+                n = n.siguiente;
+        }
+        return n;
+    }
 
-        while (!l.esVacia())
-            ordenada.agregaFinal(l.eliminaPrimero());
+    /* Ordena la lista de abajo hacia arriba, reenlazando sus nodos: en cada
+     * pasada mezcla corridas vecinas de dos en dos, hasta que una pasada
+     * sólo tiene una mezcla. Las corridas son de ancho 1, 2, 4... o, si es
+     * natural, los tramos que ya están ordenados. Durante las pasadas sólo
+     * se usan las referencias al siguiente nodo; las anteriores se arreglan
+     * al final. */
+    private void ordena(Comparator<T> comparador, boolean natural) {
+        if (longitud < 2)
+            return;
 
-        while (!m.esVacia())
-            ordenada.agregaFinal(m.eliminaPrimero());
+        for (int ancho = 1; ; ancho *= 2) {
+            Nodo p = cabeza, ultimo = null;
+            int mezclas = 0;
+            cabeza = null;
+            while (p != null) {
+                Nodo finP = finCorrida(p, natural ? 0 : ancho, comparador);
+                Nodo q = finP.siguiente, finQ = null, resto = null;
+                finP.siguiente = null;
+                if (q != null) {
+                    finQ = finCorrida(q, natural ? 0 : ancho, comparador);
+                    resto = finQ.siguiente;
+                    finQ.siguiente = null;
+                }
+                // Mezclamos p y q; ante empates gana p, para que sea estable
+                while (p != null && q != null) {
+                    Nodo n;
+                    if (comparador.compare(p.elemento, q.elemento) <= 0) {
+                        n = p;
+                        p = p.siguiente;
+                    } else {
+                        n = q;
+                        q = q.siguiente;
+                    }
+                    if (ultimo == null)
+                        cabeza = n;
+                    else
+                        ultimo.siguiente = n;
+                    ultimo = n;
+                }
+                Nodo cola = p != null ? p : q;
+                if (ultimo == null)
+                    cabeza = cola;
+                else
+                    ultimo.siguiente = cola;
+                ultimo = p != null ? finP : finQ;
+                mezclas++;
+                p = resto;
+            }
+            if (mezclas == 1)
+                break;
+        }
 
-        return ordenada;
+        Nodo anterior = null;
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            n.anterior = anterior;
+            anterior = n;
+        }
+        rabo = anterior;
     }
 
     /**
-     * Regresa una copia de la lista, pero ordenada. Para poder hacer el
-     * ordenamiento, el método necesita una instancia de {@link Comparator} para
-     * poder comparar los elementos de la lista.
+     * Ordena la lista en su lugar, usando el comparador recibido. Es un
+     * ordenamiento por mezcla de abajo hacia arriba que reenlaza los nodos
+     * existentes: no crea nodos, no es recursivo, usa espacio extra
+     * constante y es estable (los elementos iguales conservan su orden).
+     * Toma tiempo <em>O(n log n)</em>.
      *
-     * @param l          la lista que se ordenará.
      * @param comparador el comparador que la lista usará para hacer el
      *                   ordenamiento.
-     * @return una copia de la lista, pero ordenada.
      */
-    private Lista<T> mergeSort(Lista<T> l, Comparator<T> comparador) {
-        if (l.longitud <= 1)
-            return l;
-
-        int mitad = l.longitud / 2;
-        Lista<T> m = new Lista<T>();
-
-        while (l.longitud > mitad)
-            m.agregaFinal(l.eliminaPrimero());
-
-        m = mergeSort(m, comparador);
-        l = mergeSort(l, comparador);
+    public void ordena(Comparator<T> comparador) {
+        ordena(comparador, false);
+    }
 
-        return mezcla(m, l, comparador);
+    /**
+     * Ordena la lista en su lugar, usando el comparador recibido, mezclando
+     * los tramos que ya están ordenados en lugar de corridas de tamaño fijo.
+     * Con <em>r</em> tramos toma tiempo <em>O(n log r)</em>: una lista ya
+     * ordenada se revisa en una sola pasada, y una casi ordenada en unas
+     * cuantas. Con elementos en desorden hace más comparaciones que {@link
+     * #ordena}, porque cada pasada también busca dónde terminan los tramos.
+     * Es estable, no crea nodos y usa espacio extra constante.
+     *
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordenaNatural(Comparator<T> comparador) {
+        ordena(comparador, true);
     }
 
     /**
      * Regresa una copia de la lista, pero ordenada. Para poder hacer el
      * ordenamiento, el método necesita una instancia de {@link Comparator} para
-     * poder comparar los elementos de la lista.
-     * 
+     * poder comparar los elementos de la lista. La copia se ordena con {@link
+     * #ordena}.
+     *
      * @param comparador el comparador que la lista usará para hacer el
      *                   ordenamiento.
      * @return una copia de la lista, pero ordenada.
      */
     public Lista<T> mergeSort(Comparator<T> comparador) {
-        // Aquí va su código.
-        return mergeSort(copia(), comparador);
+        Lista<T> l = copia();
+        l.ordena(comparador);
+
+        return l;
     }
 
     /**